@@ -0,0 +1,16 @@
+package com.pms.analysis;
+
+/**
+ * Everything learned from one pass over a file. Counts describe the full
+ * extracted text, even when the stored text was truncated.
+ */
+public record AnalysisResult(DetectedFormat format,
+                             String mimeType,
+                             String sha256,
+                             long contentLength,
+                             Integer pageCount,
+                             long lineCount,
+                             long wordCount,
+                             long characterCount,
+                             boolean textTruncated) {
+}
@@ -0,0 +1,45 @@
+package com.pms.analysis;
+
+/**
+ * File formats recognised from their leading bytes, and how text is
+ * extracted from each.
+ */
+public enum DetectedFormat {
+    PDF("application/pdf", TextSource.PDF),
+    DOCX("application/vnd.openxmlformats-officedocument.wordprocessingml.document", TextSource.OOXML),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", TextSource.OOXML),
+    PPTX("application/vnd.openxmlformats-officedocument.presentationml.presentation", TextSource.OOXML),
+    ZIP("application/zip", TextSource.NONE),
+    MS_OFFICE_LEGACY("application/x-ole-storage", TextSource.NONE),
+    PNG("image/png", TextSource.NONE),
+    JPEG("image/jpeg", TextSource.NONE),
+    GIF("image/gif", TextSource.NONE),
+    TIFF("image/tiff", TextSource.NONE),
+    WEBP("image/webp", TextSource.NONE),
+    BMP("image/bmp", TextSource.NONE),
+    TEXT("text/plain", TextSource.PLAIN),
+    UNKNOWN("application/octet-stream", TextSource.NONE);
+
+    public enum TextSource {
+        PDF,
+        OOXML,
+        PLAIN,
+        NONE
+    }
+
+    private final String mimeType;
+    private final TextSource textSource;
+
+    DetectedFormat(String mimeType, TextSource textSource) {
+        this.mimeType = mimeType;
+        this.textSource = textSource;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public TextSource getTextSource() {
+        return textSource;
+    }
+}
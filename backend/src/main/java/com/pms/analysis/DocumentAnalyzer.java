@@ -0,0 +1,104 @@
+package com.pms.analysis;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Analyzes a file in a single sequential read. The raw bytes are hashed and
+ * counted as they pass, the head is sniffed for the format, and the rest goes
+ * to that format's text extractor. Whatever the extractor leaves unread is
+ * drained, so the hash always covers the whole file.
+ */
+public final class DocumentAnalyzer {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private DocumentAnalyzer() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * @param fileName Original file name, used only where the bytes are ambiguous
+     * @param textOut Receives up to {@code maxTextChars} characters of extracted text
+     */
+    public static AnalysisResult analyze(InputStream content, String fileName, Writer textOut, long maxTextChars)
+            throws IOException {
+        HashingInputStream hashing = new HashingInputStream(content);
+        BufferedInputStream in = new BufferedInputStream(hashing, BUFFER_SIZE);
+        in.mark(MagicBytes.SNIFF_SIZE);
+        byte[] head = in.readNBytes(MagicBytes.SNIFF_SIZE);
+        in.reset();
+
+        DetectedFormat format = MagicBytes.detect(head, head.length, fileName);
+        TextSink sink = new TextSink(textOut, maxTextChars);
+        Integer pageCount = switch (format.getTextSource()) {
+            case PDF -> PdfTextExtractor.extract(in, sink);
+            case OOXML -> OoxmlTextExtractor.extract(in, format, sink);
+            case PLAIN -> {
+                PlainTextExtractor.extract(in, sink);
+                yield null;
+            }
+            case NONE -> null;
+        };
+        in.transferTo(OutputStream.nullOutputStream());
+
+        return new AnalysisResult(format, MagicBytes.mimeType(format, fileName),
+                HexFormat.of().formatHex(hashing.digest.digest()), hashing.count, pageCount,
+                sink.getLineCount(), sink.getWordCount(), sink.getCharacterCount(), sink.isTruncated());
+    }
+
+    private static final class HashingInputStream extends FilterInputStream {
+
+        private final MessageDigest digest;
+        private long count;
+
+        HashingInputStream(InputStream in) {
+            super(in);
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                digest.update((byte) b);
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                digest.update(b, off, read);
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes must still be hashed
+            byte[] buffer = new byte[(int) Math.min(n, BUFFER_SIZE)];
+            int read = read(buffer, 0, buffer.length);
+            return Math.max(read, 0);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
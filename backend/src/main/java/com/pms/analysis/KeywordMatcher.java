@@ -0,0 +1,47 @@
+package com.pms.analysis;
+
+/**
+ * Finds a fixed keyword in a byte stream fed one byte at a time
+ * (Knuth-Morris-Pratt), so matches spanning buffer boundaries are found.
+ */
+final class KeywordMatcher {
+
+    private final byte[] keyword;
+    private final int[] failure;
+    private int matched;
+
+    KeywordMatcher(byte[] keyword) {
+        this.keyword = keyword;
+        this.failure = new int[keyword.length];
+        for (int i = 1, k = 0; i < keyword.length; i++) {
+            while (k > 0 && keyword[i] != keyword[k]) {
+                k = failure[k - 1];
+            }
+            if (keyword[i] == keyword[k]) {
+                k++;
+            }
+            failure[i] = k;
+        }
+    }
+
+    /**
+     * @return true if this byte completes an occurrence of the keyword
+     */
+    boolean feed(byte b) {
+        while (matched > 0 && keyword[matched] != b) {
+            matched = failure[matched - 1];
+        }
+        if (keyword[matched] == b) {
+            matched++;
+        }
+        if (matched == keyword.length) {
+            matched = failure[matched - 1];
+            return true;
+        }
+        return false;
+    }
+
+    void reset() {
+        matched = 0;
+    }
+}
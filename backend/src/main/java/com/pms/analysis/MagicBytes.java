@@ -0,0 +1,146 @@
+package com.pms.analysis;
+
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Identifies a file's format from its first bytes. The file name is used
+ * only where the bytes are ambiguous: OOXML flavours share the ZIP
+ * signature, and text subtypes (CSV, JSON, XML) have none at all.
+ */
+public final class MagicBytes {
+
+    /** Bytes of the file head needed by {@link #detect} */
+    public static final int SNIFF_SIZE = 4096;
+
+    private MagicBytes() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static DetectedFormat detect(byte[] head, int length, String fileName) {
+        if (startsWith(head, length, "%PDF-")) {
+            return DetectedFormat.PDF;
+        }
+        if (startsWith(head, length, 0x50, 0x4B, 0x03, 0x04)) {
+            return detectZipFlavour(head, length, fileName);
+        }
+        if (startsWith(head, length, 0xD0, 0xCF, 0x11, 0xE0, 0xA1, 0xB1, 0x1A, 0xE1)) {
+            return DetectedFormat.MS_OFFICE_LEGACY;
+        }
+        if (startsWith(head, length, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return DetectedFormat.PNG;
+        }
+        if (startsWith(head, length, 0xFF, 0xD8, 0xFF)) {
+            return DetectedFormat.JPEG;
+        }
+        if (startsWith(head, length, "GIF87a") || startsWith(head, length, "GIF89a")) {
+            return DetectedFormat.GIF;
+        }
+        if (startsWith(head, length, 'I', 'I', 0x2A, 0x00) || startsWith(head, length, 'M', 'M', 0x00, 0x2A)) {
+            return DetectedFormat.TIFF;
+        }
+        if (startsWith(head, length, "RIFF") && length >= 12
+                && new String(head, 8, 4, StandardCharsets.US_ASCII).equals("WEBP")) {
+            return DetectedFormat.WEBP;
+        }
+        if (startsWith(head, length, "BM") && length >= 14) {
+            return DetectedFormat.BMP;
+        }
+        return looksLikeText(head, length) ? DetectedFormat.TEXT : DetectedFormat.UNKNOWN;
+    }
+
+    /**
+     * MIME type to record for a detected format. Text is refined by file name
+     * so CSV, JSON and XML keep their specific types.
+     */
+    public static String mimeType(DetectedFormat format, String fileName) {
+        if (format == DetectedFormat.TEXT && fileName != null) {
+            String guessed = URLConnection.guessContentTypeFromName(fileName);
+            String extension = extension(fileName);
+            if ("csv".equals(extension)) {
+                return "text/csv";
+            }
+            if ("json".equals(extension)) {
+                return "application/json";
+            }
+            if (guessed != null && (guessed.startsWith("text/") || guessed.endsWith("xml"))) {
+                return guessed;
+            }
+        }
+        return format.getMimeType();
+    }
+
+    private static DetectedFormat detectZipFlavour(byte[] head, int length, String fileName) {
+        // OOXML packages start with [Content_Types].xml; the main part usually follows within the sniffed head
+        String names = new String(head, 0, length, StandardCharsets.ISO_8859_1);
+        if (!names.contains("[Content_Types].xml")) {
+            return DetectedFormat.ZIP;
+        }
+        switch (extension(fileName)) {
+            case "docx":
+                return DetectedFormat.DOCX;
+            case "xlsx":
+                return DetectedFormat.XLSX;
+            case "pptx":
+                return DetectedFormat.PPTX;
+            default:
+                break;
+        }
+        if (names.contains("word/")) {
+            return DetectedFormat.DOCX;
+        }
+        if (names.contains("xl/")) {
+            return DetectedFormat.XLSX;
+        }
+        if (names.contains("ppt/")) {
+            return DetectedFormat.PPTX;
+        }
+        return DetectedFormat.ZIP;
+    }
+
+    /**
+     * Text if there are no NUL bytes and almost no other control characters.
+     * UTF-16 with a byte order mark is not treated as text.
+     */
+    private static boolean looksLikeText(byte[] head, int length) {
+        if (length == 0) {
+            return true;
+        }
+        int control = 0;
+        for (int i = 0; i < length; i++) {
+            int b = head[i] & 0xFF;
+            if (b == 0) {
+                return false;
+            }
+            if (b < 0x20 && b != '\n' && b != '\r' && b != '\t' && b != '\f') {
+                control++;
+            }
+        }
+        return control * 100 < length;
+    }
+
+    private static boolean startsWith(byte[] head, int length, String prefix) {
+        return startsWith(head, length, prefix.chars().toArray());
+    }
+
+    private static boolean startsWith(byte[] head, int length, int... prefix) {
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((head[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String extension(String fileName) {
+        if (fileName == null) {
+            return "";
+        }
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,179 @@
+package com.pms.analysis;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads Word, Excel and PowerPoint (OOXML) packages sequentially with
+ * {@link ZipInputStream}, so the archive is never buffered whole. Text comes
+ * from the document body, the shared strings table or the slides. Page counts
+ * are the declared page count for Word, and the sheet or slide count
+ * otherwise.
+ */
+final class OoxmlTextExtractor {
+
+    private static final long MAX_INFLATED_BYTES = 512L * 1024 * 1024;
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newFactory();
+
+    static {
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private OoxmlTextExtractor() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * @return Page, sheet or slide count, or null if unknown
+     */
+    static Integer extract(InputStream in, DetectedFormat format, TextSink sink) throws IOException {
+        // Not closed: that would close the caller's stream
+        ZipInputStream zip = new ZipInputStream(in);
+        Budget budget = new Budget();
+        Integer declaredPages = null;
+        int parts = 0;
+        try {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String name = entry.getName();
+                switch (format) {
+                    case DOCX -> {
+                        if (name.equals("word/document.xml")) {
+                            readText(budget.wrap(zip), sink);
+                        } else if (name.equals("docProps/app.xml")) {
+                            declaredPages = readPages(budget.wrap(zip));
+                        }
+                    }
+                    case XLSX -> {
+                        if (name.equals("xl/sharedStrings.xml")) {
+                            readText(budget.wrap(zip), sink);
+                        } else if (name.startsWith("xl/worksheets/sheet") && name.endsWith(".xml")) {
+                            parts++;
+                        }
+                    }
+                    case PPTX -> {
+                        if (name.startsWith("ppt/slides/slide") && name.endsWith(".xml")) {
+                            parts++;
+                            readText(budget.wrap(zip), sink);
+                            sink.newLine();
+                        }
+                    }
+                    default -> {
+                        return null;
+                    }
+                }
+            }
+        } catch (ZipException | XMLStreamException e) {
+            // Malformed or over budget: keep the text extracted so far
+        }
+        return format == DetectedFormat.DOCX ? declaredPages : Integer.valueOf(parts);
+    }
+
+    private static void readText(InputStream part, TextSink sink) throws XMLStreamException, IOException {
+        XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(part);
+        try {
+            boolean inText = false;
+            while (xml.hasNext()) {
+                switch (xml.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        String element = xml.getLocalName();
+                        if (element.equals("t")) {
+                            inText = true;
+                        } else if (element.equals("tab")) {
+                            sink.append("\t");
+                        } else if (element.equals("br")) {
+                            sink.append("\n");
+                        }
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                        if (inText) {
+                            sink.append(xml.getText());
+                        }
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        String element = xml.getLocalName();
+                        if (element.equals("t")) {
+                            inText = false;
+                        } else if (element.equals("p") || element.equals("si")) {
+                            sink.newLine();
+                        }
+                    }
+                    default -> {
+                        // Other events carry no text
+                    }
+                }
+            }
+        } finally {
+            xml.close();
+        }
+    }
+
+    private static Integer readPages(InputStream part) throws XMLStreamException {
+        XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(part);
+        try {
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && xml.getLocalName().equals("Pages")) {
+                    try {
+                        return Integer.valueOf(xml.getElementText().trim());
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                }
+            }
+            return null;
+        } finally {
+            xml.close();
+        }
+    }
+
+    /**
+     * Caps the decompressed bytes read across all parts, so a crafted archive
+     * cannot make the analysis inflate without end
+     */
+    private static final class Budget {
+
+        private long remaining = MAX_INFLATED_BYTES;
+
+        InputStream wrap(InputStream part) {
+            return new FilterInputStream(part) {
+                @Override
+                public int read() throws IOException {
+                    if (remaining <= 0) {
+                        throw new ZipException("Decompressed size limit exceeded");
+                    }
+                    int b = super.read();
+                    if (b >= 0) {
+                        remaining--;
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    if (remaining <= 0) {
+                        throw new ZipException("Decompressed size limit exceeded");
+                    }
+                    int read = super.read(b, off, (int) Math.min(len, remaining));
+                    if (read > 0) {
+                        remaining -= read;
+                    }
+                    return read;
+                }
+
+                @Override
+                public void close() {
+                    // The zip stream stays open for the next entry
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.pms.analysis;
+
+import java.io.IOException;
+
+/**
+ * Pulls text out of PDF content stream bytes fed one at a time. Strings
+ * shown by the text operators ({@code Tj}, {@code TJ}, {@code '} and
+ * {@code "}) are decoded as Latin-1 and sent to the sink. Line moves start
+ * new lines.
+ *
+ * <p>Fonts with custom encodings or CID glyph ids produce unprintable
+ * strings, and those strings are skipped. The result is best-effort text for
+ * indexing, not a faithful rendering.</p>
+ */
+final class PdfContentParser {
+
+    private static final int MAX_STRING = 64 * 1024;
+    private static final int MAX_TOKEN = 32;
+    private static final double WORD_GAP = -200;
+
+    private enum State {
+        NORMAL,
+        AFTER_LT,
+        HEX,
+        LITERAL,
+        LITERAL_ESCAPE,
+        LITERAL_OCTAL
+    }
+
+    private final TextSink sink;
+    private final StringBuilder pending = new StringBuilder();
+    private final StringBuilder literal = new StringBuilder();
+    private final StringBuilder token = new StringBuilder();
+    private final double[] operands = new double[2];
+    private State state = State.NORMAL;
+    private int depth;
+    private int code;
+    private int digits;
+
+    PdfContentParser(TextSink sink) {
+        this.sink = sink;
+    }
+
+    void feed(byte value) throws IOException {
+        int b = value & 0xFF;
+        switch (state) {
+            case NORMAL -> {
+                if (b == '(') {
+                    endToken();
+                    state = State.LITERAL;
+                    depth = 1;
+                    literal.setLength(0);
+                } else if (b == '<') {
+                    endToken();
+                    state = State.AFTER_LT;
+                } else if (PdfPageCounter.isWhitespace(value) || b == '[' || b == ']' || b == '>' || b == '/') {
+                    endToken();
+                    if (b == '/') {
+                        token.append('/');
+                    }
+                } else if (token.length() < MAX_TOKEN) {
+                    token.append((char) b);
+                }
+            }
+            case AFTER_LT -> {
+                if (b == '<') {
+                    state = State.NORMAL;
+                } else {
+                    state = State.HEX;
+                    literal.setLength(0);
+                    digits = 0;
+                    feedHex(b);
+                }
+            }
+            case HEX -> feedHex(b);
+            case LITERAL -> {
+                if (b == '\\') {
+                    state = State.LITERAL_ESCAPE;
+                } else if (b == '(') {
+                    depth++;
+                    appendLiteral('(');
+                } else if (b == ')') {
+                    if (--depth == 0) {
+                        addString(literal);
+                        state = State.NORMAL;
+                    } else {
+                        appendLiteral(')');
+                    }
+                } else {
+                    appendLiteral((char) b);
+                }
+            }
+            case LITERAL_ESCAPE -> {
+                state = State.LITERAL;
+                switch (b) {
+                    case 'n' -> appendLiteral('\n');
+                    case 'r' -> appendLiteral('\r');
+                    case 't' -> appendLiteral('\t');
+                    case 'b', 'f', '\r', '\n' -> {
+                        // Backspace, form feed and escaped line breaks carry no text
+                    }
+                    default -> {
+                        if (b >= '0' && b <= '7') {
+                            state = State.LITERAL_OCTAL;
+                            code = b - '0';
+                            digits = 1;
+                        } else {
+                            appendLiteral((char) b);
+                        }
+                    }
+                }
+            }
+            case LITERAL_OCTAL -> {
+                if (b >= '0' && b <= '7' && digits < 3) {
+                    code = code * 8 + (b - '0');
+                    digits++;
+                } else {
+                    appendLiteral((char) (code & 0xFF));
+                    state = State.LITERAL;
+                    feed(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Content streams end with a complete operator; flush it and reset
+     */
+    void endOfStream() throws IOException {
+        if (state == State.NORMAL) {
+            endToken();
+        }
+        state = State.NORMAL;
+        token.setLength(0);
+        pending.setLength(0);
+    }
+
+    private void feedHex(int b) {
+        if (b == '>') {
+            if (digits == 1) {
+                appendLiteral((char) (code << 4));
+            }
+            addString(literal);
+            state = State.NORMAL;
+            return;
+        }
+        int nibble = Character.digit(b, 16);
+        if (nibble < 0) {
+            return;
+        }
+        if (digits == 0) {
+            code = nibble;
+            digits = 1;
+        } else {
+            appendLiteral((char) ((code << 4) | nibble));
+            digits = 0;
+        }
+    }
+
+    private void appendLiteral(char c) {
+        if (literal.length() < MAX_STRING) {
+            literal.append(c);
+        }
+    }
+
+    /**
+     * Keep a shown string only if it is mostly printable; strip the rest
+     */
+    private void addString(CharSequence value) {
+        int printable = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (isPrintable(value.charAt(i))) {
+                printable++;
+            }
+        }
+        if (printable == 0 || printable * 10 < value.length() * 7 || pending.length() >= MAX_STRING) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (isPrintable(c)) {
+                pending.append(c);
+            }
+        }
+    }
+
+    private void endToken() throws IOException {
+        if (token.length() == 0) {
+            return;
+        }
+        String op = token.toString();
+        token.setLength(0);
+        char first = op.charAt(0);
+        if (first == '/') {
+            return;
+        }
+        if (first == '-' || first == '+' || first == '.' || Character.isDigit(first)) {
+            pushOperand(op);
+            return;
+        }
+        switch (op) {
+            case "Tj", "TJ" -> sink.append(pending);
+            case "'", "\"" -> {
+                sink.newLine();
+                sink.append(pending);
+            }
+            case "Td", "TD" -> {
+                if (operands[1] != 0) {
+                    sink.newLine();
+                } else {
+                    sink.append(" ");
+                }
+            }
+            case "T*", "ET" -> sink.newLine();
+            default -> {
+                // Graphics and state operators carry no text
+            }
+        }
+        pending.setLength(0);
+        operands[0] = 0;
+        operands[1] = 0;
+    }
+
+    private void pushOperand(String number) {
+        double value;
+        try {
+            value = Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            return;
+        }
+        // A large negative adjustment inside a TJ array is a word gap
+        if (value < WORD_GAP && pending.length() > 0 && pending.charAt(pending.length() - 1) != ' ') {
+            pending.append(' ');
+        }
+        operands[0] = operands[1];
+        operands[1] = value;
+    }
+
+    private static boolean isPrintable(char c) {
+        return (c >= 0x20 && c < 0x7F) || c >= 0xA0 || c == '\t' || c == '\n';
+    }
+}
@@ -0,0 +1,57 @@
+package com.pms.analysis;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Counts page objects ({@code /Type /Page}, but not {@code /Type /Pages})
+ * in PDF bytes fed one at a time.
+ */
+final class PdfPageCounter {
+
+    private static final byte[] PAGE = "/Page".getBytes(StandardCharsets.US_ASCII);
+
+    private final KeywordMatcher type = new KeywordMatcher("/Type".getBytes(StandardCharsets.US_ASCII));
+    private int pageMatched = -1;
+    private boolean checkNext;
+    private int count;
+
+    void feed(byte b) {
+        if (checkNext) {
+            checkNext = false;
+            if (!isRegular(b)) {
+                count++;
+            }
+        }
+        if (pageMatched >= 0) {
+            if (pageMatched == 0 && isWhitespace(b)) {
+                return;
+            }
+            if (b == PAGE[pageMatched]) {
+                if (++pageMatched == PAGE.length) {
+                    pageMatched = -1;
+                    checkNext = true;
+                }
+                return;
+            }
+            pageMatched = -1;
+        }
+        if (type.feed(b)) {
+            pageMatched = 0;
+        }
+    }
+
+    int count() {
+        return count;
+    }
+
+    static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0;
+    }
+
+    /**
+     * A byte that continues a PDF name, i.e. neither whitespace nor a delimiter
+     */
+    private static boolean isRegular(byte b) {
+        return !isWhitespace(b) && "()<>[]{}/%".indexOf(b) < 0;
+    }
+}
@@ -0,0 +1,191 @@
+package com.pms.analysis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Single forward pass over a PDF without a PDF library. Page objects are
+ * counted in both raw and decompressed bytes, so pages stored in object
+ * streams are found as well. Unfiltered and Flate-compressed content streams
+ * are inflated as they stream past and fed to {@link PdfContentParser}.
+ * Image streams and other filters are skipped.
+ */
+final class PdfTextExtractor {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int DICT_WINDOW = 2048;
+    private static final long MAX_INFLATED_BYTES = 512L * 1024 * 1024;
+
+    private enum Mode {
+        SCAN,
+        STREAM_EOL,
+        INFLATE,
+        RAW,
+        SKIP
+    }
+
+    private final PdfContentParser content;
+    private final PdfPageCounter pages = new PdfPageCounter();
+    private final KeywordMatcher streamKeyword = new KeywordMatcher("stream".getBytes(StandardCharsets.US_ASCII));
+    private final KeywordMatcher endstreamKeyword = new KeywordMatcher("endstream".getBytes(StandardCharsets.US_ASCII));
+    private final Inflater inflater = new Inflater();
+    private final byte[] inflated = new byte[BUFFER_SIZE];
+    // Ring buffer of the most recent raw bytes, used to read the dictionary in front of a stream
+    private final byte[] window = new byte[DICT_WINDOW];
+    private int windowEnd;
+    private long windowFill;
+    private long inflatedTotal;
+    private Mode mode = Mode.SCAN;
+    private Mode streamMode;
+
+    private PdfTextExtractor(TextSink sink) {
+        this.content = new PdfContentParser(sink);
+    }
+
+    /**
+     * @return Number of page objects found
+     */
+    static int extract(InputStream in, TextSink sink) throws IOException {
+        PdfTextExtractor extractor = new PdfTextExtractor(sink);
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                extractor.feed(buffer, 0, read);
+            }
+        } finally {
+            extractor.inflater.end();
+        }
+        return extractor.pages.count();
+    }
+
+    private void feed(byte[] buffer, int offset, int length) throws IOException {
+        int i = offset;
+        int end = offset + length;
+        while (i < end) {
+            switch (mode) {
+                case SCAN -> {
+                    byte b = buffer[i++];
+                    pages.feed(b);
+                    remember(b);
+                    if (streamKeyword.feed(b) && !windowEndsWith("endstream")) {
+                        streamMode = streamModeFor(recentDictionary());
+                        mode = Mode.STREAM_EOL;
+                    }
+                }
+                case STREAM_EOL -> {
+                    // The stream data starts after CRLF or LF
+                    byte b = buffer[i];
+                    if (b == '\r') {
+                        i++;
+                    } else {
+                        if (b == '\n') {
+                            i++;
+                        }
+                        endstreamKeyword.reset();
+                        mode = streamMode;
+                    }
+                }
+                case INFLATE -> i = inflate(buffer, i, end);
+                case RAW, SKIP -> {
+                    byte b = buffer[i++];
+                    if (mode == Mode.RAW) {
+                        pages.feed(b);
+                        content.feed(b);
+                    }
+                    if (endstreamKeyword.feed(b)) {
+                        if (mode == Mode.RAW) {
+                            content.endOfStream();
+                        }
+                        mode = Mode.SCAN;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Position in the buffer where processing continues
+     */
+    private int inflate(byte[] buffer, int start, int end) throws IOException {
+        inflater.setInput(buffer, start, end - start);
+        try {
+            while (true) {
+                int produced = inflater.inflate(inflated);
+                for (int j = 0; j < produced; j++) {
+                    pages.feed(inflated[j]);
+                    content.feed(inflated[j]);
+                }
+                inflatedTotal += produced;
+                if (inflater.finished()) {
+                    content.endOfStream();
+                    int resume = end - inflater.getRemaining();
+                    inflater.reset();
+                    mode = Mode.SCAN;
+                    return resume;
+                }
+                if (inflatedTotal > MAX_INFLATED_BYTES || inflater.needsDictionary()) {
+                    return abandonStream(start);
+                }
+                if (produced == 0 && inflater.needsInput()) {
+                    return end;
+                }
+            }
+        } catch (DataFormatException e) {
+            return abandonStream(start);
+        }
+    }
+
+    private int abandonStream(int resume) throws IOException {
+        content.endOfStream();
+        inflater.reset();
+        endstreamKeyword.reset();
+        mode = Mode.SKIP;
+        return resume;
+    }
+
+    private Mode streamModeFor(String dictionary) {
+        if (dictionary.contains("/Image") || inflatedTotal > MAX_INFLATED_BYTES) {
+            return Mode.SKIP;
+        }
+        if (!dictionary.contains("/Filter")) {
+            return Mode.RAW;
+        }
+        boolean flate = dictionary.contains("/FlateDecode") || dictionary.contains("/Fl ") || dictionary.contains("/Fl]");
+        boolean otherFilter = dictionary.contains("/DCTDecode") || dictionary.contains("/LZWDecode")
+                || dictionary.contains("/ASCII85Decode") || dictionary.contains("/JBIG2Decode")
+                || dictionary.contains("/JPXDecode") || dictionary.contains("/CCITTFaxDecode");
+        return flate && !otherFilter ? Mode.INFLATE : Mode.SKIP;
+    }
+
+    private void remember(byte b) {
+        window[windowEnd] = b;
+        windowEnd = (windowEnd + 1) % DICT_WINDOW;
+        windowFill++;
+    }
+
+    private String recentBytes() {
+        int size = (int) Math.min(windowFill, DICT_WINDOW);
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = window[Math.floorMod(windowEnd - size + i, DICT_WINDOW)];
+        }
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private boolean windowEndsWith(String suffix) {
+        return recentBytes().endsWith(suffix);
+    }
+
+    /**
+     * The bytes between the latest {@code obj} keyword and {@code stream}
+     */
+    private String recentDictionary() {
+        String recent = recentBytes();
+        int obj = recent.lastIndexOf("obj");
+        return obj < 0 ? recent : recent.substring(obj);
+    }
+}
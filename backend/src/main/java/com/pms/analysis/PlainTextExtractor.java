@@ -0,0 +1,35 @@
+package com.pms.analysis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes text files as UTF-8, replacing malformed input, and drops a
+ * leading byte order mark
+ */
+final class PlainTextExtractor {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private PlainTextExtractor() {
+        // Private constructor to prevent instantiation
+    }
+
+    static void extract(InputStream in, TextSink sink) throws IOException {
+        // Not closed: the caller keeps reading the underlying stream
+        Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+        char[] buffer = new char[BUFFER_SIZE];
+        CharBuffer chars = CharBuffer.wrap(buffer);
+        boolean first = true;
+        int read;
+        while ((read = reader.read(buffer)) > 0) {
+            int start = first && buffer[0] == '\uFEFF' ? 1 : 0;
+            first = false;
+            sink.append(chars, start, read);
+        }
+    }
+}
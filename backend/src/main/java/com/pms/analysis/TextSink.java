@@ -0,0 +1,80 @@
+package com.pms.analysis;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Receives extracted text. It counts lines, words and characters across
+ * everything it is given, and passes at most {@code maxChars} characters on
+ * to the underlying writer.
+ */
+public final class TextSink {
+
+    private final Writer out;
+    private final long maxChars;
+    private long chars;
+    private long written;
+    private long lines;
+    private long words;
+    private boolean inWord;
+    private boolean lineOpen;
+
+    public TextSink(Writer out, long maxChars) {
+        this.out = out;
+        this.maxChars = maxChars;
+    }
+
+    public void append(CharSequence text) throws IOException {
+        append(text, 0, text.length());
+    }
+
+    public void append(CharSequence text, int start, int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                lines++;
+                lineOpen = false;
+            } else if (c != '\r') {
+                lineOpen = true;
+            }
+            boolean wordChar = Character.isLetterOrDigit(c);
+            if (wordChar && !inWord) {
+                words++;
+            }
+            inWord = wordChar;
+        }
+        int length = end - start;
+        chars += length;
+        if (written < maxChars) {
+            int toWrite = (int) Math.min(length, maxChars - written);
+            out.append(text, start, start + toWrite);
+            written += toWrite;
+        }
+    }
+
+    /**
+     * End the current line if it has content, so text from separate parts
+     * (paragraphs, cells, slides) does not run together
+     */
+    public void newLine() throws IOException {
+        if (lineOpen) {
+            append("\n");
+        }
+    }
+
+    public long getCharacterCount() {
+        return chars;
+    }
+
+    public long getLineCount() {
+        return lines + (lineOpen ? 1 : 0);
+    }
+
+    public long getWordCount() {
+        return words;
+    }
+
+    public boolean isTruncated() {
+        return chars > written;
+    }
+}
@@ -0,0 +1,21 @@
+package com.pms.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Fans cache invalidations out to every node running the application. The
+ * default {@link LocalCacheInvalidationBus} only reaches the current JVM; a
+ * deployment with several nodes can register its own {@code @Primary} bean
+ * (backed by a message broker or database notifications) and every cache
+ * that subscribes here picks it up.
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Announce that {@code key} changed in the named cache. Subscribers on
+     * this node, and on other nodes where supported, evict it.
+     */
+    void publish(String cacheName, String key);
+
+    void subscribe(String cacheName, Consumer<String> listener);
+}
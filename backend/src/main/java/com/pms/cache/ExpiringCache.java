@@ -0,0 +1,123 @@
+package com.pms.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Concurrent map with a size bound and a time-to-live per entry. Reads are
+ * lock-free. When the bound is exceeded, one thread drops expired entries
+ * and then arbitrary ones until the map is back to 90% of the bound.
+ *
+ * <p>Loaders run outside any lock, so two threads may load the same key at
+ * once. A value loaded while an invalidation happened is returned but not
+ * cached, so an invalidation is never undone by a load that read old data.</p>
+ */
+public final class ExpiringCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlNanos;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final ReentrantLock trimLock = new ReentrantLock();
+
+    public ExpiringCache(int maxSize, long ttlMillis) {
+        if (maxSize < 1 || ttlMillis < 1) {
+            throw new IllegalArgumentException("Cache size and TTL must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+    }
+
+    public V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() - System.nanoTime() <= 0) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * Return the cached value or load and cache it. Null results are not
+     * cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        long stamp = invalidations.get();
+        value = loader.apply(key);
+        if (value == null || invalidations.get() != stamp) {
+            return value;
+        }
+        Entry<V> entry = store(key, value);
+        // An invalidation between the check and the store may have run its
+        // remove before the entry existed; take the entry back out ourselves
+        if (invalidations.get() != stamp) {
+            entries.remove(key, entry);
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        store(key, value);
+    }
+
+    private Entry<V> store(K key, V value) {
+        Entry<V> entry = new Entry<>(value, System.nanoTime() + ttlNanos);
+        entries.put(key, entry);
+        if (entries.size() > maxSize) {
+            trim();
+        }
+        return entry;
+    }
+
+    public void invalidate(K key) {
+        invalidations.incrementAndGet();
+        entries.remove(key);
+    }
+
+    public void invalidateIf(Predicate<? super K> keyFilter) {
+        invalidations.incrementAndGet();
+        entries.keySet().removeIf(keyFilter);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void trim() {
+        if (!trimLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            entries.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+            int target = maxSize - maxSize / 10;
+            Iterator<K> keys = entries.keySet().iterator();
+            while (entries.size() > target && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        } finally {
+            trimLock.unlock();
+        }
+    }
+}
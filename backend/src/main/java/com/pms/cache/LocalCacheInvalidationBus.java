@@ -0,0 +1,35 @@
+package com.pms.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process {@link CacheInvalidationBus}: delivers each invalidation to the
+ * subscribers of this JVM on the publishing thread.
+ */
+@Slf4j
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String cacheName, String key) {
+        for (Consumer<String> listener : listeners.getOrDefault(cacheName, List.of())) {
+            try {
+                listener.accept(key);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation listener for {} failed", cacheName, e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(String cacheName, Consumer<String> listener) {
+        listeners.computeIfAbsent(cacheName, name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+}
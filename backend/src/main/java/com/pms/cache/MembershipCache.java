@@ -0,0 +1,70 @@
+package com.pms.cache;
+
+import com.pms.entity.OrganizationMember;
+import com.pms.repository.OrganizationMemberRepository;
+import com.pms.util.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-user map of organization id to role, so membership and role checks on
+ * each request need no query once a user's entry is loaded. A user's whole
+ * map is loaded with one query and cached, including an empty map for users
+ * without memberships.
+ *
+ * <p>Membership changes call {@link #invalidateAfterCommit(String)}, which
+ * evicts the user through the {@link CacheInvalidationBus} once the change is
+ * visible to other transactions. Entries also expire after
+ * {@code organizations.membership-cache.ttl-seconds}.</p>
+ */
+@Component
+public class MembershipCache {
+
+    static final String CACHE_NAME = "organization-memberships";
+
+    private final OrganizationMemberRepository organizationMemberRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final ExpiringCache<String, Map<Long, OrganizationMember.MemberRole>> memberships;
+
+    public MembershipCache(OrganizationMemberRepository organizationMemberRepository,
+                           CacheInvalidationBus invalidationBus,
+                           @Value("${organizations.membership-cache.max-size:50000}") int maxSize,
+                           @Value("${organizations.membership-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.organizationMemberRepository = organizationMemberRepository;
+        this.invalidationBus = invalidationBus;
+        this.memberships = new ExpiringCache<>(maxSize, ttlSeconds * 1000);
+        invalidationBus.subscribe(CACHE_NAME, memberships::invalidate);
+    }
+
+    /**
+     * @return Organization id to role for every organization the user belongs to
+     */
+    public Map<Long, OrganizationMember.MemberRole> getMemberships(String userId) {
+        if (userId == null) {
+            return Map.of();
+        }
+        return memberships.get(userId, this::load);
+    }
+
+    public OrganizationMember.MemberRole getRole(Long organizationId, String userId) {
+        return organizationId == null ? null : getMemberships(userId).get(organizationId);
+    }
+
+    /**
+     * Evict the user on every node once the current transaction commits
+     */
+    public void invalidateAfterCommit(String userId) {
+        TransactionHooks.afterCommit(() -> invalidationBus.publish(CACHE_NAME, userId));
+    }
+
+    private Map<Long, OrganizationMember.MemberRole> load(String userId) {
+        Map<Long, OrganizationMember.MemberRole> roles = new HashMap<>();
+        for (MembershipRole membership : organizationMemberRepository.findRolesByUserId(userId)) {
+            roles.put(membership.organizationId(), membership.role());
+        }
+        return Map.copyOf(roles);
+    }
+}
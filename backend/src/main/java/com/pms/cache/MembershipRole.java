@@ -0,0 +1,9 @@
+package com.pms.cache;
+
+import com.pms.entity.OrganizationMember;
+
+/**
+ * One organization a user belongs to, as loaded into {@link MembershipCache}
+ */
+public record MembershipRole(Long organizationId, OrganizationMember.MemberRole role) {
+}
@@ -0,0 +1,176 @@
+package com.pms.cache;
+
+import com.pms.dto.OrganizationSummaryDTO;
+import com.pms.entity.Contract;
+import com.pms.entity.Document;
+import com.pms.entity.Milestone;
+import com.pms.entity.Organization;
+import com.pms.entity.ProcurementOrder;
+import com.pms.entity.Project;
+import com.pms.entity.QualityInspection;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of each organization's dashboard summary. Any insert,
+ * update or delete of a project or of a record counted in the summary
+ * evicts the organization's entry through the {@link CacheInvalidationBus}
+ * once the transaction commits; bulk JPQL changes are only covered by
+ * {@code organizations.summary-cache.ttl-seconds}.
+ */
+@Component
+public class OrganizationSummaryCache {
+
+    static final String CACHE_NAME = "organization-summaries";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ProjectOwnershipCache projectOwnershipCache;
+    private final CacheInvalidationBus invalidationBus;
+    private final ExpiringCache<Long, OrganizationSummaryDTO> summaries;
+
+    public OrganizationSummaryCache(EntityManagerFactory entityManagerFactory,
+                                    ProjectOwnershipCache projectOwnershipCache,
+                                    CacheInvalidationBus invalidationBus,
+                                    @Value("${organizations.summary-cache.max-size:1000}") int maxSize,
+                                    @Value("${organizations.summary-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.projectOwnershipCache = projectOwnershipCache;
+        this.invalidationBus = invalidationBus;
+        this.summaries = new ExpiringCache<>(maxSize, ttlSeconds * 1000);
+        invalidationBus.subscribe(CACHE_NAME, key -> {
+            if (key.isEmpty()) {
+                summaries.invalidateAll();
+            } else {
+                summaries.invalidate(Long.valueOf(key));
+            }
+        });
+    }
+
+    @PostConstruct
+    void registerInvalidation() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        SummaryChangeListener listener = new SummaryChangeListener();
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+    }
+
+    public OrganizationSummaryDTO get(Long organizationId, Function<Long, OrganizationSummaryDTO> loader) {
+        return summaries.get(organizationId, loader);
+    }
+
+    /**
+     * Evict the organization on every node once the current transaction
+     * commits, or every organization if it is not known. A transaction that
+     * writes many records publishes each organization once.
+     */
+    @SuppressWarnings("unchecked")
+    public void invalidateAfterCommit(Long organizationId) {
+        String key = organizationId != null ? organizationId.toString() : "";
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidationBus.publish(CACHE_NAME, key);
+            return;
+        }
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> keys = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, keys);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    keys.forEach(changed -> invalidationBus.publish(CACHE_NAME, changed));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OrganizationSummaryCache.this);
+                }
+            });
+            pending = keys;
+        }
+        pending.add(key);
+    }
+
+    private Long organizationOf(Object entity) {
+        if (entity instanceof Project project) {
+            return idOf(project.getOrganization());
+        }
+        if (entity instanceof Milestone milestone) {
+            return idOf(milestone.getOrganization());
+        }
+        if (entity instanceof ProcurementOrder order) {
+            return idOf(order.getOrganization());
+        }
+        if (entity instanceof Contract contract) {
+            return projectOwnershipCache.organizationId(contract.getProject());
+        }
+        if (entity instanceof Document document) {
+            return projectOwnershipCache.organizationId(document.getProject());
+        }
+        if (entity instanceof QualityInspection inspection) {
+            return projectOwnershipCache.organizationId(inspection.getProject());
+        }
+        return null;
+    }
+
+    private static Long idOf(Organization organization) {
+        return organization != null ? organization.getId() : null;
+    }
+
+    private static boolean isSummarized(Class<?> entityClass) {
+        return entityClass == Project.class
+                || entityClass == Contract.class
+                || entityClass == Document.class
+                || entityClass == QualityInspection.class
+                || entityClass == Milestone.class
+                || entityClass == ProcurementOrder.class;
+    }
+
+    private class SummaryChangeListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            changed(event.getEntity());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            changed(event.getEntity());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            changed(event.getEntity());
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+
+        private void changed(Object entity) {
+            if (isSummarized(entity.getClass())) {
+                invalidateAfterCommit(organizationOf(entity));
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.pms.cache;
+
+/**
+ * The facts about a project that create paths need: which organization owns
+ * it, and the project and organization names for the response
+ */
+public record ProjectOwnership(Long projectId, Long organizationId, String projectName, String organizationName) {
+}
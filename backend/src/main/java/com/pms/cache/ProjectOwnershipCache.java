@@ -0,0 +1,165 @@
+package com.pms.cache;
+
+import com.pms.entity.Organization;
+import com.pms.entity.Project;
+import com.pms.exception.ResourceNotFoundException;
+import com.pms.repository.ProjectRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches which organization owns each project, so create paths can check a
+ * tenant's project and attach it by reference without selecting the row.
+ *
+ * <p>Entries expire after {@code projects.ownership-cache.ttl-seconds}. Any
+ * update or delete of a {@link Project} through Hibernate evicts its entry
+ * both when it is flushed and again after commit; bulk JPQL changes are only
+ * covered by the TTL.</p>
+ */
+@Component
+public class ProjectOwnershipCache {
+
+    private final ProjectRepository projectRepository;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ExpiringCache<Long, ProjectOwnership> ownerships;
+
+    public ProjectOwnershipCache(ProjectRepository projectRepository,
+                                 EntityManager entityManager,
+                                 EntityManagerFactory entityManagerFactory,
+                                 @Value("${projects.ownership-cache.max-size:10000}") int maxSize,
+                                 @Value("${projects.ownership-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.projectRepository = projectRepository;
+        this.entityManager = entityManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.ownerships = new ExpiringCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    @PostConstruct
+    void registerInvalidation() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        ProjectChangeListener listener = new ProjectChangeListener();
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    /**
+     * Resolve a project of the given organization for use as an association
+     * @return An uninitialized reference on a cache hit, so no SELECT is issued
+     * @throws ResourceNotFoundException if the project does not exist or
+     *         belongs to another organization
+     */
+    public Project requireProject(Long projectId, Long organizationId) {
+        requireOwnership(projectId, organizationId);
+        return projectRepository.getReferenceById(projectId);
+    }
+
+    /**
+     * @throws ResourceNotFoundException if the project does not exist or
+     *         belongs to another organization
+     */
+    public ProjectOwnership requireOwnership(Long projectId, Long organizationId) {
+        ProjectOwnership ownership = ownership(projectId);
+        if (ownership == null || !ownership.organizationId().equals(organizationId)) {
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+        return ownership;
+    }
+
+    /**
+     * @return The project's cached ownership, loading it on a miss; null if
+     *         the project does not exist
+     */
+    public ProjectOwnership ownership(Long projectId) {
+        return projectId == null ? null
+                : ownerships.get(projectId, id -> projectRepository.findOwnershipById(id).orElse(null));
+    }
+
+    public Organization organizationReference(Long organizationId) {
+        return entityManager.getReference(Organization.class, organizationId);
+    }
+
+    /**
+     * Name of a project. A reference is never initialized: its name comes
+     * from the ownership cache, so this also works on references detached by
+     * a cleared persistence context.
+     */
+    public String projectName(Project project) {
+        if (project == null) {
+            return null;
+        }
+        if (!Hibernate.isInitialized(project)) {
+            ProjectOwnership ownership = ownership(project.getId());
+            return ownership != null ? ownership.projectName() : null;
+        }
+        return project.getName();
+    }
+
+    /**
+     * Owning organization of a project without initializing it if it is
+     * still a reference and its ownership is cached
+     */
+    public Long organizationId(Project project) {
+        if (project == null) {
+            return null;
+        }
+        if (!Hibernate.isInitialized(project)) {
+            ProjectOwnership ownership = ownerships.getIfPresent(project.getId());
+            if (ownership != null) {
+                return ownership.organizationId();
+            }
+        }
+        return project.getOrganization() != null ? project.getOrganization().getId() : null;
+    }
+
+    public void invalidate(Long projectId) {
+        ownerships.invalidate(projectId);
+    }
+
+    private class ProjectChangeListener implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getEntity() instanceof Project project) {
+                invalidate(project.getId());
+            }
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+            onPostUpdate(event);
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof Project project) {
+                invalidate(project.getId());
+            }
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+            onPostDelete(event);
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return persister.getMappedClass() == Project.class;
+        }
+    }
+}
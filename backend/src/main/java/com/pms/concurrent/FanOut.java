@@ -0,0 +1,215 @@
+package com.pms.concurrent;
+
+import com.pms.context.OrganizationContext;
+import com.pms.exception.ServiceUnavailableException;
+import com.pms.metrics.StatementCounter;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs independent reads of one request side by side, in the style of a
+ * structured task scope: subtasks are forked inside a {@link Scope}, joined
+ * together under one deadline, and all cancelled as soon as one fails, the
+ * deadline passes or the scope is closed.
+ *
+ * <pre>
+ * try (FanOut.Scope scope = fanOut.open()) {
+ *     FanOut.Subtask&lt;A&gt; a = scope.fork(() -&gt; ...);
+ *     FanOut.Subtask&lt;B&gt; b = scope.fork(() -&gt; ...);
+ *     scope.join();
+ *     return combine(a.get(), b.get());
+ * }
+ * </pre>
+ *
+ * <p>Subtasks see the forking thread's {@link OrganizationContext} and
+ * security context, and their SQL counts towards the request's
+ * {@link StatementCounter}. Each runs on its own virtual thread. At most
+ * {@code fanout.max-concurrency} subtasks are in flight across all scopes;
+ * {@link Scope#fork} waits for a free slot until the scope's deadline and
+ * then gives up, so a burst of requests cannot pile up threads without
+ * bound.</p>
+ */
+@Component
+public class FanOut {
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("fanout-", 0).factory());
+    private final Duration defaultTimeout;
+    private final Semaphore slots;
+
+    public FanOut(@Value("${fanout.timeout-ms:5000}") long timeoutMs,
+                  @Value("${fanout.max-concurrency:64}") int maxConcurrency) {
+        this.defaultTimeout = Duration.ofMillis(timeoutMs);
+        this.slots = new Semaphore(maxConcurrency);
+    }
+
+    public Scope open() {
+        return open(defaultTimeout);
+    }
+
+    /**
+     * @param timeout Deadline for {@link Scope#join()}, counted from now
+     */
+    public Scope open(Duration timeout) {
+        return new Scope(System.nanoTime() + timeout.toNanos());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final long deadline;
+        private final ExecutorCompletionService<Object> completions = new ExecutorCompletionService<>(executor);
+        private final List<Forked> forked = new ArrayList<>();
+        private boolean joined;
+
+        private Scope(long deadline) {
+            this.deadline = deadline;
+        }
+
+        /**
+         * Start a subtask with the caller's organization and security context
+         * @throws ServiceUnavailableException if no slot frees up before the
+         *         deadline, or the application is shutting down
+         */
+        public <T> Subtask<T> fork(Callable<T> task) {
+            if (joined) {
+                throw new IllegalStateException("Cannot fork after join");
+            }
+            Long organizationId = OrganizationContext.getCurrentOrganizationId();
+            SecurityContext securityContext = SecurityContextHolder.getContext();
+            AtomicInteger statements = StatementCounter.current();
+            acquireSlot();
+            // Whoever claims first returns the slot: the subtask when it starts, or close() if it never does
+            AtomicBoolean claimed = new AtomicBoolean();
+            Callable<Object> withContext = () -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return null;
+                }
+                SecurityContextHolder.setContext(securityContext);
+                try {
+                    return StatementCounter.callWith(statements,
+                            () -> OrganizationContext.callWith(organizationId, task));
+                } finally {
+                    SecurityContextHolder.clearContext();
+                    slots.release();
+                }
+            };
+            Future<Object> future;
+            try {
+                future = completions.submit(withContext);
+            } catch (RejectedExecutionException e) {
+                slots.release();
+                close();
+                throw new ServiceUnavailableException("Shutting down, please retry later");
+            }
+            forked.add(new Forked(future, claimed));
+            return new Subtask<>(future);
+        }
+
+        /**
+         * Wait for every subtask. The first failure cancels the others and is
+         * rethrown here.
+         * @throws ServiceUnavailableException if the deadline passes first
+         */
+        public void join() {
+            joined = true;
+            try {
+                for (int remaining = forked.size(); remaining > 0; remaining--) {
+                    long timeLeft = deadline - System.nanoTime();
+                    Future<Object> done = timeLeft > 0 ? completions.poll(timeLeft, TimeUnit.NANOSECONDS) : null;
+                    if (done == null) {
+                        throw new ServiceUnavailableException("Request timed out, please retry later");
+                    }
+                    done.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for subtasks", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException("Subtask failed", e.getCause());
+            } finally {
+                close();
+            }
+        }
+
+        /**
+         * Cancel (and interrupt) any subtask that has not finished
+         */
+        @Override
+        public void close() {
+            for (Forked subtask : forked) {
+                subtask.future().cancel(true);
+                if (subtask.claimed().compareAndSet(false, true)) {
+                    slots.release();
+                }
+            }
+        }
+
+        private void acquireSlot() {
+            long timeLeft = deadline - System.nanoTime();
+            try {
+                if (!slots.tryAcquire(Math.max(timeLeft, 0), TimeUnit.NANOSECONDS)) {
+                    close();
+                    throw new ServiceUnavailableException("Too many concurrent reads, please retry later");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new IllegalStateException("Interrupted while waiting to fork a subtask", e);
+            }
+        }
+    }
+
+    private record Forked(Future<Object> future, AtomicBoolean claimed) {
+    }
+
+    public static final class Subtask<T> {
+
+        private final Future<Object> future;
+
+        private Subtask(Future<Object> future) {
+            this.future = future;
+        }
+
+        /**
+         * Result of a subtask after a successful {@link Scope#join()}
+         */
+        @SuppressWarnings("unchecked")
+        public T get() {
+            if (!future.isDone() || future.isCancelled()) {
+                throw new IllegalStateException("Subtask has not completed");
+            }
+            try {
+                return (T) future.get();
+            } catch (InterruptedException | ExecutionException | CancellationException e) {
+                throw new IllegalStateException("Subtask has not completed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.pms.config;
+
+import com.pms.cache.CacheInvalidationBus;
+import com.pms.cache.LocalCacheInvalidationBus;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+    
+    // Default bus; a bean that reaches other nodes is declared @Primary and wins at injection
+    @Bean
+    public CacheInvalidationBus localCacheInvalidationBus() {
+        return new LocalCacheInvalidationBus();
+    }
+}
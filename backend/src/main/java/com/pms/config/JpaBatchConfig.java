@@ -0,0 +1,24 @@
+package com.pms.config;
+
+import com.pms.util.BatchWrites;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JDBC batching defaults. Values set explicitly under
+ * {@code spring.jpa.properties} take precedence.
+ */
+@Configuration
+public class JpaBatchConfig {
+    
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", String.valueOf(BatchWrites.JDBC_BATCH_SIZE));
+            properties.putIfAbsent("hibernate.order_inserts", "true");
+            properties.putIfAbsent("hibernate.order_updates", "true");
+            properties.putIfAbsent("hibernate.jdbc.batch_versioned_data", "true");
+        };
+    }
+}
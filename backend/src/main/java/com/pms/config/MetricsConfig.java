@@ -0,0 +1,23 @@
+package com.pms.config;
+
+import com.pms.metrics.CountingStatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * Metrics defaults: exposes {@code /actuator/prometheus} and counts the SQL
+ * statements of each request. Values set explicitly in the application
+ * configuration take precedence.
+ */
+@Configuration
+@PropertySource("classpath:metrics-defaults.properties")
+public class MetricsConfig {
+    
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer() {
+        return properties -> properties.putIfAbsent("hibernate.session_factory.statement_inspector",
+                new CountingStatementInspector());
+    }
+}
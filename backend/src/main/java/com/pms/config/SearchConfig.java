@@ -0,0 +1,34 @@
+package com.pms.config;
+
+import com.pms.search.H2SearchIndexBackend;
+import com.pms.search.PostgresSearchIndexBackend;
+import com.pms.search.SearchIndexBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Slf4j
+@Configuration
+public class SearchConfig {
+    
+    @Bean
+    public SearchIndexBackend searchIndexBackend(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        
+        SearchIndexBackend backend;
+        if ("PostgreSQL".equalsIgnoreCase(product)) {
+            backend = new PostgresSearchIndexBackend(jdbcTemplate);
+        } else if ("H2".equalsIgnoreCase(product)) {
+            backend = new H2SearchIndexBackend(jdbcTemplate);
+        } else {
+            throw new IllegalStateException("Full-text search is not supported on database: " + product);
+        }
+        
+        log.info("Using {} search backend", product);
+        backend.initialize();
+        return backend;
+    }
+}
@@ -2,13 +2,29 @@ package com.pms.context;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.Callable;
+
 /**
  * Thread-local storage for organization context in multi-tenant architecture.
  * Stores the current organization ID for the request lifecycle.
+ *
+ * <p>Prefer {@link #runWith(Long, Runnable)} and {@link #callWith(Long, Callable)},
+ * which bind the organization for the duration of one call and then restore
+ * the previous binding, in the same shape as {@code ScopedValue.where(..).run(..)}.
+ * The value is a single boxed id in a plain (non-inheritable) thread-local,
+ * so virtual threads neither copy it on creation nor keep it after the call.
+ * Scoped values are still a preview feature in Java 21; once they are final
+ * only this class needs to change.</p>
  */
 @Slf4j
 public class OrganizationContext {
     
+    /**
+     * Request attribute holding the verified organization of a request, for
+     * code that runs after the context has been cleared
+     */
+    public static final String REQUEST_ATTRIBUTE = OrganizationContext.class.getName() + ".organizationId";
+    
     private static final ThreadLocal<Long> currentOrganizationId = new ThreadLocal<>();
     
     private OrganizationContext() {
@@ -34,6 +50,42 @@ public class OrganizationContext {
         currentOrganizationId.set(organizationId);
     }
     
+    /**
+     * Run the action with the organization bound, restoring the previous
+     * binding (usually none) afterwards
+     */
+    public static void runWith(Long organizationId, Runnable action) {
+        Long previous = currentOrganizationId.get();
+        bind(organizationId);
+        try {
+            action.run();
+        } finally {
+            bind(previous);
+        }
+    }
+    
+    /**
+     * Call the action with the organization bound, restoring the previous
+     * binding (usually none) afterwards
+     */
+    public static <T> T callWith(Long organizationId, Callable<T> action) throws Exception {
+        Long previous = currentOrganizationId.get();
+        bind(organizationId);
+        try {
+            return action.call();
+        } finally {
+            bind(previous);
+        }
+    }
+    
+    private static void bind(Long organizationId) {
+        if (organizationId == null) {
+            currentOrganizationId.remove();
+        } else {
+            currentOrganizationId.set(organizationId);
+        }
+    }
+    
     /**
      * Clear the organization context from thread-local storage.
      * Should always be called in a finally block to prevent memory leaks.
@@ -17,13 +17,18 @@ public class ContractController {
     private final ContractService contractService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ContractDTO>>> getAllContracts() {
-        return ResponseEntity.ok(contractService.getAllContracts());
+    public ResponseEntity<ApiResponse<List<ContractDTO>>> getAllContracts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(contractService.getAllContracts(cursor, limit));
     }
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<ApiResponse<List<ContractDTO>>> getContractsByProject(@PathVariable Long projectId) {
-        return ResponseEntity.ok(contractService.getContractsByProject(projectId));
+    public ResponseEntity<ApiResponse<List<ContractDTO>>> getContractsByProject(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(contractService.getContractsByProject(projectId, cursor, limit));
     }
 
     @GetMapping("/{id}")
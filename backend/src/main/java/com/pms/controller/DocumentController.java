@@ -1,12 +1,19 @@
 package com.pms.controller;
 
 import com.pms.dto.ApiResponse;
+import com.pms.dto.DocumentAnalysisDTO;
 import com.pms.dto.DocumentDTO;
+import com.pms.dto.DocumentSearchHitDTO;
+import com.pms.service.DocumentAnalysisService;
 import com.pms.service.DocumentService;
+import com.pms.storage.ContentTransfer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -15,15 +22,30 @@ import java.util.List;
 public class DocumentController {
 
     private final DocumentService documentService;
+    private final DocumentAnalysisService documentAnalysisService;
+    private final ContentTransfer contentTransfer;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<DocumentDTO>>> getAllDocuments() {
-        return ResponseEntity.ok(documentService.getAllDocuments());
+    public ResponseEntity<ApiResponse<List<DocumentDTO>>> getAllDocuments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(documentService.getAllDocuments(cursor, limit));
     }
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<ApiResponse<List<DocumentDTO>>> getDocumentsByProject(@PathVariable Long projectId) {
-        return ResponseEntity.ok(documentService.getDocumentsByProject(projectId));
+    public ResponseEntity<ApiResponse<List<DocumentDTO>>> getDocumentsByProject(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(documentService.getDocumentsByProject(projectId, cursor, limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<DocumentSearchHitDTO>>> searchDocuments(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(documentService.searchDocuments(query, projectId, limit));
     }
 
     @GetMapping("/{id}")
@@ -31,6 +53,22 @@ public class DocumentController {
         return ResponseEntity.ok(documentService.getDocumentById(id));
     }
 
+    @GetMapping("/{id}/content")
+    public void getDocumentContent(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        contentTransfer.send(documentService.getDocumentContent(id), request, response);
+    }
+
+    @GetMapping("/{id}/analysis")
+    public ResponseEntity<ApiResponse<DocumentAnalysisDTO>> getDocumentAnalysis(@PathVariable Long id) {
+        return ResponseEntity.ok(documentAnalysisService.getDocumentAnalysis(id));
+    }
+
+    @PostMapping("/{id}/analysis")
+    public ResponseEntity<ApiResponse<DocumentAnalysisDTO>> requestDocumentAnalysis(@PathVariable Long id) {
+        return ResponseEntity.ok(documentAnalysisService.requestAnalysis(id));
+    }
+
     @PostMapping
     public ResponseEntity<ApiResponse<DocumentDTO>> createDocument(@RequestBody DocumentDTO documentDTO) {
         return ResponseEntity.ok(documentService.createDocument(documentDTO));
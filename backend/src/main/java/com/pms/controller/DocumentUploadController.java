@@ -0,0 +1,49 @@
+package com.pms.controller;
+
+import com.pms.dto.ApiResponse;
+import com.pms.dto.DocumentDTO;
+import com.pms.dto.DocumentUploadDTO;
+import com.pms.dto.DocumentUploadRequest;
+import com.pms.service.DocumentUploadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/documents/uploads")
+@RequiredArgsConstructor
+public class DocumentUploadController {
+
+    private final DocumentUploadService documentUploadService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<DocumentUploadDTO>> createUpload(@RequestBody DocumentUploadRequest request) {
+        return ResponseEntity.ok(documentUploadService.createUpload(request));
+    }
+
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<ApiResponse<DocumentUploadDTO>> getUpload(@PathVariable String uploadId) {
+        return ResponseEntity.ok(documentUploadService.getUpload(uploadId));
+    }
+
+    @PutMapping(value = "/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ApiResponse<DocumentUploadDTO>> appendChunk(
+            @PathVariable String uploadId,
+            @RequestHeader("Upload-Offset") long offset,
+            InputStream body) {
+        return ResponseEntity.ok(documentUploadService.appendChunk(uploadId, offset, body));
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<ApiResponse<DocumentDTO>> completeUpload(@PathVariable String uploadId) {
+        return ResponseEntity.ok(documentUploadService.completeUpload(uploadId));
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<ApiResponse<Void>> abortUpload(@PathVariable String uploadId) {
+        return ResponseEntity.ok(documentUploadService.abortUpload(uploadId));
+    }
+}
@@ -2,11 +2,17 @@ package com.pms.controller;
 
 import com.pms.dto.ApiResponse;
 import com.pms.dto.DprEntryDTO;
+import com.pms.dto.ProgressSeriesDTO;
+import com.pms.export.ExportFormat;
 import com.pms.service.DprEntryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,13 +23,48 @@ public class DprEntryController {
     private final DprEntryService dprEntryService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<DprEntryDTO>>> getAllDprEntries() {
-        return ResponseEntity.ok(dprEntryService.getAllDprEntries());
+    public ResponseEntity<ApiResponse<List<DprEntryDTO>>> getAllDprEntries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(dprEntryService.getAllDprEntries(cursor, limit));
     }
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<ApiResponse<List<DprEntryDTO>>> getDprEntriesByProject(@PathVariable Long projectId) {
-        return ResponseEntity.ok(dprEntryService.getDprEntriesByProject(projectId));
+    public ResponseEntity<ApiResponse<List<DprEntryDTO>>> getDprEntriesByProject(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(dprEntryService.getDprEntriesByProject(projectId, cursor, limit));
+    }
+
+    @GetMapping("/project/{projectId}/export")
+    public ResponseEntity<StreamingResponseBody> exportDprEntries(
+            @PathVariable Long projectId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        StreamingResponseBody body = dprEntryService.exportDprEntries(projectId, startDate, endDate, exportFormat);
+        String fileName = "dpr-entries-" + projectId + "-" + startDate + "-" + endDate + "." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/project/{projectId}/progress")
+    public ResponseEntity<ApiResponse<ProgressSeriesDTO>> getProgressSeries(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "week") String period,
+            @RequestParam(required = false) String wbsCode,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(dprEntryService.getProgressSeries(projectId, period, wbsCode, startDate, endDate));
+    }
+
+    @PostMapping("/project/{projectId}/progress/rebuild")
+    public ResponseEntity<ApiResponse<Void>> rebuildProgress(@PathVariable Long projectId) {
+        return ResponseEntity.ok(dprEntryService.rebuildProgress(projectId));
     }
 
     @GetMapping("/{id}")
@@ -36,6 +77,11 @@ public class DprEntryController {
         return ResponseEntity.ok(dprEntryService.createDprEntry(dprEntryDTO));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<DprEntryDTO>>> createDprEntries(@RequestBody List<DprEntryDTO> dprEntryDTOs) {
+        return ResponseEntity.ok(dprEntryService.createDprEntries(dprEntryDTOs));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<DprEntryDTO>> updateDprEntry(
             @PathVariable Long id,
@@ -0,0 +1,37 @@
+package com.pms.controller;
+
+import com.pms.dto.ApiResponse;
+import com.pms.dto.ImportJobDTO;
+import com.pms.imports.InventoryItemImportDefinition;
+import com.pms.imports.ProcurementOrderImportDefinition;
+import com.pms.service.ImportJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final ImportJobService importJobService;
+    private final InventoryItemImportDefinition inventoryItemImportDefinition;
+    private final ProcurementOrderImportDefinition procurementOrderImportDefinition;
+
+    @PostMapping(value = "/inventory-items", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<ImportJobDTO>> importInventoryItems(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(importJobService.startImport(inventoryItemImportDefinition, file));
+    }
+
+    @PostMapping(value = "/procurement-orders", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<ImportJobDTO>> importProcurementOrders(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(importJobService.startImport(procurementOrderImportDefinition, file));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<ImportJobDTO>> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(importJobService.getJob(jobId));
+    }
+}
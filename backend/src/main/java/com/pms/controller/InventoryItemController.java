@@ -17,13 +17,10 @@ public class InventoryItemController {
     private final InventoryItemService inventoryItemService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<InventoryItemDTO>>> getAllInventoryItems() {
-        return ResponseEntity.ok(inventoryItemService.getAllInventoryItems());
-    }
-
-    @GetMapping("/project/{projectId}")
-    public ResponseEntity<ApiResponse<List<InventoryItemDTO>>> getInventoryItemsByProject(@PathVariable Long projectId) {
-        return ResponseEntity.ok(inventoryItemService.getInventoryItemsByProject(projectId));
+    public ResponseEntity<ApiResponse<List<InventoryItemDTO>>> getAllInventoryItems(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(inventoryItemService.getAllInventoryItems(cursor, limit));
     }
 
     @GetMapping("/{id}")
@@ -36,6 +33,11 @@ public class InventoryItemController {
         return ResponseEntity.ok(inventoryItemService.createInventoryItem(inventoryItemDTO));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<InventoryItemDTO>>> createInventoryItems(@RequestBody List<InventoryItemDTO> inventoryItemDTOs) {
+        return ResponseEntity.ok(inventoryItemService.createInventoryItems(inventoryItemDTOs));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<InventoryItemDTO>> updateInventoryItem(
             @PathVariable Long id,
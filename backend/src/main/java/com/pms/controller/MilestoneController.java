@@ -17,13 +17,18 @@ public class MilestoneController {
     private final MilestoneService milestoneService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<MilestoneDTO>>> getAllMilestones() {
-        return ResponseEntity.ok(milestoneService.getAllMilestones());
+    public ResponseEntity<ApiResponse<List<MilestoneDTO>>> getAllMilestones(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(milestoneService.getAllMilestones(cursor, limit));
     }
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<ApiResponse<List<MilestoneDTO>>> getMilestonesByProject(@PathVariable Long projectId) {
-        return ResponseEntity.ok(milestoneService.getMilestonesByProject(projectId));
+    public ResponseEntity<ApiResponse<List<MilestoneDTO>>> getMilestonesByProject(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(milestoneService.getMilestonesByProject(projectId, cursor, limit));
     }
 
     @GetMapping("/{id}")
@@ -1,8 +1,10 @@
 package com.pms.controller;
 
 import com.pms.dto.ApiResponse;
+import com.pms.dto.OrganizationSummaryDTO;
 import com.pms.entity.Organization;
 import com.pms.service.OrganizationService;
+import com.pms.service.OrganizationSummaryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -21,6 +23,7 @@ import java.util.List;
 public class OrganizationController {
     
     private final OrganizationService organizationService;
+    private final OrganizationSummaryService organizationSummaryService;
     
     @PostMapping
     @Operation(summary = "Create new organization")
@@ -59,6 +62,13 @@ public class OrganizationController {
         }
     }
     
+    @GetMapping("/{id}/summary")
+    @Operation(summary = "Get status counts of every module across the organization's projects")
+    public ResponseEntity<ApiResponse<OrganizationSummaryDTO>> getOrganizationSummary(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(organizationSummaryService.getSummary(id),
+                "Organization summary retrieved successfully"));
+    }
+    
     @PutMapping("/{id}")
     @Operation(summary = "Update organization")
     public ResponseEntity<ApiResponse<Organization>> updateOrganization(
@@ -17,13 +17,18 @@ public class ProcurementOrderController {
     private final ProcurementOrderService procurementOrderService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ProcurementOrderDTO>>> getAllProcurementOrders() {
-        return ResponseEntity.ok(procurementOrderService.getAllProcurementOrders());
+    public ResponseEntity<ApiResponse<List<ProcurementOrderDTO>>> getAllProcurementOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(procurementOrderService.getAllProcurementOrders(cursor, limit));
     }
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<ApiResponse<List<ProcurementOrderDTO>>> getProcurementOrdersByProject(@PathVariable Long projectId) {
-        return ResponseEntity.ok(procurementOrderService.getProcurementOrdersByProject(projectId));
+    public ResponseEntity<ApiResponse<List<ProcurementOrderDTO>>> getProcurementOrdersByProject(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(procurementOrderService.getProcurementOrdersByProject(projectId, cursor, limit));
     }
 
     @GetMapping("/{id}")
@@ -3,10 +3,16 @@ package com.pms.controller;
 import com.pms.dto.ApiResponse;
 import com.pms.dto.ProgressPhotoDTO;
 import com.pms.service.ProgressPhotoService;
+import com.pms.storage.ContentTransfer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -15,15 +21,31 @@ import java.util.List;
 public class ProgressPhotoController {
 
     private final ProgressPhotoService progressPhotoService;
+    private final ContentTransfer contentTransfer;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ProgressPhotoDTO>>> getAllProgressPhotos() {
-        return ResponseEntity.ok(progressPhotoService.getAllProgressPhotos());
+    public ResponseEntity<ApiResponse<List<ProgressPhotoDTO>>> getAllProgressPhotos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(progressPhotoService.getAllProgressPhotos(cursor, limit));
     }
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<ApiResponse<List<ProgressPhotoDTO>>> getProgressPhotosByProject(@PathVariable Long projectId) {
-        return ResponseEntity.ok(progressPhotoService.getProgressPhotosByProject(projectId));
+    public ResponseEntity<ApiResponse<List<ProgressPhotoDTO>>> getProgressPhotosByProject(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(progressPhotoService.getProgressPhotosByProject(projectId, cursor, limit));
+    }
+
+    @GetMapping("/project/{projectId}/nearby")
+    public ResponseEntity<ApiResponse<List<ProgressPhotoDTO>>> getProgressPhotosNear(
+            @PathVariable Long projectId,
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "100") double radiusMeters,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(progressPhotoService.getProgressPhotosNear(projectId, latitude, longitude, radiusMeters, limit));
     }
 
     @GetMapping("/{id}")
@@ -31,6 +53,28 @@ public class ProgressPhotoController {
         return ResponseEntity.ok(progressPhotoService.getProgressPhotoById(id));
     }
 
+    @GetMapping("/{id}/content")
+    public void getProgressPhotoContent(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        contentTransfer.send(progressPhotoService.getProgressPhotoContent(id), request, response);
+    }
+
+    @GetMapping("/{id}/thumbnail")
+    public void getProgressPhotoThumbnail(@PathVariable Long id,
+                                          @RequestParam(defaultValue = "480") int size,
+                                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        contentTransfer.send(progressPhotoService.getProgressPhotoThumbnail(id, size), request, response);
+    }
+
+    @PutMapping("/{id}/content")
+    public ResponseEntity<ApiResponse<ProgressPhotoDTO>> uploadProgressPhotoContent(
+            @PathVariable Long id,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(value = "X-Content-Sha256", required = false) String sha256,
+            InputStream body) {
+        return ResponseEntity.ok(progressPhotoService.uploadProgressPhotoContent(id, contentType, sha256, body));
+    }
+
     @PostMapping
     public ResponseEntity<ApiResponse<ProgressPhotoDTO>> createProgressPhoto(@RequestBody ProgressPhotoDTO progressPhotoDTO) {
         return ResponseEntity.ok(progressPhotoService.createProgressPhoto(progressPhotoDTO));
@@ -0,0 +1,21 @@
+package com.pms.controller;
+
+import com.pms.dto.ApiResponse;
+import com.pms.dto.ProjectOverviewDTO;
+import com.pms.service.ProjectOverviewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/projects")
+@RequiredArgsConstructor
+public class ProjectOverviewController {
+
+    private final ProjectOverviewService projectOverviewService;
+
+    @GetMapping("/{projectId}/overview")
+    public ResponseEntity<ApiResponse<ProjectOverviewDTO>> getProjectOverview(@PathVariable Long projectId) {
+        return ResponseEntity.ok(projectOverviewService.getOverview(projectId));
+    }
+}
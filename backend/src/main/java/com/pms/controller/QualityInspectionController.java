@@ -17,13 +17,18 @@ public class QualityInspectionController {
     private final QualityInspectionService qualityInspectionService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<QualityInspectionDTO>>> getAllInspections() {
-        return ResponseEntity.ok(qualityInspectionService.getAllInspections());
+    public ResponseEntity<ApiResponse<List<QualityInspectionDTO>>> getAllInspections(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(qualityInspectionService.getAllInspections(cursor, limit));
     }
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<ApiResponse<List<QualityInspectionDTO>>> getInspectionsByProject(@PathVariable Long projectId) {
-        return ResponseEntity.ok(qualityInspectionService.getInspectionsByProject(projectId));
+    public ResponseEntity<ApiResponse<List<QualityInspectionDTO>>> getInspectionsByProject(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(qualityInspectionService.getInspectionsByProject(projectId, cursor, limit));
     }
 
     @GetMapping("/{id}")
@@ -17,13 +17,18 @@ public class ResourceController {
     private final ResourceService resourceService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ResourceDTO>>> getAllResources() {
-        return ResponseEntity.ok(resourceService.getAllResources());
+    public ResponseEntity<ApiResponse<List<ResourceDTO>>> getAllResources(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(resourceService.getAllResources(cursor, limit));
     }
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<ApiResponse<List<ResourceDTO>>> getResourcesByProject(@PathVariable Long projectId) {
-        return ResponseEntity.ok(resourceService.getResourcesByProject(projectId));
+    public ResponseEntity<ApiResponse<List<ResourceDTO>>> getResourcesByProject(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(resourceService.getResourcesByProject(projectId, cursor, limit));
     }
 
     @GetMapping("/{id}")
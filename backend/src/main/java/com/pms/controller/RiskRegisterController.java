@@ -17,13 +17,18 @@ public class RiskRegisterController {
     private final RiskRegisterService riskRegisterService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<RiskRegisterDTO>>> getAllRisks() {
-        return ResponseEntity.ok(riskRegisterService.getAllRisks());
+    public ResponseEntity<ApiResponse<List<RiskRegisterDTO>>> getAllRisks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(riskRegisterService.getAllRisks(cursor, limit));
     }
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<ApiResponse<List<RiskRegisterDTO>>> getRisksByProject(@PathVariable Long projectId) {
-        return ResponseEntity.ok(riskRegisterService.getRisksByProject(projectId));
+    public ResponseEntity<ApiResponse<List<RiskRegisterDTO>>> getRisksByProject(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(riskRegisterService.getRisksByProject(projectId, cursor, limit));
     }
 
     @GetMapping("/{id}")
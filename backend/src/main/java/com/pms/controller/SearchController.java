@@ -0,0 +1,32 @@
+package com.pms.controller;
+
+import com.pms.dto.ApiResponse;
+import com.pms.dto.SearchHitDTO;
+import com.pms.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SearchHitDTO>>> search(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(searchService.search(query, limit));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<SearchHitDTO>>> suggest(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(searchService.suggest(query, limit));
+    }
+}
@@ -1,5 +1,6 @@
 package com.pms.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,6 +15,9 @@ public class ApiResponse<T> {
     private String message;
     private T data;
     
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+    
     public static <T> ApiResponse<T> success(T data) {
         return ApiResponse.<T>builder()
                 .success(true)
@@ -30,6 +34,15 @@ public class ApiResponse<T> {
                 .build();
     }
     
+    public static <T> ApiResponse<T> success(T data, String message, String nextCursor) {
+        return ApiResponse.<T>builder()
+                .success(true)
+                .message(message)
+                .data(data)
+                .nextCursor(nextCursor)
+                .build();
+    }
+    
     public static <T> ApiResponse<T> error(String message) {
         return ApiResponse.<T>builder()
                 .success(false)
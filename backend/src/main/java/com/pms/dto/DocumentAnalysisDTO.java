@@ -0,0 +1,29 @@
+package com.pms.dto;
+
+import com.pms.analysis.DetectedFormat;
+import com.pms.entity.DocumentAnalysis;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentAnalysisDTO {
+    private Long documentId;
+    private DocumentAnalysis.AnalysisStatus status;
+    private DetectedFormat format;
+    private String mimeType;
+    private String sha256;
+    private Integer pageCount;
+    private Long lineCount;
+    private Long wordCount;
+    private Long characterCount;
+    private Boolean textTruncated;
+    private String errorMessage;
+    private LocalDateTime analyzedAt;
+}
@@ -0,0 +1,18 @@
+package com.pms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentSearchHitDTO {
+    private Long documentId;
+    private Long projectId;
+    private String fileName;
+    private Double score;
+    private String snippet;
+}
@@ -0,0 +1,21 @@
+package com.pms.dto;
+
+import com.pms.entity.DocumentUpload;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentUploadDTO {
+    private String uploadId;
+    private Long projectId;
+    private String fileName;
+    private Long totalSize;
+    private Long receivedBytes;
+    private DocumentUpload.UploadStatus status;
+    private Long documentId;
+}
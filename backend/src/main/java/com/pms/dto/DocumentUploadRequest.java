@@ -0,0 +1,23 @@
+package com.pms.dto;
+
+import com.pms.entity.Document;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentUploadRequest {
+    private Long projectId;
+    private String fileName;
+    private Long totalSize;
+    private Document.DocumentType documentType;
+    private String description;
+    private String category;
+    private String tags;
+    // Optional: lets content this organization already stores complete without a transfer
+    private String sha256;
+}
@@ -0,0 +1,28 @@
+package com.pms.dto;
+
+import com.pms.imports.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDTO {
+    private String jobId;
+    private String entityType;
+    private ImportJobStatus status;
+    private Long processedRows;
+    private Long importedRows;
+    private Long failedRows;
+    private Boolean errorsTruncated;
+    private List<ImportRowErrorDTO> errors;
+    private String failureMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
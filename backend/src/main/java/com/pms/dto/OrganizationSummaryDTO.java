@@ -0,0 +1,28 @@
+package com.pms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Status histograms of every module across an organization, in total and per
+ * project, for the dashboard. Records without a project only count towards
+ * the totals.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrganizationSummaryDTO {
+    private Long organizationId;
+    private LocalDateTime generatedAt;
+    private Map<String, Long> projectStatusCounts;
+    // Module name to status to record count
+    private Map<String, Map<String, Long>> statusCounts;
+    private List<ProjectStatusSummaryDTO> projects;
+}
@@ -0,0 +1,30 @@
+package com.pms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One day or week of a project's progress. The averages cover the entries
+ * reported in the period; the cumulative values add up every period from the
+ * first report, which is the S-curve when entries report incremental progress.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressPointDTO {
+    private LocalDate periodStart;
+    private Long entryCount;
+    private BigDecimal plannedProgress;
+    private BigDecimal actualProgress;
+    private BigDecimal variance;
+    private BigDecimal productivity;
+    private BigDecimal cumulativePlanned;
+    private BigDecimal cumulativeActual;
+    private BigDecimal cumulativeVariance;
+}
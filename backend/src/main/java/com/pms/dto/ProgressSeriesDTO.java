@@ -0,0 +1,22 @@
+package com.pms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressSeriesDTO {
+    private Long projectId;
+    private String period;
+    private String wbsCode;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<ProgressPointDTO> points;
+}
@@ -0,0 +1,21 @@
+package com.pms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectOverviewDTO {
+    private Long projectId;
+    private String projectName;
+    // Module name to record count
+    private Map<String, Long> totals;
+    // Module name to status to record count
+    private Map<String, Map<String, Long>> statusCounts;
+}
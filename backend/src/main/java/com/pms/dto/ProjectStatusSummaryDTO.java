@@ -0,0 +1,20 @@
+package com.pms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectStatusSummaryDTO {
+    private Long projectId;
+    private String projectName;
+    private String status;
+    // Module name to status to record count
+    private Map<String, Map<String, Long>> statusCounts;
+}
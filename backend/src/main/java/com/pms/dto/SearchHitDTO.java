@@ -0,0 +1,19 @@
+package com.pms.dto;
+
+import com.pms.search.SearchEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHitDTO {
+    private SearchEntityType entityType;
+    private Long entityId;
+    private Long projectId;
+    private String title;
+    private Double score;
+}
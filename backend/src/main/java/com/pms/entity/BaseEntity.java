@@ -3,6 +3,9 @@ package com.pms.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -17,8 +20,17 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public abstract class BaseEntity {
     
+    /**
+     * Per-entity sequence ({@code <entity>_SEQ}) with the pooled-lo optimizer:
+     * one sequence call hands out a block of ids, and unlike IDENTITY it lets
+     * Hibernate batch inserts.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pooled_lo_sequence")
+    @GenericGenerator(name = "pooled_lo_sequence", type = SequenceStyleGenerator.class, parameters = {
+        @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo"),
+        @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "500")
+    })
     private Long id;
     
     @CreatedDate
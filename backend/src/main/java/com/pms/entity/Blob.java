@@ -0,0 +1,33 @@
+package com.pms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Content-addressed stored bytes, shared by every document or photo with the
+ * same SHA-256. {@code refCount} tracks how many of them point here; the
+ * bytes are deleted when it drops to zero.
+ */
+@Entity
+@Table(name = "blobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Blob extends BaseEntity {
+    
+    @Column(unique = true, nullable = false, length = 64)
+    private String sha256;
+    
+    @Column(nullable = false)
+    private String storageKey;
+    
+    @Column(nullable = false)
+    private Long contentLength;
+    
+    private String mimeType;
+    
+    @Column(nullable = false)
+    private Integer refCount = 0;
+}
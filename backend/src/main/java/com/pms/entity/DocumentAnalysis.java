@@ -0,0 +1,73 @@
+package com.pms.entity;
+
+import com.pms.analysis.DetectedFormat;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Result of analyzing a {@link Document}'s stored bytes: detected format,
+ * page/line/word counts and where the extracted text is kept. Analysis runs
+ * in the background after upload, so a row starts out {@code PENDING}.
+ */
+@Entity
+@Table(name = "document_analyses", indexes = {
+    @Index(name = "idx_document_analyses_sha256", columnList = "sha256, status"),
+    @Index(name = "idx_document_analyses_status", columnList = "status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentAnalysis extends BaseEntity {
+    
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "document_id", nullable = false, unique = true)
+    private Document document;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "organization_id", nullable = false)
+    private Organization organization;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AnalysisStatus status = AnalysisStatus.PENDING;
+    
+    @Column(nullable = false, length = 64)
+    private String sha256;
+    
+    @Enumerated(EnumType.STRING)
+    private DetectedFormat format;
+    
+    private String mimeType;
+    
+    private Integer pageCount;
+    
+    private Long lineCount;
+    
+    private Long wordCount;
+    
+    private Long characterCount;
+    
+    private Boolean textTruncated;
+    
+    // Extracted plain text (UTF-8) in the storage backend, shared by documents with the same content
+    private String textStorageKey;
+    
+    @Column(length = 1000)
+    private String errorMessage;
+    
+    private LocalDateTime analyzedAt;
+    
+    // Set once the extracted text is in an on-disk index segment; null means it still has to be fed in
+    private LocalDateTime indexedAt;
+    
+    public enum AnalysisStatus {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,33 @@
+package com.pms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Stored bytes behind an uploaded {@link Document}: where they live, how
+ * large they are and their SHA-256 digest (hex).
+ */
+@Entity
+@Table(name = "document_contents")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentContent extends BaseEntity {
+    
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "document_id", nullable = false, unique = true)
+    private Document document;
+    
+    @Column(nullable = false)
+    private String storageKey;
+    
+    @Column(nullable = false)
+    private Long contentLength;
+    
+    @Column(nullable = false, length = 64)
+    private String sha256;
+    
+    private String mimeType;
+}
@@ -0,0 +1,67 @@
+package com.pms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A resumable upload in progress. Bytes are staged under {@code stagingKey}
+ * and become a {@link Document} once every byte has been received.
+ */
+@Entity
+@Table(name = "document_uploads", indexes = {
+    @Index(name = "idx_document_uploads_org_token", columnList = "organization_id, upload_token")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentUpload extends BaseEntity {
+    
+    @Column(name = "upload_token", unique = true, nullable = false, length = 36)
+    private String uploadToken;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "organization_id", nullable = false)
+    private Organization organization;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    private Project project;
+    
+    @Column(nullable = false)
+    private String fileName;
+    
+    @Enumerated(EnumType.STRING)
+    private Document.DocumentType documentType;
+    
+    @Column(columnDefinition = "TEXT")
+    private String description;
+    
+    private String category;
+    
+    @Column(columnDefinition = "TEXT")
+    private String tags;
+    
+    @Column(nullable = false)
+    private Long totalSize;
+    
+    @Column(nullable = false)
+    private Long receivedBytes = 0L;
+    
+    @Column(nullable = false)
+    private String stagingKey;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UploadStatus status = UploadStatus.IN_PROGRESS;
+    
+    private Long documentId;
+    
+    public enum UploadStatus {
+        IN_PROGRESS,
+        COMPLETED,
+        ABORTED,
+        EXPIRED
+    }
+}
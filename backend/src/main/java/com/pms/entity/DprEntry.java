@@ -7,7 +7,10 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "dpr_entries")
+@Table(name = "dpr_entries", indexes = {
+    @Index(name = "idx_dpr_entries_org_id", columnList = "organization_id, id"),
+    @Index(name = "idx_dpr_entries_org_project", columnList = "organization_id, project_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
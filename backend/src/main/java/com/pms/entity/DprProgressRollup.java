@@ -0,0 +1,88 @@
+package com.pms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Running totals of a project's DPR entries for one day or ISO week, kept up
+ * to date as entries are written so progress charts never scan the entries.
+ * {@code wbsCode} is empty on the project-wide row; entries with a WBS code
+ * also count towards that code's own row. Averages are the sums divided by
+ * the matching counts, since any of the measures may be missing on an entry.
+ */
+@Entity
+@Table(name = "dpr_progress_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_dpr_progress_rollups_key", columnNames = {"project_id", "period", "wbs_code", "period_start"})
+}, indexes = {
+    @Index(name = "idx_dpr_progress_rollups_org_project", columnList = "organization_id, project_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DprProgressRollup extends BaseEntity {
+    
+    public static final String ALL_WBS_CODES = "";
+    
+    // Plain ids rather than associations: rows are only read and written by key
+    @Column(name = "organization_id", nullable = false)
+    private Long organizationId;
+    
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Period period;
+    
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+    
+    @Column(name = "wbs_code", nullable = false)
+    private String wbsCode;
+    
+    @Column(nullable = false)
+    private Long entryCount;
+    
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal plannedTotal;
+    
+    @Column(nullable = false)
+    private Long plannedCount;
+    
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal actualTotal;
+    
+    @Column(nullable = false)
+    private Long actualCount;
+    
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal varianceTotal;
+    
+    @Column(nullable = false)
+    private Long varianceCount;
+    
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal productivityTotal;
+    
+    @Column(nullable = false)
+    private Long productivityCount;
+    
+    public enum Period {
+        DAY,
+        WEEK;
+        
+        /**
+         * First day of the period containing the date (weeks start on Monday)
+         */
+        public LocalDate start(LocalDate date) {
+            return this == DAY ? date : date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+    }
+}
@@ -7,7 +7,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "inventory_items")
+@Table(name = "inventory_items", indexes = {
+    @Index(name = "idx_inventory_items_org_id", columnList = "organization_id, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
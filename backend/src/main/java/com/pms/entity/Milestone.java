@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "milestones")
+@Table(name = "milestones", indexes = {
+    @Index(name = "idx_milestones_org_id", columnList = "organization_id, id"),
+    @Index(name = "idx_milestones_org_project", columnList = "organization_id, project_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
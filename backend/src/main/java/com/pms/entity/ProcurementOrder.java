@@ -7,7 +7,10 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "procurement_orders")
+@Table(name = "procurement_orders", indexes = {
+    @Index(name = "idx_procurement_orders_org_id", columnList = "organization_id, id"),
+    @Index(name = "idx_procurement_orders_org_project", columnList = "organization_id, project_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,12 +1,17 @@
 package com.pms.entity;
 
+import com.pms.util.GeoHash;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "progress_photos")
+@Table(name = "progress_photos", indexes = {
+    @Index(name = "idx_progress_photos_org_id", columnList = "organization_id, id"),
+    @Index(name = "idx_progress_photos_org_project", columnList = "organization_id, project_id"),
+    @Index(name = "idx_progress_photos_project_geohash", columnList = "project_id, geohash")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -31,6 +36,10 @@ public class ProgressPhoto extends BaseEntity {
     
     private Double longitude;
     
+    // Derived from latitude/longitude; nearby photos share a prefix
+    @Column(length = GeoHash.PRECISION)
+    private String geohash;
+    
     @Column(nullable = false)
     private LocalDate takenDate;
     
@@ -54,4 +63,14 @@ public class ProgressPhoto extends BaseEntity {
     private Long fileSize;
     
     private String mimeType;
+    
+    // SHA-256 of the uploaded image in the blob store, null while only photoUrl is known
+    @Column(length = 64)
+    private String contentHash;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onLocationChange() {
+        geohash = latitude != null && longitude != null ? GeoHash.encode(latitude, longitude) : null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.pms.exception;
+
+/**
+ * Thrown when a request is turned away because the server is saturated or
+ * shutting down. Answered with 503 and a {@code Retry-After} header.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    
+    private static final long DEFAULT_RETRY_AFTER_SECONDS = 1;
+    
+    private final long retryAfterSeconds;
+    
+    public ServiceUnavailableException(String message) {
+        this(message, DEFAULT_RETRY_AFTER_SECONDS);
+    }
+    
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
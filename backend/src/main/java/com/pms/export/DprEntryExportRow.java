@@ -0,0 +1,64 @@
+package com.pms.export;
+
+import com.pms.entity.DprEntry;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Flat, association-free view of a DPR entry as written by the export
+ * endpoints. Only the project id is read from the lazy project reference,
+ * so rendering a row never triggers an extra query.
+ */
+public record DprEntryExportRow(
+        Long id,
+        Long projectId,
+        LocalDate reportDate,
+        String workItem,
+        String wbsCode,
+        BigDecimal plannedProgress,
+        BigDecimal actualProgress,
+        BigDecimal variance,
+        Integer resourcesUsed,
+        BigDecimal productivity,
+        Integer laborCount,
+        Integer equipmentCount,
+        String weatherConditions,
+        String remarks,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public static final List<String> CSV_HEADER = List.of(
+            "id", "projectId", "reportDate", "workItem", "wbsCode", "plannedProgress", "actualProgress",
+            "variance", "resourcesUsed", "productivity", "laborCount", "equipmentCount", "weatherConditions",
+            "remarks", "createdAt", "updatedAt");
+
+    public static DprEntryExportRow from(DprEntry entry) {
+        return new DprEntryExportRow(
+                entry.getId(),
+                entry.getProject().getId(),
+                entry.getReportDate(),
+                entry.getWorkItem(),
+                entry.getWbsCode(),
+                entry.getPlannedProgress(),
+                entry.getActualProgress(),
+                entry.getVariance(),
+                entry.getResourcesUsed(),
+                entry.getProductivity(),
+                entry.getLaborCount(),
+                entry.getEquipmentCount(),
+                entry.getWeatherConditions(),
+                entry.getRemarks(),
+                entry.getCreatedAt(),
+                entry.getUpdatedAt());
+    }
+
+    public List<Object> csvValues() {
+        return Arrays.asList(id, projectId, reportDate, workItem, wbsCode, plannedProgress, actualProgress,
+                variance, resourcesUsed, productivity, laborCount, equipmentCount, weatherConditions,
+                remarks, createdAt, updatedAt);
+    }
+}
@@ -1,6 +1,10 @@
 package com.pms.filter;
 
 import com.pms.context.OrganizationContext;
+import com.pms.entity.OrganizationMember;
+import com.pms.security.MembershipClaim;
+import com.pms.security.VerifiedToken;
+import com.pms.security.TokenAuthenticationFilter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,7 +14,16 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
 
+/**
+ * Sets the organization context from the X-Organization-Id header. For
+ * requests carrying a bearer token the header must name an organization in
+ * the token's membership claim ({@link MembershipClaim}). The token
+ * verified by {@link TokenAuthenticationFilter} is reused, so the claim is
+ * checked in memory without touching the database.
+ */
 @Slf4j
 @Component
 public class OrganizationContextFilter extends OncePerRequestFilter {
@@ -19,38 +32,70 @@ public class OrganizationContextFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         
+        String orgIdHeader = request.getHeader("X-Organization-Id");
+        
+        // Skip for auth endpoints
+        if (isPublicEndpoint(request.getRequestURI())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        if (orgIdHeader == null || orgIdHeader.isEmpty()) {
+            log.warn("Missing X-Organization-Id header for protected endpoint: {}", request.getRequestURI());
+            // For now, allow requests without org ID (will be enforced at service layer)
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        Long organizationId;
         try {
-            String orgIdHeader = request.getHeader("X-Organization-Id");
-            
-            // Skip for auth endpoints
-            if (isPublicEndpoint(request.getRequestURI())) {
+            organizationId = Long.parseLong(orgIdHeader);
+        } catch (NumberFormatException e) {
+            log.error("Invalid X-Organization-Id header: {}", orgIdHeader);
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid X-Organization-Id header");
+            return;
+        }
+        
+        String token = TokenAuthenticationFilter.bearerToken(request);
+        if (token != null) {
+            Optional<VerifiedToken> verified = Optional.ofNullable(
+                    (VerifiedToken) request.getAttribute(TokenAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE));
+            if (verified.isEmpty()) {
+                // Rejected by the authentication filter; leave the context unset
                 filterChain.doFilter(request, response);
                 return;
             }
-            
-            if (orgIdHeader != null && !orgIdHeader.isEmpty()) {
-                try {
-                    Long organizationId = Long.parseLong(orgIdHeader);
-                    OrganizationContext.setCurrentOrganizationId(organizationId);
-                    log.debug("Organization context set to: {}", organizationId);
-                } catch (NumberFormatException e) {
-                    log.error("Invalid X-Organization-Id header: {}", orgIdHeader);
-                    response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid X-Organization-Id header");
-                    return;
-                }
-            } else {
-                log.warn("Missing X-Organization-Id header for protected endpoint: {}", request.getRequestURI());
-                // For now, allow requests without org ID (will be enforced at service layer)
+            Map<Long, OrganizationMember.MemberRole> memberships = verified.get().memberships();
+            if (memberships == null) {
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED,
+                        "Token has no organization memberships, sign in again");
+                return;
             }
-            
-            filterChain.doFilter(request, response);
-        } finally {
-            OrganizationContext.clear();
+            if (!memberships.containsKey(organizationId)) {
+                log.warn("Rejected request to organization {} not in token memberships: {}",
+                        organizationId, request.getRequestURI());
+                response.sendError(HttpServletResponse.SC_FORBIDDEN, "Not a member of organization " + organizationId);
+                return;
+            }
+        }
+        
+        request.setAttribute(OrganizationContext.REQUEST_ATTRIBUTE, organizationId);
+        log.debug("Organization context set to: {}", organizationId);
+        // Bound for the rest of the chain only, and unbound again however it ends
+        try {
+            OrganizationContext.callWith(organizationId, () -> {
+                filterChain.doFilter(request, response);
+                return null;
+            });
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
         }
     }
     
     private boolean isPublicEndpoint(String uri) {
-        return uri.startsWith("/api/auth/") || 
+        return uri.startsWith("/api/auth/") ||
                uri.startsWith("/h2-console") ||
                uri.startsWith("/actuator") ||
                uri.startsWith("/swagger-ui") ||
@@ -0,0 +1,41 @@
+package com.pms.imports;
+
+import com.pms.entity.Organization;
+import com.pms.entity.Project;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Entity-specific half of a CSV import: how to turn a record into an entity,
+ * which column must be unique, and how to persist a chunk.
+ */
+public interface CsvImportDefinition<T> {
+
+    String getEntityType();
+
+    /**
+     * Build an unsaved entity from a record. Must be side-effect free, since
+     * records of a chunk are parsed in parallel.
+     * @throws IllegalArgumentException with a user-facing message if the record is invalid
+     */
+    T parse(Map<String, String> row);
+
+    /**
+     * @return Project id referenced by the record, or null if none
+     */
+    Long parseProjectId(Map<String, String> row);
+
+    String uniqueKey(T entity);
+
+    /**
+     * @return Which of the given keys are already taken, in one query
+     */
+    Set<String> findExistingKeys(Collection<String> keys);
+
+    void bind(T entity, Organization organization, Project project);
+
+    void saveAll(List<T> entities);
+}
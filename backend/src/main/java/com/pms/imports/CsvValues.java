@@ -0,0 +1,90 @@
+package com.pms.imports;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Typed accessors for a CSV record. Every failure is an
+ * {@link IllegalArgumentException} whose message is reported for the row.
+ */
+final class CsvValues {
+
+    private CsvValues() {
+        // Private constructor to prevent instantiation
+    }
+
+    static String optionalString(Map<String, String> row, String column) {
+        String value = row.get(column.toLowerCase(Locale.ROOT));
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    static String requiredString(Map<String, String> row, String column) {
+        String value = optionalString(row, column);
+        if (value == null) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        return value;
+    }
+
+    static BigDecimal optionalDecimal(Map<String, String> row, String column) {
+        String value = optionalString(row, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    static BigDecimal requiredDecimal(Map<String, String> row, String column) {
+        BigDecimal value = optionalDecimal(row, column);
+        if (value == null) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        return value;
+    }
+
+    static Long optionalLong(Map<String, String> row, String column) {
+        String value = optionalString(row, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not an integer: " + value);
+        }
+    }
+
+    static LocalDate optionalDate(Map<String, String> row, String column) {
+        String value = optionalString(row, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(column + " is not an ISO date (yyyy-MM-dd): " + value);
+        }
+    }
+
+    static <E extends Enum<E>> E optionalEnum(Map<String, String> row, String column, Class<E> type) {
+        String value = optionalString(row, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(column + " has unknown value: " + value);
+        }
+    }
+}
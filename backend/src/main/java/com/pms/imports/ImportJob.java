@@ -0,0 +1,96 @@
+package com.pms.imports;
+
+import com.pms.dto.ImportJobDTO;
+import com.pms.dto.ImportRowErrorDTO;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one CSV import. Counters are updated by the worker thread and
+ * read by status requests; only the first {@link #MAX_ERRORS} row errors are
+ * kept.
+ */
+public class ImportJob {
+
+    static final int MAX_ERRORS = 1000;
+
+    @Getter
+    private final String jobId = UUID.randomUUID().toString();
+    private final String entityType;
+    @Getter
+    private final Long organizationId;
+    private final AtomicLong processedRows = new AtomicLong();
+    private final AtomicLong importedRows = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+    private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+    private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+    private volatile String failureMessage;
+    private volatile LocalDateTime startedAt;
+    @Getter
+    private volatile LocalDateTime finishedAt;
+
+    public ImportJob(String entityType, Long organizationId) {
+        this.entityType = entityType;
+        this.organizationId = organizationId;
+    }
+
+    public void start() {
+        startedAt = LocalDateTime.now();
+        status = ImportJobStatus.RUNNING;
+    }
+
+    public void complete() {
+        finishedAt = LocalDateTime.now();
+        status = ImportJobStatus.COMPLETED;
+    }
+
+    public void fail(String message) {
+        failureMessage = message;
+        finishedAt = LocalDateTime.now();
+        status = ImportJobStatus.FAILED;
+    }
+
+    public void recordImported(int rows) {
+        processedRows.addAndGet(rows);
+        importedRows.addAndGet(rows);
+    }
+
+    public void recordError(long rowNumber, String message) {
+        processedRows.incrementAndGet();
+        failedRows.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(new ImportRowErrorDTO(rowNumber, message));
+            }
+        }
+    }
+
+    public boolean isFinished() {
+        return status == ImportJobStatus.COMPLETED || status == ImportJobStatus.FAILED;
+    }
+
+    public ImportJobDTO toDTO() {
+        List<ImportRowErrorDTO> errorSnapshot;
+        synchronized (errors) {
+            errorSnapshot = new ArrayList<>(errors);
+        }
+        return ImportJobDTO.builder()
+                .jobId(jobId)
+                .entityType(entityType)
+                .status(status)
+                .processedRows(processedRows.get())
+                .importedRows(importedRows.get())
+                .failedRows(failedRows.get())
+                .errorsTruncated(failedRows.get() > errorSnapshot.size())
+                .errors(errorSnapshot)
+                .failureMessage(failureMessage)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
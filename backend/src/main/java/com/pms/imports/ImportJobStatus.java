@@ -0,0 +1,8 @@
+package com.pms.imports;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,21 @@
+package com.pms.imports;
+
+/**
+ * One parsed CSV record: either an unsaved entity, or the reason it was rejected.
+ * @param rowNumber 1-based data row number (the header is row 0)
+ * @param projectId Project referenced by the row, resolved against the tenant before saving
+ */
+public record ImportRow<T>(long rowNumber, T entity, Long projectId, String error) {
+
+    public static <T> ImportRow<T> valid(long rowNumber, T entity, Long projectId) {
+        return new ImportRow<>(rowNumber, entity, projectId, null);
+    }
+
+    public static <T> ImportRow<T> invalid(long rowNumber, String error) {
+        return new ImportRow<>(rowNumber, null, null, error);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,84 @@
+package com.pms.imports;
+
+import com.pms.entity.InventoryItem;
+import com.pms.entity.Organization;
+import com.pms.entity.Project;
+import com.pms.repository.InventoryItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.pms.imports.CsvValues.optionalDate;
+import static com.pms.imports.CsvValues.optionalDecimal;
+import static com.pms.imports.CsvValues.optionalEnum;
+import static com.pms.imports.CsvValues.optionalString;
+import static com.pms.imports.CsvValues.requiredDecimal;
+import static com.pms.imports.CsvValues.requiredString;
+
+@Component
+@RequiredArgsConstructor
+public class InventoryItemImportDefinition implements CsvImportDefinition<InventoryItem> {
+
+    private final InventoryItemRepository inventoryItemRepository;
+
+    @Override
+    public String getEntityType() {
+        return "INVENTORY_ITEM";
+    }
+
+    @Override
+    public InventoryItem parse(Map<String, String> row) {
+        InventoryItem item = new InventoryItem();
+        item.setItemCode(requiredString(row, "itemCode"));
+        item.setItemName(requiredString(row, "itemName"));
+        item.setDescription(optionalString(row, "description"));
+        item.setCategory(optionalString(row, "category"));
+        item.setCurrentStock(requiredDecimal(row, "currentStock"));
+        item.setUnit(requiredString(row, "unit"));
+        item.setReorderLevel(optionalDecimal(row, "reorderLevel"));
+        item.setMaxStockLevel(optionalDecimal(row, "maxStockLevel"));
+        item.setUnitCost(optionalDecimal(row, "unitCost"));
+        item.setLocation(optionalString(row, "location"));
+        item.setSupplier(optionalString(row, "supplier"));
+        InventoryItem.StockStatus status = optionalEnum(row, "status", InventoryItem.StockStatus.class);
+        item.setStatus(status != null ? status : InventoryItem.StockStatus.ADEQUATE);
+        if (item.getCurrentStock().compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("currentStock must not be negative");
+        }
+        LocalDate lastRestocked = optionalDate(row, "lastRestocked");
+        item.setLastRestocked(lastRestocked != null ? lastRestocked.atStartOfDay() : null);
+        item.setNotes(optionalString(row, "notes"));
+        return item;
+    }
+
+    @Override
+    public Long parseProjectId(Map<String, String> row) {
+        return null;
+    }
+
+    @Override
+    public String uniqueKey(InventoryItem item) {
+        return item.getItemCode();
+    }
+
+    @Override
+    public Set<String> findExistingKeys(Collection<String> keys) {
+        return inventoryItemRepository.findExistingItemCodes(keys);
+    }
+
+    @Override
+    public void bind(InventoryItem item, Organization organization, Project project) {
+        item.setOrganization(organization);
+    }
+
+    @Override
+    public void saveAll(List<InventoryItem> items) {
+        inventoryItemRepository.saveAll(items);
+    }
+}
@@ -0,0 +1,89 @@
+package com.pms.imports;
+
+import com.pms.entity.Organization;
+import com.pms.entity.ProcurementOrder;
+import com.pms.entity.Project;
+import com.pms.repository.ProcurementOrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.pms.imports.CsvValues.optionalDate;
+import static com.pms.imports.CsvValues.optionalDecimal;
+import static com.pms.imports.CsvValues.optionalEnum;
+import static com.pms.imports.CsvValues.optionalLong;
+import static com.pms.imports.CsvValues.optionalString;
+import static com.pms.imports.CsvValues.requiredDecimal;
+import static com.pms.imports.CsvValues.requiredString;
+
+@Component
+@RequiredArgsConstructor
+public class ProcurementOrderImportDefinition implements CsvImportDefinition<ProcurementOrder> {
+
+    private final ProcurementOrderRepository procurementOrderRepository;
+
+    @Override
+    public String getEntityType() {
+        return "PROCUREMENT_ORDER";
+    }
+
+    @Override
+    public ProcurementOrder parse(Map<String, String> row) {
+        ProcurementOrder order = new ProcurementOrder();
+        order.setPoNumber(requiredString(row, "poNumber"));
+        order.setSupplierName(requiredString(row, "supplierName"));
+        order.setSupplierContact(optionalString(row, "supplierContact"));
+        order.setSupplierEmail(optionalString(row, "supplierEmail"));
+        order.setMaterialName(requiredString(row, "materialName"));
+        order.setDescription(optionalString(row, "description"));
+        order.setQuantity(requiredDecimal(row, "quantity"));
+        order.setUnit(requiredString(row, "unit"));
+        order.setUnitPrice(requiredDecimal(row, "unitPrice"));
+        BigDecimal totalAmount = optionalDecimal(row, "totalAmount");
+        order.setTotalAmount(totalAmount != null ? totalAmount : order.getQuantity().multiply(order.getUnitPrice()));
+        LocalDate orderDate = optionalDate(row, "orderDate");
+        order.setOrderDate(orderDate != null ? orderDate : LocalDate.now());
+        order.setExpectedDeliveryDate(optionalDate(row, "expectedDeliveryDate"));
+        order.setActualDeliveryDate(optionalDate(row, "actualDeliveryDate"));
+        ProcurementOrder.OrderStatus status = optionalEnum(row, "status", ProcurementOrder.OrderStatus.class);
+        order.setStatus(status != null ? status : ProcurementOrder.OrderStatus.DRAFT);
+        order.setTerms(optionalString(row, "terms"));
+        order.setNotes(optionalString(row, "notes"));
+        if (order.getQuantity().signum() <= 0) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+        return order;
+    }
+
+    @Override
+    public Long parseProjectId(Map<String, String> row) {
+        return optionalLong(row, "projectId");
+    }
+
+    @Override
+    public String uniqueKey(ProcurementOrder order) {
+        return order.getPoNumber();
+    }
+
+    @Override
+    public Set<String> findExistingKeys(Collection<String> keys) {
+        return procurementOrderRepository.findExistingPoNumbers(keys);
+    }
+
+    @Override
+    public void bind(ProcurementOrder order, Organization organization, Project project) {
+        order.setOrganization(organization);
+        order.setProject(project);
+    }
+
+    @Override
+    public void saveAll(List<ProcurementOrder> orders) {
+        procurementOrderRepository.saveAll(orders);
+    }
+}
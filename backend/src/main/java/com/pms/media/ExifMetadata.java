@@ -0,0 +1,16 @@
+package com.pms.media;
+
+import java.time.LocalDateTime;
+
+/**
+ * Capture metadata read from an image's EXIF header. Fields the camera did
+ * not record are null.
+ */
+public record ExifMetadata(Double latitude, Double longitude, LocalDateTime takenAt) {
+
+    public static final ExifMetadata EMPTY = new ExifMetadata(null, null, null);
+
+    public boolean hasLocation() {
+        return latitude != null && longitude != null;
+    }
+}
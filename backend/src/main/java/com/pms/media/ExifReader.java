@@ -0,0 +1,219 @@
+package com.pms.media;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Minimal EXIF reader for JPEG files. It walks the marker segments at the
+ * start of the file and stops at the start of the compressed image data, so
+ * only the header segments are read (at most a few kilobytes in practice,
+ * never the pixels). Only the GPS position and the capture time are read.
+ * Malformed or missing metadata yields {@link ExifMetadata#EMPTY}.
+ */
+public final class ExifReader {
+
+    private static final int MARKER_SOS = 0xDA;
+    private static final int MARKER_EOI = 0xD9;
+    private static final int MARKER_APP1 = 0xE1;
+    private static final int MAX_SEGMENTS = 64;
+    private static final byte[] EXIF_HEADER = {'E', 'x', 'i', 'f', 0, 0};
+
+    private static final int TAG_DATE_TIME = 0x0132;
+    private static final int TAG_EXIF_IFD = 0x8769;
+    private static final int TAG_GPS_IFD = 0x8825;
+    private static final int TAG_DATE_TIME_ORIGINAL = 0x9003;
+    private static final int TAG_GPS_LATITUDE_REF = 0x0001;
+    private static final int TAG_GPS_LATITUDE = 0x0002;
+    private static final int TAG_GPS_LONGITUDE_REF = 0x0003;
+    private static final int TAG_GPS_LONGITUDE = 0x0004;
+
+    private static final int TYPE_ASCII = 2;
+    private static final int TYPE_RATIONAL = 5;
+    private static final int[] TYPE_SIZES = {0, 1, 1, 2, 4, 8, 1, 1, 2, 4, 8, 4, 8};
+
+    private static final DateTimeFormatter EXIF_DATE_TIME = DateTimeFormatter.ofPattern("yyyy:MM:dd HH:mm:ss");
+
+    private ExifReader() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static ExifMetadata read(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(4);
+        long position = 0;
+        if (!readFully(channel, header, position) || (header.getShort(0) & 0xFFFF) != 0xFFD8) {
+            return ExifMetadata.EMPTY;
+        }
+        position = 2;
+        for (int segment = 0; segment < MAX_SEGMENTS; segment++) {
+            header.clear();
+            if (!readFully(channel, header, position) || (header.get(0) & 0xFF) != 0xFF) {
+                return ExifMetadata.EMPTY;
+            }
+            int marker = header.get(1) & 0xFF;
+            if (marker == MARKER_SOS || marker == MARKER_EOI) {
+                return ExifMetadata.EMPTY;
+            }
+            int length = header.getShort(2) & 0xFFFF;
+            if (length < 2) {
+                return ExifMetadata.EMPTY;
+            }
+            if (marker == MARKER_APP1 && length > 2 + EXIF_HEADER.length) {
+                ByteBuffer body = ByteBuffer.allocate(length - 2);
+                if (!readFully(channel, body, position + 4)) {
+                    return ExifMetadata.EMPTY;
+                }
+                if (startsWithExifHeader(body)) {
+                    return parseTiff(body.position(EXIF_HEADER.length).slice());
+                }
+            }
+            position += 2 + length;
+        }
+        return ExifMetadata.EMPTY;
+    }
+
+    private static ExifMetadata parseTiff(ByteBuffer tiff) {
+        try {
+            if (tiff.get(0) == 'I' && tiff.get(1) == 'I') {
+                tiff.order(ByteOrder.LITTLE_ENDIAN);
+            } else if (tiff.get(0) != 'M' || tiff.get(1) != 'M') {
+                return ExifMetadata.EMPTY;
+            }
+            if (tiff.getShort(2) != 42) {
+                return ExifMetadata.EMPTY;
+            }
+            int ifd0 = tiff.getInt(4);
+            int exifIfd = findEntry(tiff, ifd0, TAG_EXIF_IFD);
+            int gpsIfd = findEntry(tiff, ifd0, TAG_GPS_IFD);
+
+            String takenAt = null;
+            if (exifIfd >= 0) {
+                takenAt = readAscii(tiff, findEntry(tiff, tiff.getInt(exifIfd + 8), TAG_DATE_TIME_ORIGINAL));
+            }
+            if (takenAt == null) {
+                takenAt = readAscii(tiff, findEntry(tiff, ifd0, TAG_DATE_TIME));
+            }
+
+            Double latitude = null;
+            Double longitude = null;
+            if (gpsIfd >= 0) {
+                int gps = tiff.getInt(gpsIfd + 8);
+                latitude = readCoordinate(tiff, findEntry(tiff, gps, TAG_GPS_LATITUDE),
+                        readAscii(tiff, findEntry(tiff, gps, TAG_GPS_LATITUDE_REF)), "S", 90);
+                longitude = readCoordinate(tiff, findEntry(tiff, gps, TAG_GPS_LONGITUDE),
+                        readAscii(tiff, findEntry(tiff, gps, TAG_GPS_LONGITUDE_REF)), "W", 180);
+                if (latitude == null || longitude == null) {
+                    latitude = null;
+                    longitude = null;
+                }
+            }
+            return new ExifMetadata(latitude, longitude, parseDateTime(takenAt));
+        } catch (IndexOutOfBoundsException e) {
+            return ExifMetadata.EMPTY;
+        }
+    }
+
+    /**
+     * @return Offset of the IFD entry with the given tag, or -1
+     */
+    private static int findEntry(ByteBuffer tiff, int ifdOffset, int tag) {
+        if (ifdOffset <= 0 || ifdOffset + 2 > tiff.limit()) {
+            return -1;
+        }
+        int count = tiff.getShort(ifdOffset) & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            int entry = ifdOffset + 2 + i * 12;
+            if ((tiff.getShort(entry) & 0xFFFF) == tag) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return Offset of an entry's value, inline or pointed to, or -1 if the type does not match
+     */
+    private static int valueOffset(ByteBuffer tiff, int entry, int expectedType) {
+        int type = tiff.getShort(entry + 2) & 0xFFFF;
+        if (type != expectedType) {
+            return -1;
+        }
+        long size = (long) TYPE_SIZES[type] * (tiff.getInt(entry + 4) & 0xFFFFFFFFL);
+        return size <= 4 ? entry + 8 : tiff.getInt(entry + 8);
+    }
+
+    private static String readAscii(ByteBuffer tiff, int entry) {
+        if (entry < 0) {
+            return null;
+        }
+        int offset = valueOffset(tiff, entry, TYPE_ASCII);
+        int count = tiff.getInt(entry + 4);
+        if (offset < 0 || count <= 0 || count > 256) {
+            return null;
+        }
+        byte[] bytes = new byte[count];
+        tiff.get(offset, bytes);
+        int end = 0;
+        while (end < count && bytes[end] != 0) {
+            end++;
+        }
+        return new String(bytes, 0, end, StandardCharsets.US_ASCII).trim();
+    }
+
+    private static Double readCoordinate(ByteBuffer tiff, int entry, String ref, String negativeRef, double limit) {
+        if (entry < 0 || ref == null || tiff.getInt(entry + 4) != 3) {
+            return null;
+        }
+        int offset = valueOffset(tiff, entry, TYPE_RATIONAL);
+        if (offset < 0) {
+            return null;
+        }
+        double degrees = rational(tiff, offset) + rational(tiff, offset + 8) / 60 + rational(tiff, offset + 16) / 3600;
+        if (!Double.isFinite(degrees) || degrees > limit) {
+            return null;
+        }
+        return negativeRef.equalsIgnoreCase(ref) ? -degrees : degrees;
+    }
+
+    private static double rational(ByteBuffer tiff, int offset) {
+        long numerator = tiff.getInt(offset) & 0xFFFFFFFFL;
+        long denominator = tiff.getInt(offset + 4) & 0xFFFFFFFFL;
+        return denominator == 0 ? Double.NaN : (double) numerator / denominator;
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value, EXIF_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static boolean startsWithExifHeader(ByteBuffer body) {
+        for (int i = 0; i < EXIF_HEADER.length; i++) {
+            if (body.get(i) != EXIF_HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+}
@@ -0,0 +1,62 @@
+package com.pms.media;
+
+import javax.imageio.stream.ImageInputStreamImpl;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Random-access {@link javax.imageio.stream.ImageInputStream} over a
+ * {@link FileChannel}. Image readers seek within the file instead of ImageIO
+ * caching the whole stream in memory or in a temp file.
+ */
+class FileChannelImageInputStream extends ImageInputStreamImpl {
+
+    private final FileChannel channel;
+    private final ByteBuffer single = ByteBuffer.allocate(1);
+
+    FileChannelImageInputStream(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkClosed();
+        bitOffset = 0;
+        single.clear();
+        if (channel.read(single, streamPos) <= 0) {
+            return -1;
+        }
+        streamPos++;
+        return single.get(0) & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        checkClosed();
+        bitOffset = 0;
+        if (len == 0) {
+            return 0;
+        }
+        int read = channel.read(ByteBuffer.wrap(b, off, len), streamPos);
+        if (read > 0) {
+            streamPos += read;
+        }
+        return read;
+    }
+
+    @Override
+    public long length() {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            return -1L;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        channel.close();
+    }
+}
@@ -0,0 +1,142 @@
+package com.pms.media;
+
+import com.pms.entity.ProgressPhoto;
+import com.pms.repository.ProgressPhotoRepository;
+import com.pms.util.GeoHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory spatial index of geotagged progress photos, one geohash grid per
+ * project. A project's grid is loaded from the {@code geohash} column on its
+ * first query and then kept current by {@code ProgressPhotoService} after each
+ * committed write. At most {@code photos.geo-index.max-projects} grids are
+ * held; beyond that an arbitrary one is dropped and reloaded when next used.
+ * Photos geotagged before the column existed get their geohash filled in at
+ * startup.
+ */
+@Slf4j
+@Component
+public class PhotoGeoIndex {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final ProgressPhotoRepository progressPhotoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxProjects;
+    private final Map<Long, ProjectPhotoGrid> projects = new ConcurrentHashMap<>();
+
+    public record Match(Long photoId, double distanceMeters) {
+    }
+
+    public PhotoGeoIndex(ProgressPhotoRepository progressPhotoRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${photos.geo-index.max-projects:1000}") int maxProjects) {
+        this.progressPhotoRepository = progressPhotoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxProjects = maxProjects;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillGeohashes() {
+        long afterId = 0L;
+        int updated = 0;
+        while (true) {
+            long after = afterId;
+            List<ProgressPhoto> page;
+            try {
+                page = transactionTemplate.execute(status -> {
+                    List<ProgressPhoto> photos = progressPhotoRepository.findPageWithoutGeohash(after,
+                            PageRequest.of(0, BACKFILL_BATCH_SIZE));
+                    photos.forEach(photo -> photo.setGeohash(GeoHash.encode(photo.getLatitude(), photo.getLongitude())));
+                    return photos;
+                });
+            } catch (RuntimeException e) {
+                log.warn("Could not backfill photo geohashes after id {}", after, e);
+                return;
+            }
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+            updated += page.size();
+            afterId = page.get(page.size() - 1).getId();
+        }
+        if (updated > 0) {
+            // Grids loaded meanwhile were read without these photos
+            projects.clear();
+            log.info("Backfilled geohashes of {} progress photos", updated);
+        }
+    }
+
+    /**
+     * Photos of a project within {@code radiusMeters} of a point, nearest first
+     */
+    public List<Match> near(Long projectId, double latitude, double longitude, double radiusMeters, int limit) {
+        ProjectPhotoGrid grid = projects.get(projectId);
+        if (grid == null) {
+            evictIfFull();
+            // Loading inside computeIfAbsent makes concurrent updates for this project wait for the load
+            grid = projects.computeIfAbsent(projectId, this::load);
+        }
+        List<Match> matches = new ArrayList<>();
+        for (String prefix : GeoHash.coveringPrefixes(latitude, longitude, radiusMeters)) {
+            grid.forEachInCell(prefix, location -> {
+                double distance = GeoHash.distanceMeters(latitude, longitude, location.latitude(), location.longitude());
+                if (distance <= radiusMeters) {
+                    matches.add(new Match(location.id(), distance));
+                }
+            });
+        }
+        matches.sort(Comparator.comparingDouble(Match::distanceMeters));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    /**
+     * Record a photo's position; a null position removes it
+     */
+    public void put(Long projectId, Long photoId, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            remove(projectId, photoId);
+            return;
+        }
+        PhotoLocation location = new PhotoLocation(photoId, GeoHash.encode(latitude, longitude), latitude, longitude);
+        projects.computeIfPresent(projectId, (id, grid) -> {
+            grid.put(location);
+            return grid;
+        });
+    }
+
+    public void remove(Long projectId, Long photoId) {
+        projects.computeIfPresent(projectId, (id, grid) -> {
+            grid.remove(photoId);
+            return grid;
+        });
+    }
+
+    private ProjectPhotoGrid load(Long projectId) {
+        ProjectPhotoGrid grid = new ProjectPhotoGrid();
+        progressPhotoRepository.findLocationsByProjectId(projectId).forEach(grid::put);
+        return grid;
+    }
+
+    private void evictIfFull() {
+        Iterator<Long> loaded = projects.keySet().iterator();
+        while (projects.size() >= maxProjects && loaded.hasNext()) {
+            loaded.next();
+            loaded.remove();
+        }
+    }
+}
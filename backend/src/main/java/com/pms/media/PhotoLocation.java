@@ -0,0 +1,7 @@
+package com.pms.media;
+
+/**
+ * Position of a geotagged progress photo as held by {@link PhotoGeoIndex}
+ */
+public record PhotoLocation(Long id, String geohash, double latitude, double longitude) {
+}
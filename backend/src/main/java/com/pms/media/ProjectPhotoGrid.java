@@ -0,0 +1,62 @@
+package com.pms.media;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Geotagged photos of one project, sorted by geohash so every grid cell
+ * (geohash prefix) is a contiguous key range.
+ */
+final class ProjectPhotoGrid {
+
+    private final TreeMap<String, PhotoLocation> cells = new TreeMap<>();
+    private final Map<Long, String> keysById = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private static String key(PhotoLocation location) {
+        return location.geohash() + "/" + location.id();
+    }
+
+    void put(PhotoLocation location) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(location.id());
+            String key = key(location);
+            cells.put(key, location);
+            keysById.put(location.id(), key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long photoId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(photoId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Visit every photo whose geohash starts with the prefix
+     */
+    void forEachInCell(String prefix, Consumer<PhotoLocation> action) {
+        lock.readLock().lock();
+        try {
+            cells.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values().forEach(action);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long photoId) {
+        String key = keysById.remove(photoId);
+        if (key != null) {
+            cells.remove(key);
+        }
+    }
+}
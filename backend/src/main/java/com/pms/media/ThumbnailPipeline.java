@@ -0,0 +1,245 @@
+package com.pms.media;
+
+import com.pms.repository.ProgressPhotoRepository;
+import com.pms.storage.BlobDeletedEvent;
+import com.pms.storage.StorageBackend;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background thumbnail generation for progress photos. Jobs go through a
+ * bounded queue to one worker per core, and only the workers decode, so at
+ * most one image per core is held decoded on the heap. When the queue is full
+ * the job is set aside and resubmitted every {@code thumbnails.retry-seconds}
+ * as the queue drains; a photo shows its full image until then. Large
+ * originals are subsampled while decoding and every size is scaled down from
+ * the previous one.
+ *
+ * <p>Thumbnails are JPEGs keyed by the original's content hash, so duplicate
+ * uploads share them, and they are removed together with the original blob.</p>
+ */
+@Slf4j
+@Component
+public class ThumbnailPipeline {
+
+    public static final List<Integer> SIZES = List.of(1024, 480, 160);
+    public static final int DEFAULT_SIZE = 480;
+    private static final long MAX_PIXELS = 100_000_000L;
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final StorageBackend storageBackend;
+    private final ProgressPhotoRepository progressPhotoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService retryScheduler;
+    // Jobs the full queue turned away, latest per photo
+    private final Map<Long, Job> deferred = new ConcurrentHashMap<>();
+
+    private record Job(Long photoId, String sha256, String storageKey) {
+    }
+
+    public ThumbnailPipeline(StorageBackend storageBackend,
+                             ProgressPhotoRepository progressPhotoRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${thumbnails.queue-capacity:32}") int queueCapacity,
+                             @Value("${thumbnails.retry-seconds:30}") long retrySeconds) {
+        this.storageBackend = storageBackend;
+        this.progressPhotoRepository = progressPhotoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        int workers = Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "thumbnail-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        retryScheduler.scheduleWithFixedDelay(this::resubmitDeferred, retrySeconds, retrySeconds, TimeUnit.SECONDS);
+        ImageIO.setUseCache(false);
+    }
+
+    public static String keyFor(String sha256, int size) {
+        return "thumbnails/" + sha256.substring(0, 2) + "/" + sha256 + "/" + size + ".jpg";
+    }
+
+    /**
+     * Queue thumbnail generation for a photo's stored image
+     */
+    public void submit(Long photoId, String sha256, String storageKey) {
+        submit(new Job(photoId, sha256, storageKey));
+    }
+
+    @EventListener
+    public void onBlobDeleted(BlobDeletedEvent event) {
+        for (int size : SIZES) {
+            try {
+                storageBackend.delete(keyFor(event.sha256(), size));
+            } catch (IOException e) {
+                log.warn("Could not delete {}px thumbnail of {}", size, event.sha256(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private void submit(Job job) {
+        try {
+            executor.execute(() -> generate(job.photoId(), job.sha256(), job.storageKey()));
+        } catch (RejectedExecutionException e) {
+            if (deferred.put(job.photoId(), job) == null) {
+                log.debug("Thumbnail queue is full, photo {} will be retried", job.photoId());
+            }
+        }
+    }
+
+    private void resubmitDeferred() {
+        for (Job job : deferred.values()) {
+            if (executor.getQueue().remainingCapacity() == 0) {
+                return;
+            }
+            if (deferred.remove(job.photoId(), job)) {
+                submit(job);
+            }
+        }
+    }
+
+    private void generate(Long photoId, String sha256, String storageKey) {
+        try {
+            if (!thumbnailsExist(sha256)) {
+                BufferedImage image = decode(storageKey);
+                if (image == null) {
+                    log.info("No image reader for photo {}, skipping thumbnails", photoId);
+                    return;
+                }
+                for (int size : SIZES) {
+                    image = scaleToFit(image, size);
+                    write(image, keyFor(sha256, size));
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> progressPhotoRepository.findById(photoId)
+                    .filter(photo -> sha256.equals(photo.getContentHash()))
+                    .ifPresent(photo -> photo.setThumbnailUrl("/api/progress-photos/" + photoId + "/thumbnail")));
+        } catch (Exception e) {
+            log.warn("Thumbnail generation failed for photo {}", photoId, e);
+        }
+    }
+
+    private boolean thumbnailsExist(String sha256) {
+        return SIZES.stream().allMatch(size -> storageBackend.exists(keyFor(sha256, size)));
+    }
+
+    private BufferedImage decode(String storageKey) throws IOException {
+        try (ImageInputStream input = new FileChannelImageInputStream(storageBackend.open(storageKey))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_PIXELS) {
+                    throw new IOException("Image of " + width + "x" + height + " exceeds the decode limit");
+                }
+                // Decode at no less than twice the largest thumbnail, never at full size for big originals
+                int factor = Math.max(1, Math.max(width, height) / (SIZES.get(0) * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(factor, factor, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scale down (never up) to fit a square box, halving repeatedly for
+     * quality. Always returns an opaque RGB image suitable for JPEG.
+     */
+    static BufferedImage scaleToFit(BufferedImage source, int box) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, (double) box / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage current = source;
+        do {
+            width = Math.max(width / 2, targetWidth);
+            height = Math.max(height / 2, targetHeight);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(current, 0, 0, width, height, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private void write(BufferedImage image, String key) throws IOException {
+        String stagingKey = "thumb-" + UUID.randomUUID() + ".part";
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (FileChannel channel = storageBackend.openStaging(stagingKey);
+             ImageOutputStream output = ImageIO.createImageOutputStream(Channels.newOutputStream(channel))) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException | RuntimeException e) {
+            storageBackend.deleteStaging(stagingKey);
+            throw e;
+        } finally {
+            writer.dispose();
+        }
+        storageBackend.promote(stagingKey, key);
+    }
+}
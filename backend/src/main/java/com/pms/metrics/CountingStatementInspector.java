@@ -0,0 +1,16 @@
+package com.pms.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement Hibernate prepares towards the current request's
+ * {@link StatementCounter}. The SQL is passed through unchanged.
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        StatementCounter.increment();
+        return sql;
+    }
+}
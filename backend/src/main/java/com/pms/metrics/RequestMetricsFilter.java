@@ -0,0 +1,80 @@
+package com.pms.metrics;
+
+import com.pms.context.OrganizationContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records how many SQL statements each request issued
+ * ({@code pms.http.server.statements}), tagged by route, method, status and
+ * organization, so an N+1 regression shows up as a jump in one route's
+ * statement count. Requests above {@code metrics.statements.warn-threshold}
+ * are also logged. Runs ahead of the security chain so token checks count.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    
+    private final MeterRegistry meterRegistry;
+    private final TenantTags tenantTags;
+    private final int warnThreshold;
+    
+    public RequestMetricsFilter(MeterRegistry meterRegistry,
+                                TenantTags tenantTags,
+                                @Value("${metrics.statements.warn-threshold:100}") int warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.tenantTags = tenantTags;
+        this.warnThreshold = warnThreshold;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        
+        AtomicInteger statements = new AtomicInteger();
+        try {
+            StatementCounter.callWith(statements, () -> {
+                filterChain.doFilter(request, response);
+                return null;
+            });
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        } finally {
+            record(request, response, statements.get());
+        }
+    }
+    
+    private void record(HttpServletRequest request, HttpServletResponse response, int statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Long organizationId = (Long) request.getAttribute(OrganizationContext.REQUEST_ATTRIBUTE);
+        DistributionSummary.builder("pms.http.server.statements")
+                .description("SQL statements prepared per request")
+                .tag("uri", uri)
+                .tag("method", request.getMethod())
+                .tag("status", String.valueOf(response.getStatus()))
+                .tag(TenantTags.TAG, tenantTags.tagFor(organizationId))
+                .register(meterRegistry)
+                .record(statements);
+        if (statements > warnThreshold) {
+            log.warn("{} {} issued {} SQL statements", request.getMethod(), uri, statements);
+        }
+    }
+}
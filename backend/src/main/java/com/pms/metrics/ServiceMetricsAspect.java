@@ -0,0 +1,97 @@
+package com.pms.metrics;
+
+import com.pms.context.OrganizationContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the service layer ({@code pms.service.calls})
+ * and every repository call ({@code pms.repository.calls}), tagged with the
+ * entity type, the method and the outcome, so slow endpoints show up without
+ * per-method annotations. Each call is also recorded per entity, outcome and
+ * calling organization ({@link TenantTags}) in
+ * {@code pms.service.organization.calls} and
+ * {@code pms.repository.organization.calls}, which leave out the method and
+ * exception so tenants do not multiply the per-method series.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private static final String SERVICE_TIMER = "pms.service.calls";
+    private static final String REPOSITORY_TIMER = "pms.repository.calls";
+    private static final String SERVICE_ORGANIZATION_TIMER = "pms.service.organization.calls";
+    private static final String REPOSITORY_ORGANIZATION_TIMER = "pms.repository.organization.calls";
+
+    private final MeterRegistry meterRegistry;
+    private final TenantTags tenantTags;
+    private final Map<Class<?>, String> repositoryEntities = new ConcurrentHashMap<>();
+
+    @Around("within(com.pms.service..*) && execution(public * *(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        String entity = joinPoint.getSignature().getDeclaringType().getSimpleName().replaceFirst("Service$", "");
+        return time(SERVICE_TIMER, SERVICE_ORGANIZATION_TIMER, entity, joinPoint);
+    }
+
+    @Around("this(org.springframework.data.repository.Repository) && execution(public * *(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (joinPoint.getSignature().getDeclaringType() == Object.class) {
+            return joinPoint.proceed();
+        }
+        String entity = repositoryEntities.computeIfAbsent(joinPoint.getThis().getClass(),
+                proxyClass -> entityName(joinPoint.getThis()));
+        return time(REPOSITORY_TIMER, REPOSITORY_ORGANIZATION_TIMER, entity, joinPoint);
+    }
+
+    private Object time(String timerName, String organizationTimerName, String entity, ProceedingJoinPoint joinPoint)
+            throws Throwable {
+        String organization = tenantTags.tagFor(OrganizationContext.getCurrentOrganizationId());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = "error";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            long nanos = sample.stop(meterRegistry.timer(timerName, Tags.of(
+                    "entity", entity,
+                    "method", joinPoint.getSignature().getName(),
+                    "outcome", outcome,
+                    "exception", exception)));
+            meterRegistry.timer(organizationTimerName, Tags.of(
+                    "entity", entity,
+                    TenantTags.TAG, organization,
+                    "outcome", outcome)).record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Domain type of the first application repository interface the proxy implements
+    private static String entityName(Object repository) {
+        for (Class<?> repositoryInterface : AopProxyUtils.proxiedUserInterfaces(repository)) {
+            if (Repository.class.isAssignableFrom(repositoryInterface) && repositoryInterface != Repository.class) {
+                Class<?> domainType = ResolvableType.forClass(repositoryInterface).as(Repository.class).resolveGeneric(0);
+                if (domainType != null) {
+                    return domainType.getSimpleName();
+                }
+            }
+        }
+        return "unknown";
+    }
+}
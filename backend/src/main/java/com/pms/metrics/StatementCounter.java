@@ -0,0 +1,52 @@
+package com.pms.metrics;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements Hibernate prepares on behalf of one request.
+ * {@link RequestMetricsFilter} binds a counter for the request and
+ * {@link CountingStatementInspector} increments whichever counter is bound
+ * to the current thread; work forked to other threads can carry the same
+ * counter with {@link #callWith(AtomicInteger, Callable)}.
+ */
+public final class StatementCounter {
+
+    private static final ThreadLocal<AtomicInteger> current = new ThreadLocal<>();
+
+    private StatementCounter() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * @return The counter bound to this thread, or null outside a request
+     */
+    public static AtomicInteger current() {
+        return current.get();
+    }
+
+    static void increment() {
+        AtomicInteger counter = current.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+    }
+
+    public static <T> T callWith(AtomicInteger counter, Callable<T> action) throws Exception {
+        AtomicInteger previous = current.get();
+        bind(counter);
+        try {
+            return action.call();
+        } finally {
+            bind(previous);
+        }
+    }
+
+    private static void bind(AtomicInteger counter) {
+        if (counter == null) {
+            current.remove();
+        } else {
+            current.set(counter);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.pms.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Organization tag values with bounded cardinality. The busiest
+ * {@code metrics.tenant-tags.top-n} organizations are tagged with their id
+ * and every other one with {@code other}.
+ *
+ * <p>Activity is counted per organization and the busiest set is recomputed
+ * every {@code metrics.tenant-tags.refresh-seconds}; counts are halved at
+ * each refresh so the set follows recent load. Until the set is full, new
+ * organizations are admitted as they are seen. Each refresh removes the
+ * meters of organizations no longer in the set from the registry, so a meter
+ * holds at most {@code top-n + 2} organization values at a time (ids,
+ * {@code other} and {@code none}) times its other tag combinations.</p>
+ */
+@Component
+public class TenantTags {
+
+    public static final String TAG = "organization";
+    public static final String OTHER = "other";
+    public static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final int topN;
+    private final int maxTracked;
+    private final Map<Long, LongAdder> activity = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService refresher;
+    private volatile Set<Long> tagged = Set.of();
+
+    public TenantTags(MeterRegistry meterRegistry,
+                      @Value("${metrics.tenant-tags.top-n:20}") int topN,
+                      @Value("${metrics.tenant-tags.max-tracked:10000}") int maxTracked,
+                      @Value("${metrics.tenant-tags.refresh-seconds:60}") long refreshSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.topN = topN;
+        this.maxTracked = maxTracked;
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tenant-tags-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refresh, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Tag value for the organization, counting one unit of its activity
+     */
+    public String tagFor(Long organizationId) {
+        if (organizationId == null) {
+            return NONE;
+        }
+        LongAdder counter = activity.get(organizationId);
+        if (counter == null && activity.size() < maxTracked) {
+            counter = activity.computeIfAbsent(organizationId, id -> new LongAdder());
+        }
+        if (counter != null) {
+            counter.increment();
+        }
+        Set<Long> current = tagged;
+        if (current.contains(organizationId)) {
+            return organizationId.toString();
+        }
+        if (current.size() < topN && admit(organizationId)) {
+            return organizationId.toString();
+        }
+        return OTHER;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private synchronized boolean admit(Long organizationId) {
+        if (tagged.size() >= topN) {
+            return tagged.contains(organizationId);
+        }
+        Set<Long> admitted = new HashSet<>(tagged);
+        admitted.add(organizationId);
+        tagged = Set.copyOf(admitted);
+        return true;
+    }
+
+    private synchronized void refresh() {
+        Map<Long, Long> totals = new HashMap<>();
+        activity.forEach((organizationId, counter) -> totals.put(organizationId, counter.sum()));
+        tagged = totals.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+                .limit(topN)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toUnmodifiableSet());
+        activity.forEach((organizationId, counter) -> {
+            long halved = counter.sumThenReset() / 2;
+            if (halved == 0) {
+                activity.remove(organizationId, counter);
+            } else {
+                counter.add(halved);
+            }
+        });
+        removeUntaggedMeters();
+    }
+
+    // Also catches meters re-registered by calls that were in flight during an earlier refresh
+    private void removeUntaggedMeters() {
+        Set<String> current = tagged.stream().map(String::valueOf).collect(Collectors.toSet());
+        for (Meter meter : meterRegistry.getMeters()) {
+            String organization = meter.getId().getTag(TAG);
+            if (organization != null && !organization.equals(OTHER) && !organization.equals(NONE)
+                    && !current.contains(organization)) {
+                meterRegistry.remove(meter);
+            }
+        }
+    }
+}
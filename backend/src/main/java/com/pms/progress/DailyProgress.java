@@ -0,0 +1,23 @@
+package com.pms.progress;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DPR entries of one project grouped by report date and WBS code, used to
+ * rebuild rollups from the entries table
+ */
+public record DailyProgress(
+        Long organizationId,
+        LocalDate reportDate,
+        String wbsCode,
+        Long entryCount,
+        BigDecimal plannedTotal,
+        Long plannedCount,
+        BigDecimal actualTotal,
+        Long actualCount,
+        BigDecimal varianceTotal,
+        Long varianceCount,
+        BigDecimal productivityTotal,
+        Long productivityCount) {
+}
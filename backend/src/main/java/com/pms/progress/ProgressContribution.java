@@ -0,0 +1,34 @@
+package com.pms.progress;
+
+import com.pms.entity.DprEntry;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * What one DPR entry adds to its rollups, captured before an update changes
+ * the entry so the old values can be taken back out
+ */
+public record ProgressContribution(
+        Long organizationId,
+        Long projectId,
+        LocalDate reportDate,
+        String wbsCode,
+        BigDecimal plannedProgress,
+        BigDecimal actualProgress,
+        BigDecimal variance,
+        BigDecimal productivity) {
+
+    public static ProgressContribution of(DprEntry entry) {
+        // Ids are read from the references without initializing them
+        return new ProgressContribution(
+                entry.getOrganization().getId(),
+                entry.getProject().getId(),
+                entry.getReportDate(),
+                entry.getWbsCode(),
+                entry.getPlannedProgress(),
+                entry.getActualProgress(),
+                entry.getVariance(),
+                entry.getProductivity());
+    }
+}
@@ -0,0 +1,263 @@
+package com.pms.progress;
+
+import com.pms.entity.DprProgressRollup;
+import com.pms.exception.ServiceUnavailableException;
+import com.pms.repository.DprEntryRepository;
+import com.pms.repository.DprProgressRollupRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps {@link DprProgressRollup} rows in step with the DPR entries. Every
+ * entry counts towards its day and its week, once project-wide and once under
+ * its WBS code. The add and subtract methods must run inside the transaction
+ * that writes the entry, so the rollups commit or roll back with it.
+ *
+ * <p>Totals are adjusted with a single UPDATE; the first entry of a period
+ * inserts the row. A per-project lock, held until the transaction completes,
+ * keeps two writers from inserting the same row.</p>
+ *
+ * <p>At startup and then every {@code dpr.progress-rollups.check-interval-minutes}
+ * the daily rollups are checked against the entries; a project whose entry
+ * count no longer matches (written before rollups existed, or changed by hand
+ * in the database) is rebuilt from grouped entries. A single project can also
+ * be rebuilt on demand through {@link #rebuild(Long)}.</p>
+ */
+@Slf4j
+@Component
+public class ProgressRollups {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final DprProgressRollupRepository rollupRepository;
+    private final DprEntryRepository dprEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long lockTimeoutMs;
+    private final ReentrantLock[] locks = createLocks();
+    private final ScheduledExecutorService consistencyCheck;
+
+    public ProgressRollups(DprProgressRollupRepository rollupRepository,
+                           DprEntryRepository dprEntryRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${dpr.progress-rollups.lock-timeout-ms:5000}") long lockTimeoutMs,
+                           @Value("${dpr.progress-rollups.check-interval-minutes:60}") long checkIntervalMinutes) {
+        this.rollupRepository = rollupRepository;
+        this.dprEntryRepository = dprEntryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lockTimeoutMs = lockTimeoutMs;
+        this.consistencyCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "progress-rollup-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        consistencyCheck.scheduleWithFixedDelay(this::rebuildInconsistentQuietly,
+                checkIntervalMinutes, checkIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    public void add(ProgressContribution contribution) {
+        apply(contribution, 1);
+    }
+
+    public void subtract(ProgressContribution contribution) {
+        apply(contribution, -1);
+    }
+
+    /**
+     * Replace a project's rollups with totals recomputed from its entries.
+     * Must run inside a transaction.
+     */
+    public void rebuild(Long projectId) {
+        lockUntilCompletion(projectId);
+        rollupRepository.deleteByProjectId(projectId);
+
+        Map<RollupKey, DprProgressRollup> rollups = new HashMap<>();
+        for (DailyProgress day : dprEntryRepository.summarizeDailyProgress(projectId)) {
+            for (DprProgressRollup.Period period : DprProgressRollup.Period.values()) {
+                LocalDate periodStart = period.start(day.reportDate());
+                accumulate(rollups, projectId, day, period, periodStart, DprProgressRollup.ALL_WBS_CODES);
+                if (hasWbsCode(day.wbsCode())) {
+                    accumulate(rollups, projectId, day, period, periodStart, day.wbsCode());
+                }
+            }
+        }
+        rollupRepository.saveAll(rollups.values());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInconsistent() {
+        List<Long> projectIds = dprEntryRepository.findProjectIdsWithInconsistentProgressRollups(
+                DprProgressRollup.Period.DAY, DprProgressRollup.ALL_WBS_CODES);
+        if (projectIds.isEmpty()) {
+            return;
+        }
+        log.info("Rebuilding progress rollups of {} projects that do not match their entries", projectIds.size());
+        for (Long projectId : projectIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebuild(projectId));
+            } catch (RuntimeException e) {
+                log.warn("Could not build progress rollups for project {}", projectId, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        consistencyCheck.shutdownNow();
+    }
+
+    private void rebuildInconsistentQuietly() {
+        try {
+            rebuildInconsistent();
+        } catch (RuntimeException e) {
+            log.warn("Progress rollup consistency check failed", e);
+        }
+    }
+
+    private void apply(ProgressContribution contribution, int sign) {
+        lockUntilCompletion(contribution.projectId());
+        for (DprProgressRollup.Period period : DprProgressRollup.Period.values()) {
+            LocalDate periodStart = period.start(contribution.reportDate());
+            applyTo(contribution, sign, period, periodStart, DprProgressRollup.ALL_WBS_CODES);
+            if (hasWbsCode(contribution.wbsCode())) {
+                applyTo(contribution, sign, period, periodStart, contribution.wbsCode());
+            }
+        }
+    }
+
+    private void applyTo(ProgressContribution contribution, int sign, DprProgressRollup.Period period,
+                         LocalDate periodStart, String wbsCode) {
+        int updated = rollupRepository.addToTotals(contribution.projectId(), period, wbsCode, periodStart, sign,
+                signed(contribution.plannedProgress(), sign), count(contribution.plannedProgress(), sign),
+                signed(contribution.actualProgress(), sign), count(contribution.actualProgress(), sign),
+                signed(contribution.variance(), sign), count(contribution.variance(), sign),
+                signed(contribution.productivity(), sign), count(contribution.productivity(), sign));
+        if (sign < 0) {
+            if (updated == 0) {
+                log.warn("No {} progress rollup of project {} for {} to subtract from",
+                        period, contribution.projectId(), periodStart);
+            } else {
+                rollupRepository.deleteIfEmpty(contribution.projectId(), period, wbsCode, periodStart);
+            }
+            return;
+        }
+        if (updated == 0) {
+            rollupRepository.save(DprProgressRollup.builder()
+                    .organizationId(contribution.organizationId())
+                    .projectId(contribution.projectId())
+                    .period(period)
+                    .periodStart(periodStart)
+                    .wbsCode(wbsCode)
+                    .entryCount(1L)
+                    .plannedTotal(orZero(contribution.plannedProgress()))
+                    .plannedCount(count(contribution.plannedProgress(), 1))
+                    .actualTotal(orZero(contribution.actualProgress()))
+                    .actualCount(count(contribution.actualProgress(), 1))
+                    .varianceTotal(orZero(contribution.variance()))
+                    .varianceCount(count(contribution.variance(), 1))
+                    .productivityTotal(orZero(contribution.productivity()))
+                    .productivityCount(count(contribution.productivity(), 1))
+                    .build());
+        }
+    }
+
+    private static void accumulate(Map<RollupKey, DprProgressRollup> rollups, Long projectId, DailyProgress day,
+                                   DprProgressRollup.Period period, LocalDate periodStart, String wbsCode) {
+        DprProgressRollup rollup = rollups.computeIfAbsent(new RollupKey(period, periodStart, wbsCode),
+                key -> DprProgressRollup.builder()
+                        .organizationId(day.organizationId())
+                        .projectId(projectId)
+                        .period(period)
+                        .periodStart(periodStart)
+                        .wbsCode(wbsCode)
+                        .entryCount(0L)
+                        .plannedTotal(BigDecimal.ZERO)
+                        .plannedCount(0L)
+                        .actualTotal(BigDecimal.ZERO)
+                        .actualCount(0L)
+                        .varianceTotal(BigDecimal.ZERO)
+                        .varianceCount(0L)
+                        .productivityTotal(BigDecimal.ZERO)
+                        .productivityCount(0L)
+                        .build());
+        rollup.setEntryCount(rollup.getEntryCount() + day.entryCount());
+        rollup.setPlannedTotal(rollup.getPlannedTotal().add(orZero(day.plannedTotal())));
+        rollup.setPlannedCount(rollup.getPlannedCount() + day.plannedCount());
+        rollup.setActualTotal(rollup.getActualTotal().add(orZero(day.actualTotal())));
+        rollup.setActualCount(rollup.getActualCount() + day.actualCount());
+        rollup.setVarianceTotal(rollup.getVarianceTotal().add(orZero(day.varianceTotal())));
+        rollup.setVarianceCount(rollup.getVarianceCount() + day.varianceCount());
+        rollup.setProductivityTotal(rollup.getProductivityTotal().add(orZero(day.productivityTotal())));
+        rollup.setProductivityCount(rollup.getProductivityCount() + day.productivityCount());
+    }
+
+    private static boolean hasWbsCode(String wbsCode) {
+        return wbsCode != null && !wbsCode.isBlank();
+    }
+
+    private static BigDecimal signed(BigDecimal value, int sign) {
+        return sign < 0 ? orZero(value).negate() : orZero(value);
+    }
+
+    private static long count(BigDecimal value, int sign) {
+        return value == null ? 0 : sign;
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    /**
+     * Hold the project's lock until the surrounding transaction completes, so
+     * a concurrent writer sees the committed row instead of inserting its own
+     * @throws ServiceUnavailableException if the lock is not free within the timeout
+     */
+    private void lockUntilCompletion(Long projectId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Progress rollup writes require an active transaction");
+        }
+        ReentrantLock lock = locks[Math.floorMod(projectId.hashCode(), LOCK_STRIPES)];
+        try {
+            if (!lock.tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new ServiceUnavailableException("Progress of project " + projectId + " is being updated, please retry later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to update progress of project " + projectId, e);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private static ReentrantLock[] createLocks() {
+        ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        return stripes;
+    }
+
+    private record RollupKey(DprProgressRollup.Period period, LocalDate periodStart, String wbsCode) {
+    }
+}
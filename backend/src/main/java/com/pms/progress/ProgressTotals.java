@@ -0,0 +1,17 @@
+package com.pms.progress;
+
+import java.math.BigDecimal;
+
+/**
+ * Planned, actual and variance sums over a range of rollup rows
+ */
+public record ProgressTotals(BigDecimal plannedTotal, BigDecimal actualTotal, BigDecimal varianceTotal) {
+
+    public static final ProgressTotals ZERO = new ProgressTotals(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
+    public ProgressTotals {
+        plannedTotal = plannedTotal != null ? plannedTotal : BigDecimal.ZERO;
+        actualTotal = actualTotal != null ? actualTotal : BigDecimal.ZERO;
+        varianceTotal = varianceTotal != null ? varianceTotal : BigDecimal.ZERO;
+    }
+}
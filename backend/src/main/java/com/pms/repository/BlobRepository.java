@@ -0,0 +1,29 @@
+package com.pms.repository;
+
+import com.pms.entity.Blob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BlobRepository extends JpaRepository<Blob, Long> {
+    
+    Optional<Blob> findBySha256(String sha256);
+    
+    // Reference counting is done in the database so concurrent requests never lose an update
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Blob b SET b.refCount = b.refCount + 1 WHERE b.sha256 = :sha256")
+    int incrementRefCount(@Param("sha256") String sha256);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Blob b SET b.refCount = b.refCount - 1 WHERE b.sha256 = :sha256 AND b.refCount > 0")
+    int decrementRefCount(@Param("sha256") String sha256);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Blob b WHERE b.sha256 = :sha256 AND b.refCount = 0")
+    int deleteIfUnreferenced(@Param("sha256") String sha256);
+}
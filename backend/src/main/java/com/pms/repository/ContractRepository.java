@@ -1,6 +1,9 @@
 package com.pms.repository;
 
+import com.pms.dto.ContractDTO;
 import com.pms.entity.Contract;
+import com.pms.summary.StatusCount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -33,6 +36,24 @@ public interface ContractRepository extends JpaRepository<Contract, Long> {
     @Query("SELECT c FROM Contract c WHERE c.project.id = :projectId AND c.project.organization.id = :organizationId")
     List<Contract> findByProjectIdAndOrganizationId(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId);
     
+    // DTO projections: one statement per page, no lazy association loads per row
+    String DTO_SELECT = "SELECT new com.pms.dto.ContractDTO(" +
+           "c.id, c.contractNumber, c.title, c.description, c.type, c.status, c.vendorName, c.vendorContact, " +
+           "c.vendorEmail, c.contractValue, c.paidAmount, c.startDate, c.endDate, c.signedDate, p.id, p.name, " +
+           "s.id, s.name, c.terms, c.paymentTerms, c.documentPath, c.createdAt, c.updatedAt) " +
+           "FROM Contract c JOIN c.project p LEFT JOIN c.signedBy s ";
+    
+    // Keyset pagination (ordered by id, resumed after the last id seen)
+    @Query(DTO_SELECT + "WHERE p.organization.id = :organizationId AND c.id > :afterId ORDER BY c.id ASC")
+    List<ContractDTO> findPageByOrganizationId(@Param("organizationId") Long organizationId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE p.id = :projectId AND p.organization.id = :organizationId AND c.id > :afterId ORDER BY c.id ASC")
+    List<ContractDTO> findPageByProjectIdAndOrganizationId(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId,
+                                                     @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE c.id = :id AND p.organization.id = :organizationId")
+    Optional<ContractDTO> findDtoByIdAndOrganizationId(@Param("id") Long id, @Param("organizationId") Long organizationId);
+    
     @Query("SELECT c FROM Contract c WHERE c.project.id = :projectId AND " +
            "c.endDate BETWEEN :startDate AND :endDate")
     List<Contract> findExpiringContracts(@Param("projectId") Long projectId,
@@ -50,4 +71,13 @@ public interface ContractRepository extends JpaRepository<Contract, Long> {
     Long countByProjectId(Long projectId);
     
     Long countByProjectIdAndStatus(Long projectId, Contract.ContractStatus status);
+    
+    // Status histogram of every project in the organization, for the dashboard summary
+    @Query("SELECT new com.pms.summary.StatusCount(c.project.id, c.status, COUNT(c)) FROM Contract c " +
+           "WHERE c.project.organization.id = :organizationId GROUP BY c.project.id, c.status")
+    List<StatusCount> countByProjectAndStatus(@Param("organizationId") Long organizationId);
+    
+    @Query("SELECT new com.pms.summary.StatusCount(c.project.id, c.status, COUNT(c)) FROM Contract c " +
+           "WHERE c.project.id = :projectId GROUP BY c.project.id, c.status")
+    List<StatusCount> countByStatusForProject(@Param("projectId") Long projectId);
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.pms.repository;
+
+import com.pms.entity.DocumentAnalysis;
+import com.pms.search.IndexableDocument;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DocumentAnalysisRepository extends JpaRepository<DocumentAnalysis, Long> {
+    
+    Optional<DocumentAnalysis> findByDocumentId(Long documentId);
+    
+    // A finished analysis of identical content can be copied instead of re-reading the file
+    Optional<DocumentAnalysis> findFirstBySha256AndStatusAndDocumentIdNot(String sha256, DocumentAnalysis.AnalysisStatus status,
+                                                                           Long documentId);
+    
+    @Query("SELECT a.document.id FROM DocumentAnalysis a WHERE a.status IN :statuses")
+    List<Long> findDocumentIdsByStatusIn(@Param("statuses") Collection<DocumentAnalysis.AnalysisStatus> statuses);
+    
+    @Query("SELECT new com.pms.search.IndexableDocument(a.document.id, a.organization.id, a.document.project.id, " +
+           "a.document.fileName, a.textStorageKey) " +
+           "FROM DocumentAnalysis a WHERE a.status = com.pms.entity.DocumentAnalysis.AnalysisStatus.COMPLETED " +
+           "AND a.indexedAt IS NULL")
+    List<IndexableDocument> findUnindexed();
+    
+    // Conditional transition: only one caller moves a row out of the expected status
+    @Modifying
+    @Query("UPDATE DocumentAnalysis a SET a.status = :newStatus, a.updatedAt = :now " +
+           "WHERE a.document.id = :documentId AND a.status = :expectedStatus")
+    int updateStatus(@Param("documentId") Long documentId,
+                     @Param("expectedStatus") DocumentAnalysis.AnalysisStatus expectedStatus,
+                     @Param("newStatus") DocumentAnalysis.AnalysisStatus newStatus,
+                     @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE DocumentAnalysis a SET a.status = :newStatus WHERE a.status = :staleStatus AND a.updatedAt < :cutoff")
+    int resetStaleRunning(@Param("staleStatus") DocumentAnalysis.AnalysisStatus staleStatus,
+                          @Param("newStatus") DocumentAnalysis.AnalysisStatus newStatus,
+                          @Param("cutoff") LocalDateTime cutoff);
+    
+    @Modifying
+    @Query("UPDATE DocumentAnalysis a SET a.indexedAt = :indexedAt WHERE a.document.id IN :documentIds")
+    int markIndexed(@Param("documentIds") Collection<Long> documentIds, @Param("indexedAt") LocalDateTime indexedAt);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM DocumentAnalysis a WHERE a.document.id = :documentId")
+    int deleteByDocumentId(@Param("documentId") Long documentId);
+}
@@ -0,0 +1,18 @@
+package com.pms.repository;
+
+import com.pms.entity.DocumentContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface DocumentContentRepository extends JpaRepository<DocumentContent, Long> {
+    
+    Optional<DocumentContent> findByDocumentId(Long documentId);
+    
+    @Query("SELECT COUNT(c) > 0 FROM DocumentContent c WHERE c.sha256 = :sha256 AND c.document.project.organization.id = :organizationId")
+    boolean existsBySha256AndOrganizationId(@Param("sha256") String sha256, @Param("organizationId") Long organizationId);
+}
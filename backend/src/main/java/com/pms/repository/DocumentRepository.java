@@ -1,6 +1,8 @@
 package com.pms.repository;
 
 import com.pms.entity.Document;
+import com.pms.summary.StatusCount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -36,6 +38,14 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     @Query("SELECT d FROM Document d WHERE d.project.id = :projectId AND d.project.organization.id = :organizationId")
     List<Document> findByProjectIdAndOrganizationId(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId);
     
+    // Keyset pagination (ordered by id, resumed after the last id seen)
+    @Query("SELECT d FROM Document d WHERE d.project.organization.id = :organizationId AND d.id > :afterId ORDER BY d.id ASC")
+    List<Document> findPageByOrganizationId(@Param("organizationId") Long organizationId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT d FROM Document d WHERE d.project.id = :projectId AND d.project.organization.id = :organizationId AND d.id > :afterId ORDER BY d.id ASC")
+    List<Document> findPageByProjectIdAndOrganizationId(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId,
+                                                     @Param("afterId") Long afterId, Pageable pageable);
+    
     @Query("SELECT d FROM Document d WHERE d.project.id = :projectId AND " +
            "(LOWER(d.fileName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(d.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
@@ -45,4 +55,9 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     Long countByProjectId(Long projectId);
     
     Long countByProjectIdAndStatus(Long projectId, Document.DocumentStatus status);
+    
+    // Status histogram of every project in the organization, for the dashboard summary
+    @Query("SELECT new com.pms.summary.StatusCount(d.project.id, d.status, COUNT(d)) FROM Document d " +
+           "WHERE d.project.organization.id = :organizationId GROUP BY d.project.id, d.status")
+    List<StatusCount> countByProjectAndStatus(@Param("organizationId") Long organizationId);
 }
\ No newline at end of file
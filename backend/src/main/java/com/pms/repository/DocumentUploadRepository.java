@@ -0,0 +1,46 @@
+package com.pms.repository;
+
+import com.pms.entity.DocumentUpload;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DocumentUploadRepository extends JpaRepository<DocumentUpload, Long> {
+    
+    @Query("SELECT u FROM DocumentUpload u JOIN FETCH u.project WHERE u.uploadToken = :uploadToken AND u.organization.id = :organizationId")
+    Optional<DocumentUpload> findByUploadTokenAndOrganizationId(@Param("uploadToken") String uploadToken,
+                                                               @Param("organizationId") Long organizationId);
+    
+    // Uploads in the given status that have not been written to since the cutoff
+    @Query("SELECT u FROM DocumentUpload u WHERE u.status = :status AND u.updatedAt < :cutoff ORDER BY u.updatedAt ASC")
+    List<DocumentUpload> findStale(@Param("status") DocumentUpload.UploadStatus status,
+                                   @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    // Progress of an upload that is still in progress; 0 if it was aborted, expired or completed meanwhile
+    @Modifying
+    @Query("UPDATE DocumentUpload u SET u.receivedBytes = :receivedBytes, u.updatedAt = :now " +
+           "WHERE u.id = :id AND u.status = :expectedStatus")
+    int updateReceivedBytes(@Param("id") Long id, @Param("expectedStatus") DocumentUpload.UploadStatus expectedStatus,
+                            @Param("receivedBytes") Long receivedBytes, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE DocumentUpload u SET u.status = :newStatus, u.updatedAt = :now " +
+           "WHERE u.id = :id AND u.status = :expectedStatus")
+    int updateStatus(@Param("id") Long id, @Param("expectedStatus") DocumentUpload.UploadStatus expectedStatus,
+                     @Param("newStatus") DocumentUpload.UploadStatus newStatus, @Param("now") LocalDateTime now);
+    
+    // Conditional transition, so an upload that received a chunk after it was selected is left alone
+    @Modifying
+    @Query("UPDATE DocumentUpload u SET u.status = :newStatus " +
+           "WHERE u.id = :id AND u.status = :expectedStatus AND u.updatedAt < :cutoff")
+    int updateStatusIfStale(@Param("id") Long id, @Param("expectedStatus") DocumentUpload.UploadStatus expectedStatus,
+                            @Param("newStatus") DocumentUpload.UploadStatus newStatus, @Param("cutoff") LocalDateTime cutoff);
+}
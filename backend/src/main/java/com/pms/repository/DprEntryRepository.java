@@ -1,12 +1,22 @@
 package com.pms.repository;
 
+import com.pms.dto.DprEntryDTO;
 import com.pms.entity.DprEntry;
+import com.pms.entity.DprProgressRollup;
+import com.pms.progress.DailyProgress;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface DprEntryRepository extends JpaRepository<DprEntry, Long> {
@@ -18,6 +28,24 @@ public interface DprEntryRepository extends JpaRepository<DprEntry, Long> {
     
     List<DprEntry> findByProjectIdAndOrganizationId(Long projectId, Long organizationId);
     
+    // DTO projections: one statement per page, no lazy association loads per row
+    String DTO_SELECT = "SELECT new com.pms.dto.DprEntryDTO(" +
+           "e.id, e.reportDate, e.workItem, e.wbsCode, e.plannedProgress, e.actualProgress, e.variance, " +
+           "e.resourcesUsed, e.productivity, p.id, p.name, o.id, o.name, u.id, u.name, e.remarks, " +
+           "e.weatherConditions, e.laborCount, e.equipmentCount, e.createdAt, e.updatedAt) " +
+           "FROM DprEntry e JOIN e.project p JOIN e.organization o LEFT JOIN e.createdByUser u ";
+    
+    // Keyset pagination (ordered by id, resumed after the last id seen)
+    @Query(DTO_SELECT + "WHERE e.organization.id = :organizationId AND e.id > :afterId ORDER BY e.id ASC")
+    List<DprEntryDTO> findPageByOrganizationId(@Param("organizationId") Long organizationId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE p.id = :projectId AND e.organization.id = :organizationId AND e.id > :afterId ORDER BY e.id ASC")
+    List<DprEntryDTO> findPageByProjectIdAndOrganizationId(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId,
+                                                     @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE e.id = :id AND e.organization.id = :organizationId")
+    Optional<DprEntryDTO> findDtoByIdAndOrganizationId(@Param("id") Long id, @Param("organizationId") Long organizationId);
+    
     List<DprEntry> findByProjectId(Long projectId);
     
     List<DprEntry> findByProjectIdAndReportDate(Long projectId, LocalDate reportDate);
@@ -29,4 +57,32 @@ public interface DprEntryRepository extends JpaRepository<DprEntry, Long> {
     Optional<DprEntry> findTopByProjectIdOrderByReportDateDesc(Long projectId);
     
     Long countByProjectId(Long projectId);
+    
+    // Streaming export: rows are pulled from an open cursor in fetch-size chunks
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT e FROM DprEntry e WHERE e.project.id = :projectId AND e.organization.id = :organizationId " +
+           "AND e.reportDate BETWEEN :startDate AND :endDate ORDER BY e.reportDate ASC, e.id ASC")
+    Stream<DprEntry> streamByProjectIdAndReportDateBetween(@Param("projectId") Long projectId,
+                                                          @Param("organizationId") Long organizationId,
+                                                          @Param("startDate") LocalDate startDate,
+                                                          @Param("endDate") LocalDate endDate);
+    
+    // Source for rebuilding progress rollups: one row per report date and WBS code
+    @Query("SELECT new com.pms.progress.DailyProgress(e.organization.id, e.reportDate, e.wbsCode, COUNT(e), " +
+           "SUM(e.plannedProgress), COUNT(e.plannedProgress), SUM(e.actualProgress), COUNT(e.actualProgress), " +
+           "SUM(e.variance), COUNT(e.variance), SUM(e.productivity), COUNT(e.productivity)) " +
+           "FROM DprEntry e WHERE e.project.id = :projectId " +
+           "GROUP BY e.organization.id, e.reportDate, e.wbsCode")
+    List<DailyProgress> summarizeDailyProgress(@Param("projectId") Long projectId);
+    
+    // Projects whose entry count differs from the entries recorded in their rollups, including projects without any
+    @Query("SELECT e.project.id FROM DprEntry e GROUP BY e.project.id HAVING COUNT(e) <> " +
+           "COALESCE((SELECT SUM(r.entryCount) FROM DprProgressRollup r WHERE r.projectId = e.project.id " +
+           "AND r.period = :period AND r.wbsCode = :wbsCode), 0)")
+    List<Long> findProjectIdsWithInconsistentProgressRollups(@Param("period") DprProgressRollup.Period period,
+                                                            @Param("wbsCode") String wbsCode);
 }
\ No newline at end of file
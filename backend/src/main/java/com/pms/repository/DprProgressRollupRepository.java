@@ -0,0 +1,59 @@
+package com.pms.repository;
+
+import com.pms.entity.DprProgressRollup;
+import com.pms.progress.ProgressTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DprProgressRollupRepository extends JpaRepository<DprProgressRollup, Long> {
+    
+    @Query("SELECT r FROM DprProgressRollup r WHERE r.projectId = :projectId AND r.organizationId = :organizationId " +
+           "AND r.period = :period AND r.wbsCode = :wbsCode AND r.periodStart BETWEEN :startDate AND :endDate " +
+           "ORDER BY r.periodStart ASC")
+    List<DprProgressRollup> findSeries(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId,
+                                       @Param("period") DprProgressRollup.Period period, @Param("wbsCode") String wbsCode,
+                                       @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    // Baseline for cumulative series that start after the project's first report
+    @Query("SELECT new com.pms.progress.ProgressTotals(SUM(r.plannedTotal), SUM(r.actualTotal), SUM(r.varianceTotal)) " +
+           "FROM DprProgressRollup r WHERE r.projectId = :projectId AND r.organizationId = :organizationId " +
+           "AND r.period = :period AND r.wbsCode = :wbsCode AND r.periodStart < :startDate")
+    ProgressTotals sumBefore(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId,
+                             @Param("period") DprProgressRollup.Period period, @Param("wbsCode") String wbsCode,
+                             @Param("startDate") LocalDate startDate);
+    
+    // Totals are adjusted in the database so concurrent writers never lose an update
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DprProgressRollup r SET r.entryCount = r.entryCount + :entries, " +
+           "r.plannedTotal = r.plannedTotal + :planned, r.plannedCount = r.plannedCount + :plannedCount, " +
+           "r.actualTotal = r.actualTotal + :actual, r.actualCount = r.actualCount + :actualCount, " +
+           "r.varianceTotal = r.varianceTotal + :variance, r.varianceCount = r.varianceCount + :varianceCount, " +
+           "r.productivityTotal = r.productivityTotal + :productivity, " +
+           "r.productivityCount = r.productivityCount + :productivityCount, r.updatedAt = LOCAL DATETIME " +
+           "WHERE r.projectId = :projectId AND r.period = :period AND r.wbsCode = :wbsCode AND r.periodStart = :periodStart")
+    int addToTotals(@Param("projectId") Long projectId, @Param("period") DprProgressRollup.Period period,
+                    @Param("wbsCode") String wbsCode, @Param("periodStart") LocalDate periodStart,
+                    @Param("entries") long entries,
+                    @Param("planned") BigDecimal planned, @Param("plannedCount") long plannedCount,
+                    @Param("actual") BigDecimal actual, @Param("actualCount") long actualCount,
+                    @Param("variance") BigDecimal variance, @Param("varianceCount") long varianceCount,
+                    @Param("productivity") BigDecimal productivity, @Param("productivityCount") long productivityCount);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM DprProgressRollup r WHERE r.projectId = :projectId AND r.period = :period " +
+           "AND r.wbsCode = :wbsCode AND r.periodStart = :periodStart AND r.entryCount <= 0")
+    int deleteIfEmpty(@Param("projectId") Long projectId, @Param("period") DprProgressRollup.Period period,
+                      @Param("wbsCode") String wbsCode, @Param("periodStart") LocalDate periodStart);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM DprProgressRollup r WHERE r.projectId = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
@@ -1,13 +1,17 @@
 package com.pms.repository;
 
+import com.pms.dto.InventoryItemDTO;
 import com.pms.entity.InventoryItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface InventoryItemRepository extends JpaRepository<InventoryItem, Long> {
@@ -17,11 +21,19 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, Lo
     
     Optional<InventoryItem> findByIdAndOrganizationId(Long id, Long organizationId);
     
-    List<InventoryItem> findByProjectIdAndOrganizationId(Long projectId, Long organizationId);
+    // DTO projections: one statement per page, no lazy association loads per row
+    String DTO_SELECT = "SELECT new com.pms.dto.InventoryItemDTO(" +
+           "i.id, i.itemCode, i.itemName, i.description, i.category, i.currentStock, i.unit, i.reorderLevel, " +
+           "i.maxStockLevel, i.unitCost, o.id, o.name, i.location, i.supplier, i.status, i.lastRestocked, " +
+           "i.notes, i.createdAt, i.updatedAt) " +
+           "FROM InventoryItem i JOIN i.organization o ";
     
-    List<InventoryItem> findByWarehouseLocationAndOrganizationId(String warehouseLocation, Long organizationId);
+    // Keyset pagination (ordered by id, resumed after the last id seen)
+    @Query(DTO_SELECT + "WHERE i.organization.id = :organizationId AND i.id > :afterId ORDER BY i.id ASC")
+    List<InventoryItemDTO> findPageByOrganizationId(@Param("organizationId") Long organizationId, @Param("afterId") Long afterId, Pageable pageable);
     
-    List<InventoryItem> findByQuantityLessThanAndOrganizationId(Integer quantity, Long organizationId);
+    @Query(DTO_SELECT + "WHERE i.id = :id AND i.organization.id = :organizationId")
+    Optional<InventoryItemDTO> findDtoByIdAndOrganizationId(@Param("id") Long id, @Param("organizationId") Long organizationId);
     
     List<InventoryItem> findByOrganizationIdAndCategory(Long organizationId, String category);
     
@@ -37,6 +49,10 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, Lo
     
     Boolean existsByItemCode(String itemCode);
     
+    // Set-based uniqueness check for bulk imports
+    @Query("SELECT x.itemCode FROM InventoryItem x WHERE x.itemCode IN :values")
+    Set<String> findExistingItemCodes(@Param("values") Collection<String> values);
+    
     Long countByOrganizationId(Long organizationId);
     
     Long countByOrganizationIdAndStatus(Long organizationId, InventoryItem.StockStatus status);
@@ -1,6 +1,9 @@
 package com.pms.repository;
 
+import com.pms.dto.MilestoneDTO;
 import com.pms.entity.Milestone;
+import com.pms.summary.StatusCount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,20 +16,37 @@ import java.util.Optional;
 @Repository
 public interface MilestoneRepository extends JpaRepository<Milestone, Long> {
     
-    // Multi-tenancy support methods (through project.organization)
-    @Query("SELECT m FROM Milestone m WHERE m.project.organization.id = :organizationId")
+    // Multi-tenancy support methods (denormalized organization_id, no project join)
+    @Query("SELECT m FROM Milestone m WHERE m.organization.id = :organizationId")
     List<Milestone> findByOrganizationId(@Param("organizationId") Long organizationId);
     
-    @Query("SELECT m FROM Milestone m WHERE m.id = :id AND m.project.organization.id = :organizationId")
+    @Query("SELECT m FROM Milestone m WHERE m.id = :id AND m.organization.id = :organizationId")
     Optional<Milestone> findByIdAndOrganizationId(@Param("id") Long id, @Param("organizationId") Long organizationId);
     
-    @Query("SELECT m FROM Milestone m WHERE m.project.id = :projectId AND m.project.organization.id = :organizationId")
+    @Query("SELECT m FROM Milestone m WHERE m.project.id = :projectId AND m.organization.id = :organizationId")
     List<Milestone> findByProjectIdAndOrganizationId(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId);
     
-    @Query("SELECT m FROM Milestone m WHERE m.project.id = :projectId AND m.status = :status AND m.project.organization.id = :organizationId")
+    // DTO projections: one statement per page, no lazy association loads per row
+    String DTO_SELECT = "SELECT new com.pms.dto.MilestoneDTO(" +
+           "m.id, m.name, m.description, m.dueDate, m.status, m.progress, p.id, p.name, o.id, o.name, " +
+           "m.completedDate, m.notes, m.createdAt, m.updatedAt) " +
+           "FROM Milestone m JOIN m.project p LEFT JOIN m.organization o ";
+    
+    // Keyset pagination (ordered by id, resumed after the last id seen)
+    @Query(DTO_SELECT + "WHERE m.organization.id = :organizationId AND m.id > :afterId ORDER BY m.id ASC")
+    List<MilestoneDTO> findPageByOrganizationId(@Param("organizationId") Long organizationId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE p.id = :projectId AND m.organization.id = :organizationId AND m.id > :afterId ORDER BY m.id ASC")
+    List<MilestoneDTO> findPageByProjectIdAndOrganizationId(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId,
+                                                     @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE m.id = :id AND m.organization.id = :organizationId")
+    Optional<MilestoneDTO> findDtoByIdAndOrganizationId(@Param("id") Long id, @Param("organizationId") Long organizationId);
+    
+    @Query("SELECT m FROM Milestone m WHERE m.project.id = :projectId AND m.status = :status AND m.organization.id = :organizationId")
     List<Milestone> findByProjectIdAndStatusAndOrganizationId(@Param("projectId") Long projectId, @Param("status") Milestone.MilestoneStatus status, @Param("organizationId") Long organizationId);
     
-    @Query("SELECT m FROM Milestone m WHERE m.project.organization.id = :organizationId AND m.status = :status")
+    @Query("SELECT m FROM Milestone m WHERE m.organization.id = :organizationId AND m.status = :status")
     List<Milestone> findByOrganizationIdAndStatus(@Param("organizationId") Long organizationId, @Param("status") Milestone.MilestoneStatus status);
     
     List<Milestone> findByProjectIdAndStatus(Long projectId, Milestone.MilestoneStatus status);
@@ -36,4 +56,13 @@ public interface MilestoneRepository extends JpaRepository<Milestone, Long> {
     Long countByProjectId(Long projectId);
     
     Long countByProjectIdAndStatus(Long projectId, Milestone.MilestoneStatus status);
+    
+    // Status histogram of every project in the organization, for the dashboard summary
+    @Query("SELECT new com.pms.summary.StatusCount(m.project.id, m.status, COUNT(m)) FROM Milestone m " +
+           "WHERE m.organization.id = :organizationId GROUP BY m.project.id, m.status")
+    List<StatusCount> countByProjectAndStatus(@Param("organizationId") Long organizationId);
+    
+    @Query("SELECT new com.pms.summary.StatusCount(m.project.id, m.status, COUNT(m)) FROM Milestone m " +
+           "WHERE m.project.id = :projectId GROUP BY m.project.id, m.status")
+    List<StatusCount> countByStatusForProject(@Param("projectId") Long projectId);
 }
\ No newline at end of file
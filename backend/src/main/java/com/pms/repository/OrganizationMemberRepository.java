@@ -1,8 +1,11 @@
 package com.pms.repository;
 
+import com.pms.cache.MembershipRole;
 import com.pms.entity.Organization;
 import com.pms.entity.OrganizationMember;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,6 +20,10 @@ public interface OrganizationMemberRepository extends JpaRepository<Organization
     
     Optional<OrganizationMember> findByOrganizationIdAndUserId(Long organizationId, String userId);
     
+    @Query("SELECT new com.pms.cache.MembershipRole(m.organization.id, m.role) FROM OrganizationMember m " +
+           "WHERE m.userId = :userId")
+    List<MembershipRole> findRolesByUserId(@Param("userId") String userId);
+    
     boolean existsByOrganizationIdAndUserId(Long organizationId, String userId);
     
     void deleteByOrganizationIdAndUserId(Long organizationId, String userId);
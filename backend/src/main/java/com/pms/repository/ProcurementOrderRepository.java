@@ -1,31 +1,43 @@
 package com.pms.repository;
 
 import com.pms.entity.ProcurementOrder;
+import com.pms.summary.StatusCount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface ProcurementOrderRepository extends JpaRepository<ProcurementOrder, Long> {
     
-    // Multi-tenancy support methods (through project.organization)
-    @Query("SELECT po FROM ProcurementOrder po WHERE po.project.organization.id = :organizationId")
+    // Multi-tenancy support methods (denormalized organization_id, no project join)
+    @Query("SELECT po FROM ProcurementOrder po WHERE po.organization.id = :organizationId")
     List<ProcurementOrder> findByOrganizationId(@Param("organizationId") Long organizationId);
     
-    @Query("SELECT po FROM ProcurementOrder po WHERE po.id = :id AND po.project.organization.id = :organizationId")
+    @Query("SELECT po FROM ProcurementOrder po WHERE po.id = :id AND po.organization.id = :organizationId")
     Optional<ProcurementOrder> findByIdAndOrganizationId(@Param("id") Long id, @Param("organizationId") Long organizationId);
     
-    @Query("SELECT po FROM ProcurementOrder po WHERE po.project.id = :projectId AND po.project.organization.id = :organizationId")
+    @Query("SELECT po FROM ProcurementOrder po WHERE po.project.id = :projectId AND po.organization.id = :organizationId")
     List<ProcurementOrder> findByProjectIdAndOrganizationId(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId);
     
-    @Query("SELECT po FROM ProcurementOrder po WHERE po.status = :status AND po.project.organization.id = :organizationId")
+    // Keyset pagination (ordered by id, resumed after the last id seen)
+    @Query("SELECT po FROM ProcurementOrder po WHERE po.organization.id = :organizationId AND po.id > :afterId ORDER BY po.id ASC")
+    List<ProcurementOrder> findPageByOrganizationId(@Param("organizationId") Long organizationId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT po FROM ProcurementOrder po WHERE po.project.id = :projectId AND po.organization.id = :organizationId AND po.id > :afterId ORDER BY po.id ASC")
+    List<ProcurementOrder> findPageByProjectIdAndOrganizationId(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId,
+                                                     @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT po FROM ProcurementOrder po WHERE po.status = :status AND po.organization.id = :organizationId")
     List<ProcurementOrder> findByStatusAndOrganizationId(@Param("status") ProcurementOrder.OrderStatus status, @Param("organizationId") Long organizationId);
     
-    @Query("SELECT po FROM ProcurementOrder po WHERE po.project.organization.id = :organizationId AND po.status = :status")
+    @Query("SELECT po FROM ProcurementOrder po WHERE po.organization.id = :organizationId AND po.status = :status")
     List<ProcurementOrder> findByOrganizationIdAndStatus(@Param("organizationId") Long organizationId, @Param("status") ProcurementOrder.OrderStatus status);
     
     List<ProcurementOrder> findByProjectId(Long projectId);
@@ -36,7 +48,20 @@ public interface ProcurementOrderRepository extends JpaRepository<ProcurementOrd
     
     Boolean existsByPoNumber(String poNumber);
     
+    // Set-based uniqueness check for bulk imports
+    @Query("SELECT x.poNumber FROM ProcurementOrder x WHERE x.poNumber IN :values")
+    Set<String> findExistingPoNumbers(@Param("values") Collection<String> values);
+    
     Long countByOrganizationId(Long organizationId);
     
     Long countByOrganizationIdAndStatus(Long organizationId, ProcurementOrder.OrderStatus status);
+    
+    // Status histogram of every project in the organization, for the dashboard summary
+    @Query("SELECT new com.pms.summary.StatusCount(po.project.id, po.status, COUNT(po)) FROM ProcurementOrder po " +
+           "WHERE po.organization.id = :organizationId GROUP BY po.project.id, po.status")
+    List<StatusCount> countByProjectAndStatus(@Param("organizationId") Long organizationId);
+    
+    @Query("SELECT new com.pms.summary.StatusCount(po.project.id, po.status, COUNT(po)) FROM ProcurementOrder po " +
+           "WHERE po.project.id = :projectId GROUP BY po.project.id, po.status")
+    List<StatusCount> countByStatusForProject(@Param("projectId") Long projectId);
 }
\ No newline at end of file
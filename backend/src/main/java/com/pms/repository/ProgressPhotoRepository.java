@@ -1,6 +1,9 @@
 package com.pms.repository;
 
+import com.pms.dto.ProgressPhotoDTO;
 import com.pms.entity.ProgressPhoto;
+import com.pms.media.PhotoLocation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,16 +16,47 @@ import java.util.Optional;
 @Repository
 public interface ProgressPhotoRepository extends JpaRepository<ProgressPhoto, Long> {
     
-    // Multi-tenancy support methods (through project.organization)
-    @Query("SELECT pp FROM ProgressPhoto pp WHERE pp.project.organization.id = :organizationId")
+    // Multi-tenancy support methods (denormalized organization_id, no project join)
+    @Query("SELECT pp FROM ProgressPhoto pp WHERE pp.organization.id = :organizationId")
     List<ProgressPhoto> findByOrganizationId(@Param("organizationId") Long organizationId);
     
-    @Query("SELECT pp FROM ProgressPhoto pp WHERE pp.id = :id AND pp.project.organization.id = :organizationId")
+    @Query("SELECT pp FROM ProgressPhoto pp WHERE pp.id = :id AND pp.organization.id = :organizationId")
     Optional<ProgressPhoto> findByIdAndOrganizationId(@Param("id") Long id, @Param("organizationId") Long organizationId);
     
-    @Query("SELECT pp FROM ProgressPhoto pp WHERE pp.project.id = :projectId AND pp.project.organization.id = :organizationId")
+    @Query("SELECT pp FROM ProgressPhoto pp WHERE pp.project.id = :projectId AND pp.organization.id = :organizationId")
     List<ProgressPhoto> findByProjectIdAndOrganizationId(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId);
     
+    // DTO projections: one statement per page, no lazy association loads per row
+    String DTO_SELECT = "SELECT new com.pms.dto.ProgressPhotoDTO(" +
+           "pp.id, pp.title, pp.description, pp.photoUrl, pp.thumbnailUrl, pp.location, pp.latitude, " +
+           "pp.longitude, pp.takenDate, pp.category, p.id, p.name, o.id, o.name, u.id, u.name, pp.tags, " +
+           "pp.fileSize, pp.mimeType, pp.createdAt, pp.updatedAt) " +
+           "FROM ProgressPhoto pp JOIN pp.project p LEFT JOIN pp.organization o LEFT JOIN pp.uploadedBy u ";
+    
+    // Keyset pagination (ordered by id, resumed after the last id seen)
+    @Query(DTO_SELECT + "WHERE pp.organization.id = :organizationId AND pp.id > :afterId ORDER BY pp.id ASC")
+    List<ProgressPhotoDTO> findPageByOrganizationId(@Param("organizationId") Long organizationId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE p.id = :projectId AND pp.organization.id = :organizationId AND pp.id > :afterId ORDER BY pp.id ASC")
+    List<ProgressPhotoDTO> findPageByProjectIdAndOrganizationId(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId,
+                                                     @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(DTO_SELECT + "WHERE pp.id = :id AND pp.organization.id = :organizationId")
+    Optional<ProgressPhotoDTO> findDtoByIdAndOrganizationId(@Param("id") Long id, @Param("organizationId") Long organizationId);
+    
+    @Query(DTO_SELECT + "WHERE pp.id IN :ids AND pp.organization.id = :organizationId")
+    List<ProgressPhotoDTO> findDtosByIdInAndOrganizationId(@Param("ids") List<Long> ids, @Param("organizationId") Long organizationId);
+    
+    // Spatial index load: only the columns the in-memory grid needs
+    @Query("SELECT new com.pms.media.PhotoLocation(pp.id, pp.geohash, pp.latitude, pp.longitude) " +
+           "FROM ProgressPhoto pp WHERE pp.project.id = :projectId AND pp.geohash IS NOT NULL")
+    List<PhotoLocation> findLocationsByProjectId(@Param("projectId") Long projectId);
+    
+    // Geotagged photos stored before the geohash column existed
+    @Query("SELECT pp FROM ProgressPhoto pp WHERE pp.geohash IS NULL AND pp.latitude IS NOT NULL " +
+           "AND pp.longitude IS NOT NULL AND pp.id > :afterId ORDER BY pp.id ASC")
+    List<ProgressPhoto> findPageWithoutGeohash(@Param("afterId") Long afterId, Pageable pageable);
+    
     List<ProgressPhoto> findByProjectIdAndCategory(Long projectId, String category);
     
     List<ProgressPhoto> findByProjectIdAndTakenDateBetween(Long projectId, LocalDate startDate, LocalDate endDate);
@@ -30,4 +64,8 @@ public interface ProgressPhotoRepository extends JpaRepository<ProgressPhoto, Lo
     List<ProgressPhoto> findByProjectIdOrderByTakenDateDesc(Long projectId);
     
     Long countByProjectId(Long projectId);
+    
+    boolean existsByIdAndOrganizationId(Long id, Long organizationId);
+    
+    boolean existsByContentHashAndOrganizationId(String contentHash, Long organizationId);
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package com.pms.repository;
 
+import com.pms.cache.ProjectOwnership;
 import com.pms.entity.Project;
+import com.pms.summary.ProjectHeader;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +26,16 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     
     Optional<Project> findByIdAndOrganizationId(Long id, Long organizationId);
     
+    @Query("SELECT new com.pms.cache.ProjectOwnership(p.id, o.id, p.name, o.name) " +
+           "FROM Project p JOIN p.organization o WHERE p.id = :id")
+    Optional<ProjectOwnership> findOwnershipById(@Param("id") Long id);
+    
+    @Query("SELECT new com.pms.summary.ProjectHeader(p.id, p.name, p.status) FROM Project p " +
+           "WHERE p.organization.id = :organizationId ORDER BY p.id")
+    List<ProjectHeader> findHeadersByOrganizationId(@Param("organizationId") Long organizationId);
+    
+    List<Project> findByIdInAndOrganizationId(Collection<Long> ids, Long organizationId);
+    
     @Query("SELECT p FROM Project p JOIN p.members m WHERE m.id = :userId")
     List<Project> findByMemberId(@Param("userId") Long userId);
     
@@ -1,6 +1,8 @@
 package com.pms.repository;
 
 import com.pms.entity.QualityInspection;
+import com.pms.summary.StatusCount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -23,6 +25,14 @@ public interface QualityInspectionRepository extends JpaRepository<QualityInspec
     @Query("SELECT qi FROM QualityInspection qi WHERE qi.project.id = :projectId AND qi.project.organization.id = :organizationId")
     List<QualityInspection> findByProjectIdAndOrganizationId(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId);
     
+    // Keyset pagination (ordered by id, resumed after the last id seen)
+    @Query("SELECT qi FROM QualityInspection qi WHERE qi.project.organization.id = :organizationId AND qi.id > :afterId ORDER BY qi.id ASC")
+    List<QualityInspection> findPageByOrganizationId(@Param("organizationId") Long organizationId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT qi FROM QualityInspection qi WHERE qi.project.id = :projectId AND qi.project.organization.id = :organizationId AND qi.id > :afterId ORDER BY qi.id ASC")
+    List<QualityInspection> findPageByProjectIdAndOrganizationId(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId,
+                                                     @Param("afterId") Long afterId, Pageable pageable);
+    
     Optional<QualityInspection> findByInspectionNumber(String inspectionNumber);
     
     List<QualityInspection> findByProjectId(Long projectId);
@@ -54,4 +64,13 @@ public interface QualityInspectionRepository extends JpaRepository<QualityInspec
     Long countByProjectIdAndStatus(Long projectId, QualityInspection.InspectionStatus status);
     
     Long countByProjectIdAndResult(Long projectId, QualityInspection.InspectionResult result);
+    
+    // Status histogram of every project in the organization, for the dashboard summary
+    @Query("SELECT new com.pms.summary.StatusCount(qi.project.id, qi.status, COUNT(qi)) FROM QualityInspection qi " +
+           "WHERE qi.project.organization.id = :organizationId GROUP BY qi.project.id, qi.status")
+    List<StatusCount> countByProjectAndStatus(@Param("organizationId") Long organizationId);
+    
+    @Query("SELECT new com.pms.summary.StatusCount(qi.project.id, qi.status, COUNT(qi)) FROM QualityInspection qi " +
+           "WHERE qi.project.id = :projectId GROUP BY qi.project.id, qi.status")
+    List<StatusCount> countByStatusForProject(@Param("projectId") Long projectId);
 }
\ No newline at end of file
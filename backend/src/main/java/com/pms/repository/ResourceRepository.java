@@ -1,6 +1,7 @@
 package com.pms.repository;
 
 import com.pms.entity.Resource;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,6 +23,14 @@ public interface ResourceRepository extends JpaRepository<Resource, Long> {
     @Query("SELECT r FROM Resource r WHERE r.project.id = :projectId AND r.project.organization.id = :organizationId")
     List<Resource> findByProjectIdAndOrganizationId(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId);
     
+    // Keyset pagination (ordered by id, resumed after the last id seen)
+    @Query("SELECT r FROM Resource r WHERE r.project.organization.id = :organizationId AND r.id > :afterId ORDER BY r.id ASC")
+    List<Resource> findPageByOrganizationId(@Param("organizationId") Long organizationId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT r FROM Resource r WHERE r.project.id = :projectId AND r.project.organization.id = :organizationId AND r.id > :afterId ORDER BY r.id ASC")
+    List<Resource> findPageByProjectIdAndOrganizationId(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId,
+                                                     @Param("afterId") Long afterId, Pageable pageable);
+    
     @Query("SELECT r FROM Resource r WHERE r.task.id = :taskId AND r.project.organization.id = :organizationId")
     List<Resource> findByTaskIdAndOrganizationId(@Param("taskId") Long taskId, @Param("organizationId") Long organizationId);
     
@@ -1,6 +1,8 @@
 package com.pms.repository;
 
 import com.pms.entity.RiskRegister;
+import com.pms.summary.StatusCount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,6 +24,14 @@ public interface RiskRegisterRepository extends JpaRepository<RiskRegister, Long
     @Query("SELECT rr FROM RiskRegister rr WHERE rr.project.id = :projectId AND rr.project.organization.id = :organizationId")
     List<RiskRegister> findByProjectIdAndOrganizationId(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId);
     
+    // Keyset pagination (ordered by id, resumed after the last id seen)
+    @Query("SELECT rr FROM RiskRegister rr WHERE rr.project.organization.id = :organizationId AND rr.id > :afterId ORDER BY rr.id ASC")
+    List<RiskRegister> findPageByOrganizationId(@Param("organizationId") Long organizationId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT rr FROM RiskRegister rr WHERE rr.project.id = :projectId AND rr.project.organization.id = :organizationId AND rr.id > :afterId ORDER BY rr.id ASC")
+    List<RiskRegister> findPageByProjectIdAndOrganizationId(@Param("projectId") Long projectId, @Param("organizationId") Long organizationId,
+                                                     @Param("afterId") Long afterId, Pageable pageable);
+    
     List<RiskRegister> findByProjectIdAndStatus(Long projectId, RiskRegister.RiskStatus status);
     
     List<RiskRegister> findByProjectIdAndCategory(Long projectId, RiskRegister.RiskCategory category);
@@ -48,4 +58,8 @@ public interface RiskRegisterRepository extends JpaRepository<RiskRegister, Long
     Long countByProjectId(Long projectId);
     
     Long countByProjectIdAndStatus(Long projectId, RiskRegister.RiskStatus status);
+    
+    @Query("SELECT new com.pms.summary.StatusCount(rr.project.id, rr.status, COUNT(rr)) FROM RiskRegister rr " +
+           "WHERE rr.project.id = :projectId GROUP BY rr.project.id, rr.status")
+    List<StatusCount> countByStatusForProject(@Param("projectId") Long projectId);
 }
\ No newline at end of file
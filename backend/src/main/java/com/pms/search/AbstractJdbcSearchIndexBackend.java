@@ -0,0 +1,57 @@
+package com.pms.search;
+
+import com.pms.dto.SearchHitDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Shared plumbing for backends that keep entries in the {@code search_entries} table.
+ */
+@RequiredArgsConstructor
+public abstract class AbstractJdbcSearchIndexBackend implements SearchIndexBackend {
+    
+    protected static final RowMapper<SearchHitDTO> HIT_ROW_MAPPER = (rs, rowNum) -> SearchHitDTO.builder()
+            .entityType(SearchEntityType.valueOf(rs.getString("entity_type")))
+            .entityId(rs.getLong("entity_id"))
+            .projectId(rs.getObject("project_id", Long.class))
+            .title(rs.getString("title"))
+            .score(rs.getDouble("score"))
+            .build();
+    
+    protected final JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public void upsert(List<SearchEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(upsertSql(), entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.getKey());
+            ps.setString(2, entry.getEntityType().name());
+            ps.setLong(3, entry.getEntityId());
+            ps.setLong(4, entry.getOrganizationId());
+            ps.setObject(5, entry.getProjectId(), Types.BIGINT);
+            ps.setString(6, entry.getTitle());
+            ps.setString(7, entry.getContent());
+        });
+    }
+    
+    @Override
+    public void delete(List<String> entryKeys) {
+        if (entryKeys.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM search_entries WHERE entry_key = ?", entryKeys, entryKeys.size(),
+                (ps, entryKey) -> ps.setString(1, entryKey));
+    }
+    
+    /**
+     * Insert-or-replace statement taking entry_key, entity_type, entity_id,
+     * organization_id, project_id, title and content, in that order
+     */
+    protected abstract String upsertSql();
+}
@@ -0,0 +1,194 @@
+package com.pms.search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view of a segment written by {@link DocumentIndexSegmentWriter}.
+ * The file is memory-mapped, so lookups read straight from the page cache.
+ * All reads use absolute offsets, which makes one instance safe to share
+ * between query threads.
+ */
+final class DocumentIndexSegment {
+
+    @FunctionalInterface
+    interface PostingConsumer {
+        void accept(int entry, int termFrequency);
+    }
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final int entryCount;
+    private final int termCount;
+    private final int textDocCount;
+    private final long totalLength;
+    private final int entriesOffset;
+    private final int storedOffset;
+    private final int postingsOffset;
+    private final int termIndexOffset;
+    private final int termBytesOffset;
+
+    private DocumentIndexSegment(Path file, ByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.capacity() < DocumentIndexSegmentWriter.HEADER_SIZE
+                || buffer.getInt(0) != DocumentIndexSegmentWriter.MAGIC
+                || buffer.getInt(4) != DocumentIndexSegmentWriter.VERSION) {
+            throw new IOException("Not a document index segment: " + file);
+        }
+        this.entryCount = buffer.getInt(8);
+        this.termCount = buffer.getInt(12);
+        this.textDocCount = buffer.getInt(16);
+        this.totalLength = buffer.getLong(24);
+        this.entriesOffset = (int) buffer.getLong(32);
+        this.storedOffset = (int) buffer.getLong(40);
+        this.postingsOffset = (int) buffer.getLong(48);
+        this.termIndexOffset = (int) buffer.getLong(56);
+        this.termBytesOffset = (int) buffer.getLong(64);
+    }
+
+    static DocumentIndexSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new DocumentIndexSegment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    String name() {
+        return file.getFileName().toString();
+    }
+
+    long sizeInBytes() {
+        return buffer.capacity();
+    }
+
+    int entryCount() {
+        return entryCount;
+    }
+
+    int termCount() {
+        return termCount;
+    }
+
+    /**
+     * Entries that are documents rather than deletions
+     */
+    int textDocCount() {
+        return textDocCount;
+    }
+
+    long totalLength() {
+        return totalLength;
+    }
+
+    long seq(int entry) {
+        return buffer.getLong(entriesOffset + entry * DocumentIndexSegmentWriter.ENTRY_SIZE);
+    }
+
+    long documentId(int entry) {
+        return buffer.getLong(entriesOffset + entry * DocumentIndexSegmentWriter.ENTRY_SIZE + 8);
+    }
+
+    long projectId(int entry) {
+        return buffer.getLong(entriesOffset + entry * DocumentIndexSegmentWriter.ENTRY_SIZE + 16);
+    }
+
+    int length(int entry) {
+        return buffer.getInt(entriesOffset + entry * DocumentIndexSegmentWriter.ENTRY_SIZE + 24);
+    }
+
+    String fileName(int entry) {
+        return storedField(storedStart(entry));
+    }
+
+    String textKey(int entry) {
+        int start = storedStart(entry);
+        return storedField(start + 2 + (buffer.getShort(start) & 0xFFFF));
+    }
+
+    DocumentIndexSegmentWriter.Entry entry(int entry) {
+        return new DocumentIndexSegmentWriter.Entry(seq(entry), documentId(entry), projectId(entry), length(entry),
+                fileName(entry), textKey(entry));
+    }
+
+    /**
+     * @return Index of the term in the dictionary, or -1
+     */
+    int findTerm(String term) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = term(mid).compareTo(term);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    String term(int termIndex) {
+        int start = termIndexEntry(termIndex);
+        int from = buffer.getInt(start);
+        int to = buffer.getInt(start + DocumentIndexSegmentWriter.TERM_ENTRY_SIZE);
+        byte[] bytes = new byte[to - from];
+        buffer.get(termBytesOffset + from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    int docFreq(int termIndex) {
+        return buffer.getInt(termIndexEntry(termIndex) + 4);
+    }
+
+    void forEachPosting(int termIndex, PostingConsumer consumer) {
+        int start = termIndexEntry(termIndex);
+        int df = buffer.getInt(start + 4);
+        int position = postingsOffset + (int) buffer.getLong(start + 8);
+        int entry = -1;
+        for (int i = 0; i < df; i++) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            int tf = 0;
+            shift = 0;
+            do {
+                b = buffer.get(position++);
+                tf |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            entry += delta;
+            consumer.accept(entry, tf);
+        }
+    }
+
+    private int termIndexEntry(int termIndex) {
+        return termIndexOffset + termIndex * DocumentIndexSegmentWriter.TERM_ENTRY_SIZE;
+    }
+
+    private int storedStart(int entry) {
+        return storedOffset + buffer.getInt(entriesOffset + entry * DocumentIndexSegmentWriter.ENTRY_SIZE + 28);
+    }
+
+    private String storedField(int start) {
+        int length = buffer.getShort(start) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(start + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
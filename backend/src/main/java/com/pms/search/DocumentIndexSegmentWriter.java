@@ -0,0 +1,189 @@
+package com.pms.search;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes one immutable document index segment. The caller adds all entries
+ * up front and then streams terms in ascending order, each with its postings
+ * in ascending entry order. Only the term dictionary is held in memory.
+ *
+ * <pre>
+ * header    magic, version, entry/term/text-doc counts, total token count, section offsets
+ * entries   per entry: seq, documentId, projectId, token count (-1 = deletion), stored-field offset
+ * stored    per entry: file name and text storage key (length-prefixed UTF-8)
+ * postings  per term: (entry delta, term frequency) varints
+ * terms     per term: term-byte offset, document frequency, postings offset; plus an end sentinel
+ * bytes     term text, UTF-8, in String order
+ * </pre>
+ */
+final class DocumentIndexSegmentWriter implements Closeable {
+
+    static final int MAGIC = 0x504D5349;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 72;
+    static final int ENTRY_SIZE = 32;
+    static final int TERM_ENTRY_SIZE = 16;
+    private static final int MAX_STORED_FIELD_BYTES = 1024;
+
+    record Entry(long seq, long documentId, long projectId, int length, String fileName, String textKey) {
+
+        static Entry deletion(long seq, long documentId) {
+            return new Entry(seq, documentId, 0L, -1, "", "");
+        }
+
+        boolean isDeletion() {
+            return length < 0;
+        }
+    }
+
+    private final FileChannel channel;
+    private final DataOutputStream out;
+    private final int entryCount;
+    private final int textDocCount;
+    private final long totalLength;
+    private final long postingsOffset;
+    private final ByteArrayOutputStream termBytes = new ByteArrayOutputStream();
+    private int[] termByteStarts = new int[1024];
+    private int[] docFreqs = new int[1024];
+    private long[] postingStarts = new long[1024];
+    private int termCount;
+    private String lastTerm;
+    private int currentDf;
+    private int lastEntry;
+    private long currentStart;
+
+    DocumentIndexSegmentWriter(Path file, List<Entry> entries) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+        this.entryCount = entries.size();
+        out.write(new byte[HEADER_SIZE]);
+
+        ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        DataOutputStream storedOut = new DataOutputStream(stored);
+        int textDocs = 0;
+        long tokens = 0;
+        for (Entry entry : entries) {
+            out.writeLong(entry.seq());
+            out.writeLong(entry.documentId());
+            out.writeLong(entry.projectId());
+            out.writeInt(entry.length());
+            out.writeInt(stored.size());
+            writeStoredField(storedOut, entry.fileName());
+            writeStoredField(storedOut, entry.textKey());
+            if (!entry.isDeletion()) {
+                textDocs++;
+                tokens += entry.length();
+            }
+        }
+        stored.writeTo(out);
+        this.textDocCount = textDocs;
+        this.totalLength = tokens;
+        this.postingsOffset = out.size();
+    }
+
+    void startTerm(String term) {
+        if (lastTerm != null && lastTerm.compareTo(term) >= 0) {
+            throw new IllegalArgumentException("Terms must be added in ascending order");
+        }
+        lastTerm = term;
+        currentDf = 0;
+        lastEntry = -1;
+        currentStart = out.size() - postingsOffset;
+    }
+
+    void addPosting(int entry, int termFrequency) throws IOException {
+        writeVarInt(entry - lastEntry);
+        writeVarInt(termFrequency);
+        lastEntry = entry;
+        currentDf++;
+    }
+
+    void endTerm() {
+        if (currentDf == 0) {
+            return;
+        }
+        ensureTermCapacity();
+        termByteStarts[termCount] = termBytes.size();
+        docFreqs[termCount] = currentDf;
+        postingStarts[termCount] = currentStart;
+        termCount++;
+        termBytes.writeBytes(lastTerm.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Write the term dictionary and header and sync the file
+     */
+    void finish() throws IOException {
+        long postingsEnd = out.size() - postingsOffset;
+        long termIndexOffset = out.size();
+        for (int i = 0; i < termCount; i++) {
+            out.writeInt(termByteStarts[i]);
+            out.writeInt(docFreqs[i]);
+            out.writeLong(postingStarts[i]);
+        }
+        out.writeInt(termBytes.size());
+        out.writeInt(0);
+        out.writeLong(postingsEnd);
+        long termBytesOffset = out.size();
+        termBytes.writeTo(out);
+        out.flush();
+        if (channel.size() >= Integer.MAX_VALUE) {
+            throw new IOException("Segment exceeds the 2 GB limit of a single mapping");
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(entryCount).putInt(termCount).putInt(textDocCount).putInt(0)
+                .putLong(totalLength).putLong(HEADER_SIZE).putLong(HEADER_SIZE + (long) entryCount * ENTRY_SIZE)
+                .putLong(postingsOffset).putLong(termIndexOffset).putLong(termBytesOffset);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            out.close();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static void writeStoredField(DataOutputStream storedOut, String value) throws IOException {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_STORED_FIELD_BYTES);
+        storedOut.writeShort(length);
+        storedOut.write(bytes, 0, length);
+    }
+
+    private void ensureTermCapacity() {
+        if (termCount == termByteStarts.length) {
+            int capacity = termCount * 2;
+            termByteStarts = Arrays.copyOf(termByteStarts, capacity);
+            docFreqs = Arrays.copyOf(docFreqs, capacity);
+            postingStarts = Arrays.copyOf(postingStarts, capacity);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.pms.search;
+
+import com.pms.dto.DocumentSearchHitDTO;
+import com.pms.storage.StorageBackend;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Full-text index over the text extracted from uploaded documents. Each
+ * organization has its own {@link OrganizationDocumentIndex} directory under
+ * {@code search.documents.index-dir}, opened on first use.
+ *
+ * <p>Additions are buffered in memory and written out as segments by a single
+ * background thread, either when an organization's buffer reaches
+ * {@code search.documents.flush-docs} or every
+ * {@code search.documents.flush-interval-ms}. The same thread merges
+ * segments. Searches read the memory-mapped segments and never query the
+ * database.</p>
+ */
+@Slf4j
+@Component
+public class DocumentTextIndex {
+
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final int SNIPPET_SCAN_CHARS = 256 * 1024;
+    private static final int SNIPPET_CONTEXT_CHARS = 80;
+
+    private final StorageBackend storageBackend;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path indexDirectory;
+    private final int flushDocs;
+    private final int mergeFactor;
+    private final Map<Long, OrganizationDocumentIndex> organizations = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService writer;
+
+    public DocumentTextIndex(StorageBackend storageBackend,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${search.documents.index-dir:./data/document-index}") String indexDirectory,
+                             @Value("${search.documents.flush-docs:100}") int flushDocs,
+                             @Value("${search.documents.flush-interval-ms:2000}") long flushIntervalMs,
+                             @Value("${search.documents.merge-factor:10}") int mergeFactor) {
+        if (mergeFactor < 2) {
+            throw new IllegalArgumentException("search.documents.merge-factor must be at least 2");
+        }
+        this.storageBackend = storageBackend;
+        this.eventPublisher = eventPublisher;
+        this.indexDirectory = Path.of(indexDirectory).toAbsolutePath().normalize();
+        this.flushDocs = flushDocs;
+        this.mergeFactor = mergeFactor;
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "document-index-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::flushAndMergeAll, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Index (or re-index) a document from its extracted text. The text is
+     * streamed through the tokenizer, so only the term counts are held.
+     */
+    public void add(Long organizationId, Long documentId, Long projectId, String fileName, String textStorageKey)
+            throws IOException {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int[] length = new int[1];
+        Consumer<String> counter = token -> {
+            termFrequencies.merge(token, 1, Integer::sum);
+            length[0]++;
+        };
+        if (textStorageKey != null) {
+            try (Reader text = new InputStreamReader(Channels.newInputStream(storageBackend.open(textStorageKey)),
+                    StandardCharsets.UTF_8)) {
+                SearchTokenizer.tokenize(text, MAX_TOKEN_LENGTH, counter);
+            }
+        }
+        if (fileName != null) {
+            SearchTokenizer.tokenize(new StringReader(fileName), MAX_TOKEN_LENGTH, counter);
+        }
+
+        OrganizationDocumentIndex index = indexFor(organizationId);
+        index.add(documentId, projectId, fileName, textStorageKey, termFrequencies, length[0]);
+        if (index.bufferedCount() >= flushDocs) {
+            writer.execute(() -> flushAndMerge(organizationId, index));
+        }
+    }
+
+    public void remove(Long organizationId, Long documentId) {
+        indexFor(organizationId).remove(documentId);
+    }
+
+    /**
+     * Rank one organization's documents against the query
+     * @param projectId Restrict hits to one project, or null for all
+     */
+    public List<DocumentSearchHitDTO> search(Long organizationId, String query, Long projectId, int limit) {
+        List<String> terms = SearchTokenizer.tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        Set<String> termSet = new HashSet<>(terms);
+        return indexFor(organizationId).search(terms, projectId, limit).stream()
+                .map(hit -> DocumentSearchHitDTO.builder()
+                        .documentId(hit.documentId())
+                        .projectId(hit.projectId())
+                        .fileName(hit.fileName())
+                        .score(hit.score())
+                        .snippet(snippet(hit.textKey(), termSet))
+                        .build())
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        organizations.forEach((organizationId, index) -> {
+            try {
+                index.flush();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not flush document index of organization {}", organizationId, e);
+            }
+        });
+    }
+
+    private OrganizationDocumentIndex indexFor(Long organizationId) {
+        return organizations.computeIfAbsent(organizationId, id -> {
+            try {
+                return OrganizationDocumentIndex.open(indexDirectory.resolve("org-" + id), mergeFactor);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open document index of organization " + id, e);
+            }
+        });
+    }
+
+    private void flushAndMergeAll() {
+        organizations.forEach(this::flushAndMerge);
+    }
+
+    private void flushAndMerge(Long organizationId, OrganizationDocumentIndex index) {
+        try {
+            List<Long> documentIds = index.flush();
+            if (!documentIds.isEmpty()) {
+                eventPublisher.publishEvent(new DocumentsIndexedEvent(documentIds));
+            }
+            while (index.maybeMerge()) {
+                // Merging one tier can fill the next
+            }
+        } catch (Exception e) {
+            log.warn("Document index maintenance failed for organization {}", organizationId, e);
+        }
+    }
+
+    /**
+     * Cut a window of text around the first query term found near the start
+     * of the document, or the opening lines if none is found there
+     */
+    private String snippet(String textStorageKey, Set<String> terms) {
+        if (textStorageKey == null) {
+            return null;
+        }
+        char[] text = new char[SNIPPET_SCAN_CHARS];
+        int length = 0;
+        try (Reader reader = new InputStreamReader(Channels.newInputStream(storageBackend.open(textStorageKey)),
+                StandardCharsets.UTF_8)) {
+            int read;
+            while (length < text.length && (read = reader.read(text, length, text.length - length)) > 0) {
+                length += read;
+            }
+        } catch (IOException e) {
+            log.debug("No extracted text for snippet at {}", textStorageKey, e);
+            return null;
+        }
+
+        int matchStart = 0;
+        int matchEnd = 0;
+        int i = 0;
+        while (i < length) {
+            int codePoint = Character.codePointAt(text, i, length);
+            if (!SearchTokenizer.isTokenChar(codePoint)) {
+                i += Character.charCount(codePoint);
+                continue;
+            }
+            int start = i;
+            while (i < length && SearchTokenizer.isTokenChar(codePoint = Character.codePointAt(text, i, length))) {
+                i += Character.charCount(codePoint);
+            }
+            if (terms.contains(new String(text, start, i - start).toLowerCase(Locale.ROOT))) {
+                matchStart = start;
+                matchEnd = i;
+                break;
+            }
+        }
+
+        int from = Math.max(0, matchStart - SNIPPET_CONTEXT_CHARS);
+        int to = Math.min(length, matchEnd + 2 * SNIPPET_CONTEXT_CHARS);
+        while (from > 0 && from < matchStart && !Character.isWhitespace(text[from - 1])) {
+            from++;
+        }
+        while (to < length && to > matchEnd && !Character.isWhitespace(text[to])) {
+            to--;
+        }
+        if (to > from && Character.isHighSurrogate(text[to - 1])) {
+            to--;
+        }
+        String snippet = new String(text, from, to - from).replaceAll("\\s+", " ").strip();
+        return (from > 0 ? "…" : "") + snippet + (to < length ? "…" : "");
+    }
+}
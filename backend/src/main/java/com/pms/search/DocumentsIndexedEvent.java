@@ -0,0 +1,10 @@
+package com.pms.search;
+
+import java.util.List;
+
+/**
+ * Published once added documents have been written to an index segment on
+ * disk, so their text no longer has to be fed in again after a restart.
+ */
+public record DocumentsIndexedEvent(List<Long> documentIds) {
+}
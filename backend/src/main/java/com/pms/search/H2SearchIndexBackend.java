@@ -0,0 +1,65 @@
+package com.pms.search;
+
+import com.pms.dto.SearchHitDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * H2 backend built on H2's native full-text search, an inverted word index
+ * kept in the FT schema and maintained by triggers on {@code search_entries}.
+ * Native FT scores every match equally, so hits are ranked by whether the
+ * query also occurs in the title.
+ */
+@Slf4j
+public class H2SearchIndexBackend extends AbstractJdbcSearchIndexBackend {
+    
+    public H2SearchIndexBackend(JdbcTemplate jdbcTemplate) {
+        super(jdbcTemplate);
+    }
+    
+    @Override
+    public void initialize() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS search_entries (" +
+                "entry_key VARCHAR(64) PRIMARY KEY, " +
+                "entity_type VARCHAR(32) NOT NULL, " +
+                "entity_id BIGINT NOT NULL, " +
+                "organization_id BIGINT NOT NULL, " +
+                "project_id BIGINT, " +
+                "title VARCHAR(500), " +
+                "content CLOB)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_search_entries_org ON search_entries (organization_id)");
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS FT_INIT FOR 'org.h2.fulltext.FullText.init'");
+        jdbcTemplate.execute("CALL FT_INIT()");
+        Integer indexes = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM FT.INDEXES WHERE \"TABLE\" = 'SEARCH_ENTRIES'", Integer.class);
+        if (indexes == null || indexes == 0) {
+            jdbcTemplate.execute("CALL FT_CREATE_INDEX('PUBLIC', 'SEARCH_ENTRIES', 'TITLE,CONTENT')");
+        }
+        log.info("H2 native full-text search index initialized");
+    }
+    
+    @Override
+    protected String upsertSql() {
+        return "MERGE INTO search_entries " +
+                "(entry_key, entity_type, entity_id, organization_id, project_id, title, content) " +
+                "KEY (entry_key) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    }
+    
+    @Override
+    public List<SearchHitDTO> search(Long organizationId, String query, int limit) {
+        List<String> tokens = SearchTokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        String words = String.join(" ", tokens);
+        return jdbcTemplate.query("SELECT e.entity_type, e.entity_id, e.project_id, e.title, " +
+                        "CASE WHEN LOCATE(?, LOWER(e.title)) > 0 THEN 2.0 ELSE 1.0 END AS score " +
+                        "FROM FT_SEARCH_DATA(?, 0, 0) ft " +
+                        "JOIN search_entries e ON e.entry_key = ft.KEYS[1] " +
+                        "WHERE ft.\"TABLE\" = 'SEARCH_ENTRIES' AND e.organization_id = ? " +
+                        "ORDER BY score DESC, e.entity_id ASC LIMIT ?",
+                HIT_ROW_MAPPER, tokens.get(0), words, organizationId, limit);
+    }
+}
@@ -0,0 +1,8 @@
+package com.pms.search;
+
+/**
+ * What {@link DocumentTextIndex} needs to index one analyzed document
+ */
+public record IndexableDocument(Long documentId, Long organizationId, Long projectId, String fileName,
+                                String textStorageKey) {
+}
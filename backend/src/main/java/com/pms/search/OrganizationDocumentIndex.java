@@ -0,0 +1,546 @@
+package com.pms.search;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Full-text index of one organization's documents, kept on disk as immutable
+ * segments plus a small in-memory buffer of recent changes.
+ *
+ * <p>Every add or delete gets a sequence number. A document's live version is
+ * the entry with its highest sequence number; older entries stay in their
+ * segments until a merge drops them, and deletions are recorded as entries
+ * without text. The list of segments is kept in a manifest that is replaced
+ * atomically, so a crash leaves either the old or the new set.</p>
+ *
+ * <p>Adds, deletes and searches may run on any thread. Flushes and merges
+ * must come from a single writer thread.</p>
+ */
+@Slf4j
+final class OrganizationDocumentIndex {
+
+    private static final String MANIFEST = "manifest";
+    private static final String SEGMENT_PREFIX = "seg-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    record Hit(long documentId, long projectId, String fileName, String textKey, double score) {
+    }
+
+    private record PendingDocument(long seq, long documentId, long projectId, String fileName, String textKey,
+                                   Map<String, Integer> termFrequencies, int length) {
+
+        boolean isDeletion() {
+            return termFrequencies == null;
+        }
+    }
+
+    private record LiveDocument(long seq, int length) {
+    }
+
+    private static final class Candidate {
+        double score;
+        DocumentIndexSegment segment;
+        int entry;
+        PendingDocument pending;
+    }
+
+    private final Path directory;
+    private final int mergeFactor;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, LiveDocument> live = new HashMap<>();
+    private List<DocumentIndexSegment> segments = List.of();
+    private List<PendingDocument> buffer = new ArrayList<>();
+    private List<PendingDocument> flushing = List.of();
+    private long liveLength;
+    private long nextSeq = 1;
+    private long nextGeneration = 1;
+
+    private OrganizationDocumentIndex(Path directory, int mergeFactor) {
+        this.directory = directory;
+        this.mergeFactor = mergeFactor;
+    }
+
+    /**
+     * Open the index in {@code directory}, creating it if needed. Segment
+     * files not listed in the manifest are left over from an interrupted
+     * flush or merge and are deleted.
+     */
+    static OrganizationDocumentIndex open(Path directory, int mergeFactor) throws IOException {
+        Files.createDirectories(directory);
+        OrganizationDocumentIndex index = new OrganizationDocumentIndex(directory, mergeFactor);
+        Set<String> listed = new HashSet<>();
+        List<DocumentIndexSegment> segments = new ArrayList<>();
+        Path manifest = directory.resolve(MANIFEST);
+        if (Files.exists(manifest)) {
+            for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+                int separator = line.indexOf('=');
+                if (separator < 0) {
+                    continue;
+                }
+                String value = line.substring(separator + 1);
+                switch (line.substring(0, separator)) {
+                    case "nextSeq" -> index.nextSeq = Long.parseLong(value);
+                    case "nextGeneration" -> index.nextGeneration = Long.parseLong(value);
+                    case "segment" -> {
+                        listed.add(value);
+                        segments.add(DocumentIndexSegment.open(directory.resolve(value)));
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (!name.equals(MANIFEST) && !listed.contains(name)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+
+        Map<Long, long[]> latest = new HashMap<>();
+        for (DocumentIndexSegment segment : segments) {
+            for (int entry = 0; entry < segment.entryCount(); entry++) {
+                long seq = segment.seq(entry);
+                long[] current = latest.get(segment.documentId(entry));
+                if (current == null || current[0] < seq) {
+                    latest.put(segment.documentId(entry), new long[]{seq, segment.length(entry)});
+                }
+                index.nextSeq = Math.max(index.nextSeq, seq + 1);
+            }
+        }
+        latest.forEach((documentId, version) -> {
+            if (version[1] >= 0) {
+                index.live.put(documentId, new LiveDocument(version[0], (int) version[1]));
+                index.liveLength += version[1];
+            }
+        });
+        index.segments = List.copyOf(segments);
+        return index;
+    }
+
+    /**
+     * Add or replace a document
+     */
+    void add(long documentId, long projectId, String fileName, String textKey,
+             Map<String, Integer> termFrequencies, int length) {
+        lock.writeLock().lock();
+        try {
+            long seq = nextSeq++;
+            buffer.add(new PendingDocument(seq, documentId, projectId, fileName, textKey, termFrequencies, length));
+            setLive(documentId, new LiveDocument(seq, length));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long documentId) {
+        lock.writeLock().lock();
+        try {
+            buffer.add(new PendingDocument(nextSeq++, documentId, 0L, "", "", null, -1));
+            setLive(documentId, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int bufferedCount() {
+        lock.readLock().lock();
+        try {
+            return buffer.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Write the buffered changes to a new segment
+     * @return Ids of the documents (not deletions) that are now on disk
+     */
+    List<Long> flush() throws IOException {
+        List<PendingDocument> batch;
+        long generation;
+        lock.writeLock().lock();
+        try {
+            if (buffer.isEmpty()) {
+                return List.of();
+            }
+            batch = buffer;
+            flushing = batch;
+            buffer = new ArrayList<>();
+            generation = nextGeneration++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        DocumentIndexSegment segment;
+        try {
+            segment = writeSegment(generation, batch);
+        } catch (IOException | RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                batch.addAll(buffer);
+                buffer = batch;
+                flushing = List.of();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            List<DocumentIndexSegment> updated = new ArrayList<>(segments);
+            updated.add(segment);
+            segments = List.copyOf(updated);
+            flushing = List.of();
+            writeManifest();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<Long> documentIds = new ArrayList<>();
+        for (PendingDocument document : batch) {
+            if (!document.isDeletion()) {
+                documentIds.add(document.documentId());
+            }
+        }
+        return documentIds;
+    }
+
+    /**
+     * Merge the smallest tier once it holds {@code mergeFactor} segments.
+     * Segments are tiered by the order of magnitude of their entry count,
+     * so each entry is rewritten about log(n) times over the index's life.
+     * @return true if a merge ran
+     */
+    boolean maybeMerge() throws IOException {
+        List<DocumentIndexSegment> current;
+        lock.readLock().lock();
+        try {
+            current = segments;
+        } finally {
+            lock.readLock().unlock();
+        }
+        Map<Integer, List<DocumentIndexSegment>> tiers = new TreeMap<>();
+        for (DocumentIndexSegment segment : current) {
+            tiers.computeIfAbsent(tier(segment), t -> new ArrayList<>()).add(segment);
+        }
+        for (List<DocumentIndexSegment> tier : tiers.values()) {
+            if (tier.size() >= mergeFactor) {
+                merge(tier, tier.size() == current.size());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rank live documents by BM25 over all query terms; a document matches
+     * if it contains any of them
+     */
+    List<Hit> search(List<String> queryTerms, Long projectId, int limit) {
+        Set<String> terms = new LinkedHashSet<>(queryTerms);
+        lock.readLock().lock();
+        try {
+            if (terms.isEmpty() || live.isEmpty()) {
+                return List.of();
+            }
+            int documentCount = live.size();
+            double averageLength = Math.max(1.0, (double) liveLength / documentCount);
+            Map<Long, Candidate> candidates = new HashMap<>();
+            for (String term : terms) {
+                int[] termIndexes = new int[segments.size()];
+                int docFreq = 0;
+                for (int i = 0; i < segments.size(); i++) {
+                    termIndexes[i] = segments.get(i).findTerm(term);
+                    if (termIndexes[i] >= 0) {
+                        docFreq += segments.get(i).docFreq(termIndexes[i]);
+                    }
+                }
+                for (PendingDocument pending : flushing) {
+                    docFreq += !pending.isDeletion() && pending.termFrequencies().containsKey(term) ? 1 : 0;
+                }
+                for (PendingDocument pending : buffer) {
+                    docFreq += !pending.isDeletion() && pending.termFrequencies().containsKey(term) ? 1 : 0;
+                }
+                if (docFreq == 0) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - docFreq + 0.5) / (docFreq + 0.5));
+
+                for (int i = 0; i < segments.size(); i++) {
+                    if (termIndexes[i] < 0) {
+                        continue;
+                    }
+                    DocumentIndexSegment segment = segments.get(i);
+                    segment.forEachPosting(termIndexes[i], (entry, tf) -> {
+                        long documentId = segment.documentId(entry);
+                        if (!isLive(documentId, segment.seq(entry))
+                                || (projectId != null && segment.projectId(entry) != projectId)) {
+                            return;
+                        }
+                        Candidate candidate = candidates.computeIfAbsent(documentId, id -> new Candidate());
+                        candidate.segment = segment;
+                        candidate.entry = entry;
+                        candidate.score += score(idf, tf, segment.length(entry), averageLength);
+                    });
+                }
+                scorePending(flushing, term, idf, projectId, averageLength, candidates);
+                scorePending(buffer, term, idf, projectId, averageLength, candidates);
+            }
+
+            PriorityQueue<Candidate> top = new PriorityQueue<>(Comparator.comparingDouble(c -> c.score));
+            for (Candidate candidate : candidates.values()) {
+                top.offer(candidate);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                hits.add(toHit(top.poll()));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void scorePending(List<PendingDocument> documents, String term, double idf, Long projectId,
+                              double averageLength, Map<Long, Candidate> candidates) {
+        for (PendingDocument pending : documents) {
+            if (pending.isDeletion() || !isLive(pending.documentId(), pending.seq())
+                    || (projectId != null && pending.projectId() != projectId)) {
+                continue;
+            }
+            Integer tf = pending.termFrequencies().get(term);
+            if (tf != null) {
+                Candidate candidate = candidates.computeIfAbsent(pending.documentId(), id -> new Candidate());
+                candidate.pending = pending;
+                candidate.score += score(idf, tf, pending.length(), averageLength);
+            }
+        }
+    }
+
+    private static double score(double idf, int tf, int length, double averageLength) {
+        return idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / averageLength));
+    }
+
+    private static Hit toHit(Candidate candidate) {
+        if (candidate.pending != null) {
+            PendingDocument pending = candidate.pending;
+            return new Hit(pending.documentId(), pending.projectId(), pending.fileName(), pending.textKey(),
+                    candidate.score);
+        }
+        DocumentIndexSegment segment = candidate.segment;
+        int entry = candidate.entry;
+        return new Hit(segment.documentId(entry), segment.projectId(entry), segment.fileName(entry),
+                segment.textKey(entry), candidate.score);
+    }
+
+    private boolean isLive(long documentId, long seq) {
+        LiveDocument document = live.get(documentId);
+        return document != null && document.seq() == seq;
+    }
+
+    private void setLive(long documentId, LiveDocument document) {
+        LiveDocument previous = document == null ? live.remove(documentId) : live.put(documentId, document);
+        if (previous != null) {
+            liveLength -= previous.length();
+        }
+        if (document != null) {
+            liveLength += document.length();
+        }
+    }
+
+    private int tier(DocumentIndexSegment segment) {
+        int tier = 0;
+        for (long count = segment.entryCount(); count >= mergeFactor; count /= mergeFactor) {
+            tier++;
+        }
+        return tier;
+    }
+
+    private DocumentIndexSegment writeSegment(long generation, List<PendingDocument> batch) throws IOException {
+        List<DocumentIndexSegmentWriter.Entry> entries = new ArrayList<>(batch.size());
+        TreeMap<String, List<int[]>> postings = new TreeMap<>();
+        for (int entry = 0; entry < batch.size(); entry++) {
+            PendingDocument document = batch.get(entry);
+            if (document.isDeletion()) {
+                entries.add(DocumentIndexSegmentWriter.Entry.deletion(document.seq(), document.documentId()));
+                continue;
+            }
+            entries.add(new DocumentIndexSegmentWriter.Entry(document.seq(), document.documentId(),
+                    document.projectId(), document.length(), document.fileName(), document.textKey()));
+            for (Map.Entry<String, Integer> term : document.termFrequencies().entrySet()) {
+                postings.computeIfAbsent(term.getKey(), t -> new ArrayList<>()).add(new int[]{entry, term.getValue()});
+            }
+        }
+
+        Path file = segmentPath(generation);
+        try (DocumentIndexSegmentWriter writer = new DocumentIndexSegmentWriter(file, entries)) {
+            for (Map.Entry<String, List<int[]>> term : postings.entrySet()) {
+                writer.startTerm(term.getKey());
+                for (int[] posting : term.getValue()) {
+                    writer.addPosting(posting[0], posting[1]);
+                }
+                writer.endTerm();
+            }
+            writer.finish();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return DocumentIndexSegment.open(file);
+    }
+
+    /**
+     * Rewrite {@code inputs} as one segment, keeping only live entries.
+     * Deletions are kept unless every segment takes part, since an older
+     * version of the document may still sit in a segment outside the merge.
+     */
+    private void merge(List<DocumentIndexSegment> inputs, boolean fullMerge) throws IOException {
+        long generation;
+        List<DocumentIndexSegmentWriter.Entry> entries = new ArrayList<>();
+        int[][] remap = new int[inputs.size()][];
+        lock.writeLock().lock();
+        try {
+            generation = nextGeneration++;
+            // Liveness only ever goes from live to dead, so entries judged dead here stay dead
+            for (int i = 0; i < inputs.size(); i++) {
+                DocumentIndexSegment segment = inputs.get(i);
+                remap[i] = new int[segment.entryCount()];
+                for (int entry = 0; entry < segment.entryCount(); entry++) {
+                    long documentId = segment.documentId(entry);
+                    boolean keep = segment.length(entry) < 0 ? !fullMerge : isLive(documentId, segment.seq(entry));
+                    remap[i][entry] = keep ? entries.size() : -1;
+                    if (keep) {
+                        entries.add(segment.entry(entry));
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        DocumentIndexSegment merged = null;
+        if (!entries.isEmpty()) {
+            Path file = segmentPath(generation);
+            try (DocumentIndexSegmentWriter writer = new DocumentIndexSegmentWriter(file, entries)) {
+                mergeTerms(inputs, remap, writer);
+                writer.finish();
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+            merged = DocumentIndexSegment.open(file);
+        }
+
+        lock.writeLock().lock();
+        try {
+            List<DocumentIndexSegment> updated = new ArrayList<>(segments.size());
+            for (DocumentIndexSegment segment : segments) {
+                if (segment == inputs.get(0) && merged != null) {
+                    updated.add(merged);
+                } else if (!inputs.contains(segment)) {
+                    updated.add(segment);
+                }
+            }
+            segments = List.copyOf(updated);
+            writeManifest();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // Searches that still hold the old mappings keep working after the files are unlinked
+        for (DocumentIndexSegment segment : inputs) {
+            try {
+                Files.deleteIfExists(segment.file());
+            } catch (IOException e) {
+                log.warn("Could not delete merged index segment {}", segment.file(), e);
+            }
+        }
+        log.debug("Merged {} index segments into {} entries in {}", inputs.size(), entries.size(), directory);
+    }
+
+    private static void mergeTerms(List<DocumentIndexSegment> inputs, int[][] remap,
+                                   DocumentIndexSegmentWriter writer) throws IOException {
+        // Cursor per input: {segment, next term index}, ordered by that term
+        PriorityQueue<int[]> cursors = new PriorityQueue<>(
+                Comparator.<int[], String>comparing(c -> inputs.get(c[0]).term(c[1])).thenComparingInt(c -> c[0]));
+        for (int i = 0; i < inputs.size(); i++) {
+            if (inputs.get(i).termCount() > 0) {
+                cursors.add(new int[]{i, 0});
+            }
+        }
+        try {
+            while (!cursors.isEmpty()) {
+                String term = inputs.get(cursors.peek()[0]).term(cursors.peek()[1]);
+                writer.startTerm(term);
+                while (!cursors.isEmpty() && inputs.get(cursors.peek()[0]).term(cursors.peek()[1]).equals(term)) {
+                    int[] cursor = cursors.poll();
+                    int[] entryMap = remap[cursor[0]];
+                    inputs.get(cursor[0]).forEachPosting(cursor[1], (entry, tf) -> {
+                        if (entryMap[entry] >= 0) {
+                            try {
+                                writer.addPosting(entryMap[entry], tf);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }
+                    });
+                    if (++cursor[1] < inputs.get(cursor[0]).termCount()) {
+                        cursors.add(cursor);
+                    }
+                }
+                writer.endTerm();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Path segmentPath(long generation) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, generation, SEGMENT_SUFFIX));
+    }
+
+    // Called with the write lock held
+    private void writeManifest() {
+        StringBuilder manifest = new StringBuilder();
+        manifest.append("nextSeq=").append(nextSeq).append('\n');
+        manifest.append("nextGeneration=").append(nextGeneration).append('\n');
+        for (DocumentIndexSegment segment : segments) {
+            manifest.append("segment=").append(segment.name()).append('\n');
+        }
+        Path temp = directory.resolve(MANIFEST + ".tmp");
+        try {
+            Files.writeString(temp, manifest, StandardCharsets.UTF_8);
+            Files.move(temp, directory.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write index manifest in " + directory, e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.pms.search;
+
+import com.pms.dto.SearchHitDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * PostgreSQL backend: a weighted, stored {@code tsvector} column with a GIN
+ * index, queried with prefix-matching {@code tsquery} and ranked by {@code ts_rank}.
+ */
+@Slf4j
+public class PostgresSearchIndexBackend extends AbstractJdbcSearchIndexBackend {
+    
+    public PostgresSearchIndexBackend(JdbcTemplate jdbcTemplate) {
+        super(jdbcTemplate);
+    }
+    
+    @Override
+    public void initialize() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS search_entries (" +
+                "entry_key VARCHAR(64) PRIMARY KEY, " +
+                "entity_type VARCHAR(32) NOT NULL, " +
+                "entity_id BIGINT NOT NULL, " +
+                "organization_id BIGINT NOT NULL, " +
+                "project_id BIGINT, " +
+                "title VARCHAR(500), " +
+                "content TEXT, " +
+                "document tsvector GENERATED ALWAYS AS (" +
+                "setweight(to_tsvector('simple', coalesce(title, '')), 'A') || " +
+                "setweight(to_tsvector('simple', coalesce(content, '')), 'B')) STORED)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_search_entries_document ON search_entries USING GIN (document)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_search_entries_org ON search_entries (organization_id)");
+        log.info("PostgreSQL full-text search index initialized");
+    }
+    
+    @Override
+    protected String upsertSql() {
+        return "INSERT INTO search_entries " +
+                "(entry_key, entity_type, entity_id, organization_id, project_id, title, content) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+                "ON CONFLICT (entry_key) DO UPDATE SET organization_id = EXCLUDED.organization_id, " +
+                "project_id = EXCLUDED.project_id, title = EXCLUDED.title, content = EXCLUDED.content";
+    }
+    
+    @Override
+    public List<SearchHitDTO> search(Long organizationId, String query, int limit) {
+        List<String> tokens = SearchTokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        // Tokens are alphanumeric only, so they can be joined into tsquery syntax directly
+        String tsQuery = tokens.stream().map(token -> token + ":*").collect(Collectors.joining(" & "));
+        return jdbcTemplate.query("SELECT entity_type, entity_id, project_id, title, ts_rank(document, q) AS score " +
+                        "FROM search_entries, to_tsquery('simple', ?) q " +
+                        "WHERE organization_id = ? AND document @@ q " +
+                        "ORDER BY score DESC, entity_id ASC LIMIT ?",
+                HIT_ROW_MAPPER, tsQuery, organizationId, limit);
+    }
+}
@@ -0,0 +1,75 @@
+package com.pms.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable, sorted, duplicate-free list of primitive longs. Not thread-safe;
+ * callers guard it with the owning index's lock.
+ */
+final class PostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] values = new long[INITIAL_CAPACITY];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return true if the value was not present before
+     */
+    boolean add(long value) {
+        // Ids are mostly loaded in ascending order, so try the append fast path first
+        if (size == 0 || values[size - 1] < value) {
+            ensureCapacity();
+            values[size++] = value;
+            return true;
+        }
+        int pos = Arrays.binarySearch(values, 0, size, value);
+        if (pos >= 0) {
+            return false;
+        }
+        int insertAt = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+        values[insertAt] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return true if the value was present
+     */
+    boolean remove(long value) {
+        int pos = Arrays.binarySearch(values, 0, size, value);
+        if (pos < 0) {
+            return false;
+        }
+        System.arraycopy(values, pos + 1, values, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Copy the values into {@code target} starting at {@code offset}
+     */
+    void copyTo(long[] target, int offset) {
+        System.arraycopy(values, 0, target, offset, size);
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    private void ensureCapacity() {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.pms.search;
+
+/**
+ * Entity types that participate in organization-wide search.
+ */
+public enum SearchEntityType {
+    PROJECT,
+    CONTRACT,
+    DOCUMENT,
+    QUALITY_INSPECTION,
+    RESOURCE,
+    RISK,
+    INVENTORY_ITEM
+}
@@ -0,0 +1,29 @@
+package com.pms.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Searchable projection of a single entity: the text that gets indexed plus
+ * the tenant and project it belongs to.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class SearchEntry {
+    private final SearchEntityType entityType;
+    private final Long entityId;
+    private final Long organizationId;
+    private final Long projectId;
+    private final String title;
+    private final String content;
+    
+    public String getKey() {
+        return key(entityType, entityId);
+    }
+    
+    public static String key(SearchEntityType entityType, Long entityId) {
+        return entityType.name() + ":" + entityId;
+    }
+}
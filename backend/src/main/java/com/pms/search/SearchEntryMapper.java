@@ -0,0 +1,114 @@
+package com.pms.search;
+
+import com.pms.cache.ProjectOwnershipCache;
+import com.pms.entity.Contract;
+import com.pms.entity.Document;
+import com.pms.entity.InventoryItem;
+import com.pms.entity.Project;
+import com.pms.entity.QualityInspection;
+import com.pms.entity.Resource;
+import com.pms.entity.RiskRegister;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maps searchable entities to {@link SearchEntry} rows. The indexed columns are
+ * the same ones the repositories' LIKE-based search queries match on.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchEntryMapper {
+    
+    private final ProjectOwnershipCache projectOwnershipCache;
+    
+    public Optional<SearchEntityType> typeOf(Object entity) {
+        if (entity instanceof Project) {
+            return Optional.of(SearchEntityType.PROJECT);
+        } else if (entity instanceof Contract) {
+            return Optional.of(SearchEntityType.CONTRACT);
+        } else if (entity instanceof Document) {
+            return Optional.of(SearchEntityType.DOCUMENT);
+        } else if (entity instanceof QualityInspection) {
+            return Optional.of(SearchEntityType.QUALITY_INSPECTION);
+        } else if (entity instanceof Resource) {
+            return Optional.of(SearchEntityType.RESOURCE);
+        } else if (entity instanceof RiskRegister) {
+            return Optional.of(SearchEntityType.RISK);
+        } else if (entity instanceof InventoryItem) {
+            return Optional.of(SearchEntityType.INVENTORY_ITEM);
+        }
+        return Optional.empty();
+    }
+    
+    public Class<?> entityClass(SearchEntityType type) {
+        return switch (type) {
+            case PROJECT -> Project.class;
+            case CONTRACT -> Contract.class;
+            case DOCUMENT -> Document.class;
+            case QUALITY_INSPECTION -> QualityInspection.class;
+            case RESOURCE -> Resource.class;
+            case RISK -> RiskRegister.class;
+            case INVENTORY_ITEM -> InventoryItem.class;
+        };
+    }
+    
+    public Optional<SearchEntry> toEntry(Object entity) {
+        if (entity instanceof Project project) {
+            return entry(SearchEntityType.PROJECT, project.getId(), project, project.getName(), project.getCode());
+        } else if (entity instanceof Contract contract) {
+            return entry(SearchEntityType.CONTRACT, contract.getId(), contract.getProject(),
+                    contract.getTitle(), contract.getVendorName());
+        } else if (entity instanceof Document document) {
+            return entry(SearchEntityType.DOCUMENT, document.getId(), document.getProject(),
+                    document.getFileName(), document.getDescription());
+        } else if (entity instanceof QualityInspection inspection) {
+            return entry(SearchEntityType.QUALITY_INSPECTION, inspection.getId(), inspection.getProject(),
+                    inspection.getTitle(), inspection.getDescription());
+        } else if (entity instanceof Resource resource) {
+            return entry(SearchEntityType.RESOURCE, resource.getId(), resource.getProject(),
+                    resource.getName(), resource.getDescription());
+        } else if (entity instanceof RiskRegister risk) {
+            return entry(SearchEntityType.RISK, risk.getId(), risk.getProject(),
+                    risk.getTitle(), risk.getDescription());
+        } else if (entity instanceof InventoryItem item) {
+            if (item.getOrganization() == null) {
+                return Optional.empty();
+            }
+            return Optional.of(SearchEntry.builder()
+                    .entityType(SearchEntityType.INVENTORY_ITEM)
+                    .entityId(item.getId())
+                    .organizationId(item.getOrganization().getId())
+                    .title(item.getItemName())
+                    .content(join(item.getItemCode(), item.getDescription()))
+                    .build());
+        }
+        return Optional.empty();
+    }
+    
+    // Runs inside the flush: the project is usually a reference, resolved through the ownership cache
+    private Optional<SearchEntry> entry(SearchEntityType type, Long id, Project project, String title, String... content) {
+        Long organizationId = projectOwnershipCache.organizationId(project);
+        if (organizationId == null) {
+            return Optional.empty();
+        }
+        return Optional.of(SearchEntry.builder()
+                .entityType(type)
+                .entityId(id)
+                .organizationId(organizationId)
+                .projectId(project.getId())
+                .title(title)
+                .content(join(content))
+                .build());
+    }
+    
+    private String join(String... parts) {
+        return Stream.of(parts)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" "));
+    }
+}
@@ -0,0 +1,35 @@
+package com.pms.search;
+
+import com.pms.dto.SearchHitDTO;
+
+import java.util.List;
+
+/**
+ * Storage-specific full-text index over {@link SearchEntry} rows.
+ */
+public interface SearchIndexBackend {
+    
+    /**
+     * Create the index structures if they do not exist yet
+     */
+    void initialize();
+    
+    /**
+     * Insert or replace the entries in one batch
+     */
+    void upsert(List<SearchEntry> entries);
+    
+    /**
+     * Delete the entries with the given keys ({@link SearchEntry#key}) in one batch
+     */
+    void delete(List<String> entryKeys);
+    
+    /**
+     * Rank entries of one organization against a free-text query
+     * @param organizationId Tenant to search in
+     * @param query Raw user query
+     * @param limit Maximum number of hits
+     * @return Hits ordered by descending score
+     */
+    List<SearchHitDTO> search(Long organizationId, String query, int limit);
+}
@@ -0,0 +1,105 @@
+package com.pms.search;
+
+import com.pms.entity.BaseEntity;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Indexes entities that were written before {@link SearchIndexingListener}
+ * existed (or while it was not running). At startup each searchable type
+ * whose entity count differs from its {@code search_entries} count is walked
+ * in id order and every row is upserted. Runs ahead of the
+ * {@link TypeaheadIndex} rebuild so type-ahead sees the backfilled entries.
+ */
+@Slf4j
+@Component
+public class SearchIndexBackfill {
+    
+    private static final int BATCH_SIZE = 500;
+    
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final SearchEntryMapper searchEntryMapper;
+    private final SearchIndexBackend searchIndexBackend;
+    private final TransactionTemplate transactionTemplate;
+    
+    public SearchIndexBackfill(EntityManager entityManager,
+                               JdbcTemplate jdbcTemplate,
+                               SearchEntryMapper searchEntryMapper,
+                               SearchIndexBackend searchIndexBackend,
+                               PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.searchEntryMapper = searchEntryMapper;
+        this.searchIndexBackend = searchIndexBackend;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissing() {
+        for (SearchEntityType type : SearchEntityType.values()) {
+            try {
+                backfill(type);
+            } catch (RuntimeException e) {
+                log.warn("Could not backfill search entries of type {}", type, e);
+            }
+        }
+    }
+    
+    private void backfill(SearchEntityType type) {
+        String entityName = entityManager.getMetamodel().entity(searchEntryMapper.entityClass(type)).getName();
+        Long entities = transactionTemplate.execute(status -> entityManager
+                .createQuery("SELECT COUNT(e) FROM " + entityName + " e", Long.class)
+                .getSingleResult());
+        Long indexed = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM search_entries WHERE entity_type = ?", Long.class, type.name());
+        if (entities == null || entities.equals(indexed)) {
+            return;
+        }
+        
+        log.info("Indexing {} {} entities ({} already in search)", entities, type, indexed);
+        long start = System.currentTimeMillis();
+        long afterId = 0L;
+        while (true) {
+            long after = afterId;
+            Long lastId = transactionTemplate.execute(status -> indexPage(entityName, after));
+            if (lastId == null) {
+                break;
+            }
+            afterId = lastId;
+        }
+        log.info("Indexed {} entities in {} ms", type, System.currentTimeMillis() - start);
+    }
+    
+    /**
+     * @return Id of the last entity in the page, or null when there are no more
+     */
+    private Long indexPage(String entityName, long afterId) {
+        List<BaseEntity> page = entityManager
+                .createQuery("SELECT e FROM " + entityName + " e WHERE e.id > :afterId ORDER BY e.id", BaseEntity.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(BATCH_SIZE)
+                .getResultList();
+        if (page.isEmpty()) {
+            return null;
+        }
+        List<SearchEntry> entries = new ArrayList<>(page.size());
+        for (BaseEntity entity : page) {
+            searchEntryMapper.toEntry(entity).ifPresent(entries::add);
+        }
+        searchIndexBackend.upsert(entries);
+        entityManager.clear();
+        return page.get(page.size() - 1).getId();
+    }
+}
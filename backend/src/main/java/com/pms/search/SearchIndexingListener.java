@@ -0,0 +1,151 @@
+package com.pms.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the search index in step with entity writes. Changes seen during the
+ * flushes of a transaction are collected in a transaction-bound resource, one
+ * pending write per entity with the last change winning, and written with one
+ * batched statement per kind just before the transaction commits. That runs
+ * as a Hibernate before-completion process, after the final flush and on the
+ * same connection, so the index rows commit or roll back together with the
+ * entity changes. The in-memory {@link TypeaheadIndex} is updated once after
+ * commit.
+ *
+ * <p>Outside a transaction each change is written immediately.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchIndexingListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+    
+    private final EntityManagerFactory entityManagerFactory;
+    private final SearchEntryMapper searchEntryMapper;
+    private final SearchIndexBackend searchIndexBackend;
+    private final TypeaheadIndex typeaheadIndex;
+    
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        log.debug("Search indexing listener registered");
+    }
+    
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        searchEntryMapper.toEntry(event.getEntity())
+                .ifPresent(entry -> record(event.getSession(), new PendingWrite(entry.getKey(), entry, false)));
+    }
+    
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        searchEntryMapper.toEntry(event.getEntity())
+                .ifPresent(entry -> record(event.getSession(), new PendingWrite(entry.getKey(), entry, false)));
+    }
+    
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        searchEntryMapper.toEntry(event.getEntity()).ifPresentOrElse(
+                entry -> record(event.getSession(), new PendingWrite(entry.getKey(), entry, true)),
+                () -> searchEntryMapper.typeOf(event.getEntity()).ifPresent(type -> record(event.getSession(),
+                        new PendingWrite(SearchEntry.key(type, (Long) event.getId()), null, true))));
+    }
+    
+    private void record(EventSource session, PendingWrite write) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(List.of(write));
+            updateTypeahead(List.of(write));
+            return;
+        }
+        pendingWrites(session).put(write.key(), write);
+    }
+    
+    /**
+     * Writes of the current transaction, keyed by entry key; created on the
+     * first change together with its flush and after-commit hooks
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, PendingWrite> pendingWrites(EventSource session) {
+        Map<String, PendingWrite> pending = (Map<String, PendingWrite>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Map<String, PendingWrite> writes = new LinkedHashMap<>();
+        TransactionSynchronizationManager.bindResource(this, writes);
+        session.getActionQueue().registerProcess(
+                (BeforeTransactionCompletionProcess) completingSession -> write(writes.values()));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                updateTypeahead(writes.values());
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(SearchIndexingListener.this);
+            }
+        });
+        return writes;
+    }
+    
+    private void write(Collection<PendingWrite> writes) {
+        List<String> deletes = new ArrayList<>();
+        List<SearchEntry> upserts = new ArrayList<>();
+        for (PendingWrite write : writes) {
+            if (write.deleted()) {
+                deletes.add(write.key());
+            } else {
+                upserts.add(write.entry());
+            }
+        }
+        searchIndexBackend.delete(deletes);
+        searchIndexBackend.upsert(upserts);
+    }
+    
+    private void updateTypeahead(Collection<PendingWrite> writes) {
+        for (PendingWrite write : writes) {
+            if (!write.deleted()) {
+                typeaheadIndex.put(write.entry());
+            } else if (write.entry() != null) {
+                typeaheadIndex.remove(write.entry());
+            }
+        }
+    }
+    
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+    
+    // Entry is null for deletes of entities that can no longer be mapped
+    private record PendingWrite(String key, SearchEntry entry, boolean deleted) {
+    }
+}
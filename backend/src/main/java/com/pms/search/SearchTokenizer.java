@@ -0,0 +1,87 @@
+package com.pms.search;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Splits free text into lower-cased alphanumeric tokens. Anything else is a
+ * separator, so tokens are always safe to embed in backend query syntax.
+ */
+public final class SearchTokenizer {
+    
+    private SearchTokenizer() {
+        // Private constructor to prevent instantiation
+    }
+    
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+    
+    /**
+     * Tokenize a character stream without holding it in memory. Tokens longer
+     * than {@code maxTokenLength} are skipped.
+     */
+    public static void tokenize(Reader reader, int maxTokenLength, Consumer<String> tokens) throws IOException {
+        char[] buffer = new char[8192];
+        StringBuilder token = new StringBuilder();
+        boolean tooLong = false;
+        char pendingHigh = 0;
+        int read;
+        while ((read = reader.read(buffer)) > 0) {
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+                int codePoint;
+                if (Character.isHighSurrogate(c)) {
+                    pendingHigh = c;
+                    continue;
+                }
+                if (pendingHigh != 0 && Character.isLowSurrogate(c)) {
+                    codePoint = Character.toCodePoint(pendingHigh, c);
+                } else {
+                    codePoint = c;
+                }
+                pendingHigh = 0;
+                if (isTokenChar(codePoint)) {
+                    if (token.length() < maxTokenLength) {
+                        token.appendCodePoint(codePoint);
+                    } else {
+                        tooLong = true;
+                    }
+                } else {
+                    emit(token, tooLong, tokens);
+                    tooLong = false;
+                }
+            }
+        }
+        emit(token, tooLong, tokens);
+    }
+    
+    private static void emit(StringBuilder token, boolean tooLong, Consumer<String> tokens) {
+        if (token.length() > 0 && !tooLong) {
+            tokens.accept(token.toString().toLowerCase(Locale.ROOT));
+        }
+        token.setLength(0);
+    }
+    
+    // Same character classes as the \p{L} and \p{N} split in tokenize(String)
+    static boolean isTokenChar(int codePoint) {
+        if (Character.isLetter(codePoint)) {
+            return true;
+        }
+        int type = Character.getType(codePoint);
+        return type == Character.DECIMAL_DIGIT_NUMBER || type == Character.LETTER_NUMBER || type == Character.OTHER_NUMBER;
+    }
+}
@@ -0,0 +1,237 @@
+package com.pms.search;
+
+import com.pms.dto.SearchHitDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index for a single organization. Tokens live in a sorted
+ * map so a prefix resolves to a contiguous key range; each token maps to a
+ * sorted {@code long[]} posting list of packed (entity type, entity id) codes.
+ *
+ * <p>The index is bounded by a total posting count. Once a write would exceed
+ * it the index drops its contents and reports itself as overflowed, and
+ * callers are expected to fall back to the database-backed search.</p>
+ */
+final class TenantPrefixIndex {
+
+    private static final int TYPE_SHIFT = 56;
+    private static final long ID_MASK = (1L << TYPE_SHIFT) - 1;
+
+    private final int maxPostings;
+    private final TreeMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Long, IndexedEntry> entries = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private int postingCount;
+    private boolean overflowed;
+
+    private record IndexedEntry(Long projectId, String title, String[] tokens) {
+    }
+
+    TenantPrefixIndex(int maxPostings) {
+        this.maxPostings = maxPostings;
+    }
+
+    static long encode(SearchEntityType entityType, long entityId) {
+        return ((long) entityType.ordinal() << TYPE_SHIFT) | (entityId & ID_MASK);
+    }
+
+    /**
+     * Add or replace an entry
+     * @return false if the index is (or just became) overflowed
+     */
+    boolean put(SearchEntry entry) {
+        long code = encode(entry.getEntityType(), entry.getEntityId());
+        Set<String> tokens = new LinkedHashSet<>(SearchTokenizer.tokenize(entry.getTitle()));
+        tokens.addAll(SearchTokenizer.tokenize(entry.getContent()));
+
+        lock.writeLock().lock();
+        try {
+            if (overflowed) {
+                return false;
+            }
+            removeLocked(code);
+            if (postingCount + tokens.size() > maxPostings) {
+                overflowed = true;
+                postings.clear();
+                entries.clear();
+                postingCount = 0;
+                return false;
+            }
+            for (String token : tokens) {
+                if (postings.computeIfAbsent(token, t -> new PostingList()).add(code)) {
+                    postingCount++;
+                }
+            }
+            entries.put(code, new IndexedEntry(entry.getProjectId(), entry.getTitle(), tokens.toArray(new String[0])));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(SearchEntityType entityType, Long entityId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(encode(entityType, entityId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean isOverflowed() {
+        lock.readLock().lock();
+        try {
+            return overflowed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int postingCount() {
+        lock.readLock().lock();
+        try {
+            return postingCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Match entries containing, for every query token, some token starting
+     * with it. Entries whose title matches every query token rank first.
+     */
+    List<SearchHitDTO> search(List<String> queryTokens, int limit) {
+        lock.readLock().lock();
+        try {
+            long[] matches = null;
+            for (String prefix : queryTokens) {
+                long[] tokenMatches = prefixMatches(prefix);
+                matches = matches == null ? tokenMatches : intersect(matches, tokenMatches);
+                if (matches.length == 0) {
+                    return List.of();
+                }
+            }
+            if (matches == null) {
+                return List.of();
+            }
+
+            List<SearchHitDTO> titleHits = new ArrayList<>();
+            List<SearchHitDTO> otherHits = new ArrayList<>();
+            for (long code : matches) {
+                if (titleHits.size() >= limit) {
+                    break;
+                }
+                IndexedEntry entry = entries.get(code);
+                boolean titleMatch = titleMatches(entry.title(), queryTokens);
+                List<SearchHitDTO> bucket = titleMatch ? titleHits : otherHits;
+                if (titleMatch || otherHits.size() < limit) {
+                    bucket.add(toHit(code, entry, titleMatch ? 2.0 : 1.0));
+                }
+            }
+            titleHits.addAll(otherHits);
+            return titleHits.size() > limit ? titleHits.subList(0, limit) : titleHits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(long code) {
+        IndexedEntry previous = entries.remove(code);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous.tokens()) {
+            PostingList list = postings.get(token);
+            if (list != null && list.remove(code)) {
+                postingCount--;
+                if (list.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    private long[] prefixMatches(String prefix) {
+        NavigableMap<String, PostingList> range = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (range.isEmpty()) {
+            return new long[0];
+        }
+        if (range.size() == 1) {
+            return range.firstEntry().getValue().toArray();
+        }
+        int total = 0;
+        for (PostingList list : range.values()) {
+            total += list.size();
+        }
+        long[] merged = new long[total];
+        int offset = 0;
+        for (PostingList list : range.values()) {
+            list.copyTo(merged, offset);
+            offset += list.size();
+        }
+        Arrays.sort(merged);
+        return dedupe(merged);
+    }
+
+    private static long[] dedupe(long[] sorted) {
+        if (sorted.length < 2) {
+            return sorted;
+        }
+        int unique = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[unique - 1]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return unique == sorted.length ? sorted : Arrays.copyOf(sorted, unique);
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    private static boolean titleMatches(String title, List<String> queryTokens) {
+        List<String> titleTokens = SearchTokenizer.tokenize(title);
+        for (String prefix : queryTokens) {
+            if (titleTokens.stream().noneMatch(token -> token.startsWith(prefix))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static SearchHitDTO toHit(long code, IndexedEntry entry, double score) {
+        return SearchHitDTO.builder()
+                .entityType(SearchEntityType.values()[(int) (code >>> TYPE_SHIFT)])
+                .entityId(code & ID_MASK)
+                .projectId(entry.projectId())
+                .title(entry.title())
+                .score(score)
+                .build();
+    }
+}
@@ -0,0 +1,252 @@
+package com.pms.search;
+
+import com.pms.dto.SearchHitDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-organization in-memory prefix index for type-ahead. Rebuilt from
+ * {@code search_entries} once the application is ready and then kept current
+ * by {@link SearchIndexingListener} after each committed write.
+ *
+ * <p>A rebuild loads into a fresh map while the old one keeps serving, and
+ * swaps it in with a single volatile write. Writes that land while the
+ * rebuild is loading are journaled and replayed onto the new map before the
+ * swap. An organization whose index overflowed is rebuilt from the database
+ * every {@code search.typeahead.overflow-retry-seconds}, so it returns to the
+ * in-memory index once deletions bring it back under the bound.</p>
+ */
+@Slf4j
+@Component
+public class TypeaheadIndex {
+
+    private static final String SELECT_ENTRIES = "SELECT entity_type, entity_id, organization_id, project_id, title, content " +
+            "FROM search_entries ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxPostingsPerOrganization;
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService overflowRetry;
+    private volatile Map<Long, TenantPrefixIndex> tenants = new ConcurrentHashMap<>();
+    // Non-null while a rebuild is loading; guarded by swapLock
+    private Queue<Change> journal;
+
+    private record Change(SearchEntry entry, boolean removed) {
+    }
+
+    public TypeaheadIndex(JdbcTemplate jdbcTemplate,
+                          @Value("${search.typeahead.max-postings-per-organization:500000}") int maxPostingsPerOrganization,
+                          @Value("${search.typeahead.overflow-retry-seconds:300}") long overflowRetrySeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPostingsPerOrganization = maxPostingsPerOrganization;
+        this.overflowRetry = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "typeahead-overflow-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        overflowRetry.scheduleWithFixedDelay(this::rebuildOverflowed,
+                overflowRetrySeconds, overflowRetrySeconds, TimeUnit.SECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        startJournal();
+        Map<Long, TenantPrefixIndex> rebuilt = new ConcurrentHashMap<>();
+        try {
+            // Ordered by type and id so posting lists are filled by appends
+            jdbcTemplate.query(SELECT_ENTRIES + "ORDER BY organization_id, entity_type, entity_id",
+                    rs -> {
+                        SearchEntry entry = mapEntry(rs);
+                        rebuilt.computeIfAbsent(entry.getOrganizationId(), id -> new TenantPrefixIndex(maxPostingsPerOrganization))
+                                .put(entry);
+                    });
+        } catch (RuntimeException e) {
+            stopJournal();
+            throw e;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            for (Change change : journal) {
+                apply(rebuilt, change);
+            }
+            tenants = rebuilt;
+            journal = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        rebuilt.forEach((organizationId, index) -> {
+            if (index.isOverflowed()) {
+                log.warn("Type-ahead index for organization {} exceeds {} postings, using database search",
+                        organizationId, maxPostingsPerOrganization);
+            }
+        });
+        log.info("Type-ahead index rebuilt for {} organizations in {} ms",
+                rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Reload one organization's index from the database, replacing it only
+     * if it now fits within the posting bound
+     */
+    public synchronized void rebuild(Long organizationId) {
+        startJournal();
+        TenantPrefixIndex rebuilt = new TenantPrefixIndex(maxPostingsPerOrganization);
+        try {
+            jdbcTemplate.query(SELECT_ENTRIES + "WHERE organization_id = ? ORDER BY entity_type, entity_id",
+                    rs -> {
+                        if (!rebuilt.isOverflowed()) {
+                            rebuilt.put(mapEntry(rs));
+                        }
+                    }, organizationId);
+        } catch (RuntimeException e) {
+            stopJournal();
+            throw e;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            for (Change change : journal) {
+                if (organizationId.equals(change.entry().getOrganizationId())) {
+                    apply(rebuilt, change);
+                }
+            }
+            if (!rebuilt.isOverflowed()) {
+                tenants.put(organizationId, rebuilt);
+            }
+            journal = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        if (!rebuilt.isOverflowed()) {
+            log.info("Type-ahead index for organization {} rebuilt after overflow", organizationId);
+        }
+    }
+
+    public void put(SearchEntry entry) {
+        record(new Change(entry, false));
+    }
+
+    public void remove(SearchEntry entry) {
+        record(new Change(entry, true));
+    }
+
+    /**
+     * Prefix-match the query against one organization's index
+     * @return Hits, or empty if the organization's index overflowed its bound
+     */
+    public Optional<List<SearchHitDTO>> search(Long organizationId, String query, int limit) {
+        TenantPrefixIndex index = tenants.get(organizationId);
+        if (index == null) {
+            return Optional.of(List.of());
+        }
+        if (index.isOverflowed()) {
+            return Optional.empty();
+        }
+        return Optional.of(index.search(SearchTokenizer.tokenize(query), limit));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        overflowRetry.shutdownNow();
+    }
+
+    private void record(Change change) {
+        swapLock.readLock().lock();
+        try {
+            apply(tenants, change);
+            if (journal != null) {
+                journal.add(change);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void apply(Map<Long, TenantPrefixIndex> target, Change change) {
+        Long organizationId = change.entry().getOrganizationId();
+        TenantPrefixIndex index = change.removed() ? target.get(organizationId)
+                : target.computeIfAbsent(organizationId, id -> new TenantPrefixIndex(maxPostingsPerOrganization));
+        if (index != null) {
+            apply(index, change);
+        }
+    }
+
+    private void apply(TenantPrefixIndex index, Change change) {
+        SearchEntry entry = change.entry();
+        if (change.removed()) {
+            index.remove(entry.getEntityType(), entry.getEntityId());
+            return;
+        }
+        boolean wasOverflowed = index.isOverflowed();
+        if (!index.put(entry) && !wasOverflowed) {
+            log.warn("Type-ahead index for organization {} exceeds {} postings, using database search",
+                    entry.getOrganizationId(), maxPostingsPerOrganization);
+        }
+    }
+
+    private void startJournal() {
+        swapLock.writeLock().lock();
+        try {
+            journal = new ConcurrentLinkedQueue<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private void stopJournal() {
+        swapLock.writeLock().lock();
+        try {
+            journal = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private void rebuildOverflowed() {
+        List<Long> overflowed = new ArrayList<>();
+        tenants.forEach((organizationId, index) -> {
+            if (index.isOverflowed()) {
+                overflowed.add(organizationId);
+            }
+        });
+        for (Long organizationId : overflowed) {
+            try {
+                rebuild(organizationId);
+            } catch (RuntimeException e) {
+                log.warn("Could not rebuild type-ahead index for organization {}", organizationId, e);
+            }
+        }
+    }
+
+    private static SearchEntry mapEntry(ResultSet rs) throws SQLException {
+        return SearchEntry.builder()
+                .entityType(SearchEntityType.valueOf(rs.getString("entity_type")))
+                .entityId(rs.getLong("entity_id"))
+                .organizationId(rs.getLong("organization_id"))
+                .projectId(rs.getObject("project_id", Long.class))
+                .title(rs.getString("title"))
+                .content(rs.getString("content"))
+                .build();
+    }
+}
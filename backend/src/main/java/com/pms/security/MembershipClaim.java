@@ -0,0 +1,68 @@
+package com.pms.security;
+
+import com.pms.entity.OrganizationMember;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Encodes a user's organization memberships as one short JWT claim, e.g.
+ * {@code "3:O,12:M"} for owner of organization 3 and member of 12, so the
+ * organization filter can check the requested tenant without a query.
+ */
+public final class MembershipClaim {
+    
+    public static final String NAME = "orgs";
+    
+    private MembershipClaim() {
+        // Private constructor to prevent instantiation
+    }
+    
+    public static String encode(Map<Long, OrganizationMember.MemberRole> memberships) {
+        StringBuilder claim = new StringBuilder();
+        for (Map.Entry<Long, OrganizationMember.MemberRole> membership : new TreeMap<>(memberships).entrySet()) {
+            if (claim.length() > 0) {
+                claim.append(',');
+            }
+            claim.append(membership.getKey()).append(':').append(code(membership.getValue()));
+        }
+        return claim.toString();
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the claim is malformed
+     */
+    public static Map<Long, OrganizationMember.MemberRole> decode(String claim) {
+        if (claim == null || claim.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, OrganizationMember.MemberRole> memberships = new HashMap<>();
+        for (String membership : claim.split(",")) {
+            int separator = membership.indexOf(':');
+            if (separator < 1 || separator != membership.length() - 2) {
+                throw new IllegalArgumentException("Malformed membership claim: " + claim);
+            }
+            memberships.put(Long.parseLong(membership.substring(0, separator)), role(membership.charAt(separator + 1)));
+        }
+        return Collections.unmodifiableMap(memberships);
+    }
+    
+    private static char code(OrganizationMember.MemberRole role) {
+        return switch (role) {
+            case OWNER -> 'O';
+            case ADMIN -> 'A';
+            case MEMBER -> 'M';
+        };
+    }
+    
+    private static OrganizationMember.MemberRole role(char code) {
+        return switch (code) {
+            case 'O' -> OrganizationMember.MemberRole.OWNER;
+            case 'A' -> OrganizationMember.MemberRole.ADMIN;
+            case 'M' -> OrganizationMember.MemberRole.MEMBER;
+            default -> throw new IllegalArgumentException("Unknown membership role code: " + code);
+        };
+    }
+}
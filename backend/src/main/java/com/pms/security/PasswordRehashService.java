@@ -0,0 +1,33 @@
+package com.pms.security;
+
+import com.pms.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores the new hash when the authentication provider re-hashes a password
+ * at the configured BCrypt cost after a successful login
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordRehashService implements UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByEmail(user.getUsername()).ifPresent(account -> {
+            account.setPasswordHash(newPassword);
+            userRepository.save(account);
+            log.debug("Re-hashed password of user {} at the configured cost", account.getId());
+        });
+        return User.withUserDetails(user).password(newPassword).build();
+    }
+}
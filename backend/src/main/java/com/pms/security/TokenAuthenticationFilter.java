@@ -0,0 +1,79 @@
+package com.pms.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Authenticates bearer tokens through {@link VerifiedTokenCache}: the first
+ * request of a session verifies the signature and loads the user, repeat
+ * requests are authenticated from the cached {@link TokenPrincipal} with no
+ * signature check and no query. The verified token is left on the request
+ * under {@link #VERIFIED_TOKEN_ATTRIBUTE} for the organization filter.
+ *
+ * <p>Users that are no longer active are not authenticated; invalid tokens
+ * leave the request anonymous, so the entry point answers 401.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+    
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = VerifiedToken.class.getName();
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    private final VerifiedTokenCache verifiedTokenCache;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        
+        String token = bearerToken(request);
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Optional<VerifiedToken> verified = verifiedTokenCache.verify(token);
+            if (verified.isPresent() && verified.get().principal().isActive()) {
+                request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, verified.get());
+                authenticate(request, verified.get().principal());
+            } else if (verified.isPresent()) {
+                log.debug("Rejected token of inactive user {}", verified.get().principal().email());
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+    
+    public static String bearerToken(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        return authorization.substring(BEARER_PREFIX.length()).trim();
+    }
+    
+    private static void authenticate(HttpServletRequest request, TokenPrincipal principal) {
+        UserDetails userDetails = User.withUsername(principal.email())
+                .password("")
+                .authorities(principal.authorities())
+                .build();
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+    }
+}
@@ -0,0 +1,22 @@
+package com.pms.security;
+
+import com.pms.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * The parts of a {@link User} that request authentication needs, small
+ * enough to cache per token instead of loading the user on every request
+ */
+public record TokenPrincipal(String id, String email, User.Role role, User.UserStatus status) {
+    
+    public boolean isActive() {
+        return status == User.UserStatus.ACTIVE;
+    }
+    
+    public List<GrantedAuthority> authorities() {
+        return role == null ? List.of() : List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+}
@@ -0,0 +1,20 @@
+package com.pms.security;
+
+import com.pms.entity.OrganizationMember;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A bearer token whose signature has been checked, with its user and decoded
+ * membership claim
+ * @param memberships Organization id to role, or null if the token predates the claim
+ */
+public record VerifiedToken(TokenPrincipal principal,
+                            Map<Long, OrganizationMember.MemberRole> memberships,
+                            Instant expiresAt) {
+    
+    public boolean isExpired() {
+        return expiresAt != null && !Instant.now().isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,92 @@
+package com.pms.security;
+
+import com.pms.cache.ExpiringCache;
+import com.pms.entity.User;
+import com.pms.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Verifies bearer tokens once per session instead of once per request. The
+ * first request with a token checks its signature and loads the user; the
+ * result is cached under the token's SHA-256, so the raw token is never
+ * kept. Cached entries are dropped when the token expires, and at the
+ * latest after {@code security.token-cache.ttl-seconds}, which also bounds
+ * how long a changed user status or role can go unnoticed.
+ *
+ * <p>Invalid tokens are not cached.</p>
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final UserRepository userRepository;
+    private final ExpiringCache<String, VerifiedToken> tokens;
+
+    public VerifiedTokenCache(JwtTokenProvider jwtTokenProvider,
+                              UserRepository userRepository,
+                              @Value("${security.token-cache.max-size:10000}") int maxSize,
+                              @Value("${security.token-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.userRepository = userRepository;
+        this.tokens = new ExpiringCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    /**
+     * @return The verified token, or empty if it is invalid, expired or its user no longer exists
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String key = hash(token);
+        VerifiedToken cached = tokens.getIfPresent(key);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return Optional.of(cached);
+            }
+            tokens.invalidate(key);
+            return Optional.empty();
+        }
+
+        Claims claims;
+        try {
+            claims = jwtTokenProvider.getClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        User user = userRepository.findByEmail(claims.getSubject()).orElse(null);
+        if (user == null) {
+            return Optional.empty();
+        }
+        String membershipClaim = claims.get(MembershipClaim.NAME, String.class);
+        VerifiedToken verified;
+        try {
+            verified = new VerifiedToken(
+                    new TokenPrincipal(user.getId(), user.getEmail(), user.getRole(), user.getStatus()),
+                    membershipClaim == null ? null : MembershipClaim.decode(membershipClaim),
+                    claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (verified.isExpired()) {
+            return Optional.empty();
+        }
+        tokens.put(key, verified);
+        return Optional.of(verified);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
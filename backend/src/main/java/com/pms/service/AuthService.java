@@ -1,13 +1,16 @@
 package com.pms.service;
 
+import com.pms.cache.MembershipCache;
 import com.pms.dto.AuthRequest;
 import com.pms.dto.AuthResponse;
 import com.pms.dto.RegisterRequest;
 import com.pms.entity.Organization;
+import com.pms.entity.OrganizationMember;
 import com.pms.entity.User;
 import com.pms.repository.OrganizationRepository;
 import com.pms.repository.UserRepository;
 import com.pms.security.JwtTokenProvider;
+import com.pms.security.MembershipClaim;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -16,6 +19,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 public class AuthService {
@@ -25,6 +31,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final MembershipCache membershipCache;
     
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -56,7 +63,7 @@ public class AuthService {
         user = userRepository.save(user);
         
         // Generate token
-        String token = jwtTokenProvider.generateToken(user.getEmail());
+        String token = jwtTokenProvider.generateToken(user.getEmail(), membershipClaims(user));
         
         return AuthResponse.builder()
                 .token(token)
@@ -82,7 +89,7 @@ public class AuthService {
         }
         
         // Generate token
-        String token = jwtTokenProvider.generateToken(user.getEmail());
+        String token = jwtTokenProvider.generateToken(user.getEmail(), membershipClaims(user));
         
         return AuthResponse.builder()
                 .token(token)
@@ -92,4 +99,20 @@ public class AuthService {
                 .role(user.getRole().toString())
                 .build();
     }
+    
+    /**
+     * Organization memberships embedded in the token, checked by
+     * OrganizationContextFilter. They are fixed at sign-in, so membership
+     * changes reach a user's requests with their next token.
+     */
+    private Map<String, Object> membershipClaims(User user) {
+        Map<Long, OrganizationMember.MemberRole> memberships = new HashMap<>(membershipCache.getMemberships(user.getId()));
+        // The organization a user registered under counts even without a member row
+        if (user.getOrganization() != null) {
+            memberships.putIfAbsent(user.getOrganization().getId(), user.getRole() == User.Role.ORG_ADMIN
+                    ? OrganizationMember.MemberRole.ADMIN
+                    : OrganizationMember.MemberRole.MEMBER);
+        }
+        return Map.of(MembershipClaim.NAME, MembershipClaim.encode(memberships));
+    }
 }
\ No newline at end of file
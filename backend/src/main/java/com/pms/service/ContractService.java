@@ -1,5 +1,6 @@
 package com.pms.service;
 
+import com.pms.cache.ProjectOwnershipCache;
 import com.pms.dto.ApiResponse;
 import com.pms.dto.ContractDTO;
 import com.pms.entity.Contract;
@@ -7,55 +8,53 @@ import com.pms.entity.Project;
 import com.pms.exception.ResourceNotFoundException;
 import com.pms.context.OrganizationContext;
 import com.pms.repository.ContractRepository;
-import com.pms.repository.ProjectRepository;
+import com.pms.util.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ContractService {
 
     private final ContractRepository contractRepository;
-    private final ProjectRepository projectRepository;
+    private final ProjectOwnershipCache projectOwnershipCache;
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<ContractDTO>> getAllContracts() {
+    public ApiResponse<List<ContractDTO>> getAllContracts(String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<Contract> contracts = contractRepository.findByOrganizationId(organizationId);
-        List<ContractDTO> contractDTOs = contracts.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ApiResponse.success(contractDTOs, "Contracts retrieved successfully");
+        Pageable page = KeysetPage.fetch(limit);
+        List<ContractDTO> contractDTOs = contractRepository.findPageByOrganizationId(organizationId, KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<ContractDTO> slice = KeysetPage.slice(contractDTOs, page, ContractDTO::getId);
+        return ApiResponse.success(slice.content(), "Contracts retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<ContractDTO>> getContractsByProject(Long projectId) {
+    public ApiResponse<List<ContractDTO>> getContractsByProject(Long projectId, String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<Contract> contracts = contractRepository.findByProjectIdAndOrganizationId(projectId, organizationId);
-        List<ContractDTO> contractDTOs = contracts.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ApiResponse.success(contractDTOs, "Project contracts retrieved successfully");
+        Pageable page = KeysetPage.fetch(limit);
+        List<ContractDTO> contractDTOs = contractRepository.findPageByProjectIdAndOrganizationId(projectId, organizationId,
+                KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<ContractDTO> slice = KeysetPage.slice(contractDTOs, page, ContractDTO::getId);
+        return ApiResponse.success(slice.content(), "Project contracts retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
     public ApiResponse<ContractDTO> getContractById(Long id) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        Contract contract = contractRepository.findByIdAndOrganizationId(id, organizationId)
+        ContractDTO contract = contractRepository.findDtoByIdAndOrganizationId(id, organizationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Contract not found with id: " + id));
-        return ApiResponse.success(convertToDTO(contract), "Contract retrieved successfully");
+        return ApiResponse.success(contract, "Contract retrieved successfully");
     }
 
     @Transactional
     public ApiResponse<ContractDTO> createContract(ContractDTO contractDTO) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
         
-        Project project = projectRepository.findByIdAndOrganizationId(contractDTO.getProjectId(), organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + contractDTO.getProjectId()));
+        Project project = projectOwnershipCache.requireProject(contractDTO.getProjectId(), organizationId);
 
         Contract contract = new Contract();
         contract.setProject(project);
@@ -120,7 +119,7 @@ public class ContractService {
         ContractDTO dto = new ContractDTO();
         dto.setId(contract.getId());
         dto.setProjectId(contract.getProject().getId());
-        dto.setProjectName(contract.getProject().getName());
+        dto.setProjectName(projectOwnershipCache.projectName(contract.getProject()));
         dto.setContractNumber(contract.getContractNumber());
         dto.setTitle(contract.getTitle());
         dto.setDescription(contract.getDescription());
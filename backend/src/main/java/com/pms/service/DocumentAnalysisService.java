@@ -0,0 +1,424 @@
+package com.pms.service;
+
+import com.pms.analysis.AnalysisResult;
+import com.pms.analysis.DocumentAnalyzer;
+import com.pms.analysis.MagicBytes;
+import com.pms.context.OrganizationContext;
+import com.pms.dto.ApiResponse;
+import com.pms.dto.DocumentAnalysisDTO;
+import com.pms.entity.Document;
+import com.pms.entity.DocumentAnalysis;
+import com.pms.entity.DocumentContent;
+import com.pms.exception.ResourceNotFoundException;
+import com.pms.repository.DocumentAnalysisRepository;
+import com.pms.repository.DocumentContentRepository;
+import com.pms.repository.DocumentRepository;
+import com.pms.search.DocumentTextIndex;
+import com.pms.search.DocumentsIndexedEvent;
+import com.pms.search.IndexableDocument;
+import com.pms.storage.BlobDeletedEvent;
+import com.pms.storage.StorageBackend;
+import com.pms.util.TransactionHooks;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Analyzes uploaded documents on a dedicated executor, so the upload request
+ * returns as soon as the bytes are stored. Each file is read once by
+ * {@link DocumentAnalyzer}. The extracted text is stored next to the blob,
+ * keyed by content hash. Results go to {@code document_analyses}, and the
+ * detected MIME type is written back to the document. Finished text is fed
+ * to {@link DocumentTextIndex}.
+ *
+ * <p>A job is claimed by moving its row from PENDING to RUNNING with a
+ * conditional UPDATE, so a document queued twice is analyzed once. Jobs the
+ * full queue rejects are resubmitted every
+ * {@code documents.analysis.retry-seconds}. Analyses left pending or running
+ * by a restart are picked up again when the application starts, as is text
+ * that never reached an on-disk index segment.</p>
+ */
+@Slf4j
+@Service
+public class DocumentAnalysisService {
+
+    private final DocumentAnalysisRepository documentAnalysisRepository;
+    private final DocumentRepository documentRepository;
+    private final DocumentContentRepository documentContentRepository;
+    private final StorageBackend storageBackend;
+    private final DocumentTextIndex documentTextIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor analysisExecutor;
+    private final ScheduledExecutorService retryScheduler;
+    private final long maxTextChars;
+    private final Duration staleRunningAfter;
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final Set<Long> deferred = ConcurrentHashMap.newKeySet();
+
+    private record AnalysisJob(Long documentId, Long organizationId, Long projectId, String storageKey,
+                               String fileName, String sha256) {
+    }
+
+    public DocumentAnalysisService(DocumentAnalysisRepository documentAnalysisRepository,
+                                   DocumentRepository documentRepository,
+                                   DocumentContentRepository documentContentRepository,
+                                   StorageBackend storageBackend,
+                                   DocumentTextIndex documentTextIndex,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${documents.analysis.threads:2}") int threads,
+                                   @Value("${documents.analysis.max-queued:1000}") int maxQueued,
+                                   @Value("${documents.analysis.max-text-chars:5000000}") long maxTextChars,
+                                   @Value("${documents.analysis.retry-seconds:30}") long retrySeconds,
+                                   @Value("${documents.analysis.stale-running-minutes:30}") long staleRunningMinutes) {
+        this.documentAnalysisRepository = documentAnalysisRepository;
+        this.documentRepository = documentRepository;
+        this.documentContentRepository = documentContentRepository;
+        this.storageBackend = storageBackend;
+        this.documentTextIndex = documentTextIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxTextChars = maxTextChars;
+        this.staleRunningAfter = Duration.ofMinutes(staleRunningMinutes);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.analysisExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(maxQueued),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "document-analysis-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "document-analysis-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        retryScheduler.scheduleWithFixedDelay(this::resubmitDeferred, retrySeconds, retrySeconds, TimeUnit.SECONDS);
+    }
+
+    public static String textKeyFor(String sha256) {
+        return "document-text/" + sha256.substring(0, 2) + "/" + sha256 + ".txt";
+    }
+
+    /**
+     * Mark a document's content for analysis. Must be called inside the
+     * transaction that stores the content; the work is queued once it commits.
+     */
+    public void scheduleAnalysis(Document document, DocumentContent content) {
+        DocumentAnalysis analysis = documentAnalysisRepository.findByDocumentId(document.getId())
+                .orElseGet(DocumentAnalysis::new);
+        analysis.setDocument(document);
+        analysis.setOrganization(document.getProject().getOrganization());
+        analysis.setSha256(content.getSha256());
+        analysis.setStatus(DocumentAnalysis.AnalysisStatus.PENDING);
+        analysis.setErrorMessage(null);
+        analysis.setIndexedAt(null);
+        documentAnalysisRepository.save(analysis);
+        Long documentId = document.getId();
+        TransactionHooks.afterCommit(() -> submit(documentId));
+    }
+
+    @Transactional(readOnly = true)
+    public ApiResponse<DocumentAnalysisDTO> getDocumentAnalysis(Long documentId) {
+        Long organizationId = OrganizationContext.getCurrentOrganizationId();
+        documentRepository.findByIdAndOrganizationId(documentId, organizationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + documentId));
+        DocumentAnalysis analysis = documentAnalysisRepository.findByDocumentId(documentId)
+                .orElseThrow(() -> new ResourceNotFoundException("No analysis for document with id: " + documentId));
+        return ApiResponse.success(convertToDTO(analysis), "Document analysis retrieved successfully");
+    }
+
+    @Transactional
+    public ApiResponse<DocumentAnalysisDTO> requestAnalysis(Long documentId) {
+        Long organizationId = OrganizationContext.getCurrentOrganizationId();
+        Document document = documentRepository.findByIdAndOrganizationId(documentId, organizationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + documentId));
+        DocumentContent content = documentContentRepository.findByDocumentId(documentId)
+                .orElseThrow(() -> new ResourceNotFoundException("No stored content for document with id: " + documentId));
+        DocumentAnalysis current = documentAnalysisRepository.findByDocumentId(documentId).orElse(null);
+        if (current != null && (current.getStatus() == DocumentAnalysis.AnalysisStatus.PENDING
+                || current.getStatus() == DocumentAnalysis.AnalysisStatus.RUNNING)) {
+            return ApiResponse.success(convertToDTO(current), "Document analysis already queued");
+        }
+        scheduleAnalysis(document, content);
+        return ApiResponse.success(convertToDTO(documentAnalysisRepository.findByDocumentId(documentId).orElseThrow()),
+                "Document analysis queued successfully");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingAnalyses() {
+        // Rows left RUNNING by a stopped node; recent ones may still be running elsewhere
+        Integer reset = transactionTemplate.execute(status -> documentAnalysisRepository.resetStaleRunning(
+                DocumentAnalysis.AnalysisStatus.RUNNING, DocumentAnalysis.AnalysisStatus.PENDING,
+                LocalDateTime.now().minus(staleRunningAfter)));
+        if (reset != null && reset > 0) {
+            log.info("Reset {} interrupted document analyses to pending", reset);
+        }
+        List<Long> documentIds = documentAnalysisRepository.findDocumentIdsByStatusIn(
+                List.of(DocumentAnalysis.AnalysisStatus.PENDING));
+        if (!documentIds.isEmpty()) {
+            log.info("Resuming {} pending document analyses", documentIds.size());
+            documentIds.forEach(this::submit);
+        }
+        List<IndexableDocument> unindexed = documentAnalysisRepository.findUnindexed();
+        if (!unindexed.isEmpty()) {
+            log.info("Re-indexing text of {} documents", unindexed.size());
+            try {
+                analysisExecutor.execute(() -> unindexed.forEach(this::index));
+            } catch (RejectedExecutionException e) {
+                log.warn("Document analysis queue is full, re-indexing is left for the next start");
+            }
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void onDocumentsIndexed(DocumentsIndexedEvent event) {
+        documentAnalysisRepository.markIndexed(event.documentIds(), LocalDateTime.now());
+    }
+
+    @EventListener
+    public void onBlobDeleted(BlobDeletedEvent event) {
+        try {
+            storageBackend.delete(textKeyFor(event.sha256()));
+        } catch (IOException e) {
+            log.warn("Could not delete extracted text of {}", event.sha256(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        analysisExecutor.shutdownNow();
+    }
+
+    private void submit(Long documentId) {
+        if (!queued.add(documentId)) {
+            return;
+        }
+        try {
+            analysisExecutor.execute(() -> analyze(documentId));
+        } catch (RejectedExecutionException e) {
+            queued.remove(documentId);
+            if (deferred.add(documentId)) {
+                log.warn("Document analysis queue is full, document {} will be retried", documentId);
+            }
+        }
+    }
+
+    private void resubmitDeferred() {
+        for (Long documentId : deferred) {
+            if (analysisExecutor.getQueue().remainingCapacity() == 0) {
+                return;
+            }
+            deferred.remove(documentId);
+            submit(documentId);
+        }
+    }
+
+    private void analyze(Long documentId) {
+        queued.remove(documentId);
+        AnalysisJob job = transactionTemplate.execute(status -> claim(documentId));
+        if (job == null) {
+            return;
+        }
+        try {
+            CopyOutcome copied = transactionTemplate.execute(status -> copyExistingAnalysis(job));
+            if (copied == CopyOutcome.DOCUMENT_GONE) {
+                log.debug("Document {} was deleted before analysis finished", documentId);
+                return;
+            }
+            if (copied == CopyOutcome.COPIED) {
+                index(job);
+                return;
+            }
+            long start = System.currentTimeMillis();
+            AnalysisResult result = runAnalysis(job);
+            // A delete during the run removes the row; indexing then would resurrect the document in search
+            if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> storeResult(job, result)))) {
+                log.debug("Document {} was deleted before analysis finished", documentId);
+                return;
+            }
+            index(job);
+            log.debug("Analyzed document {} ({} bytes) in {} ms", documentId, result.contentLength(),
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("Analysis of document {} failed", documentId, e);
+            transactionTemplate.executeWithoutResult(status -> documentAnalysisRepository.findByDocumentId(documentId)
+                    .ifPresent(analysis -> {
+                        analysis.setStatus(DocumentAnalysis.AnalysisStatus.FAILED);
+                        analysis.setErrorMessage(truncate(e.getMessage()));
+                    }));
+        }
+    }
+
+    /**
+     * Move the analysis from PENDING to RUNNING
+     * @return The job, or null if it was not pending (already claimed, finished or gone)
+     */
+    private AnalysisJob claim(Long documentId) {
+        int claimed = documentAnalysisRepository.updateStatus(documentId, DocumentAnalysis.AnalysisStatus.PENDING,
+                DocumentAnalysis.AnalysisStatus.RUNNING, LocalDateTime.now());
+        if (claimed == 0) {
+            return null;
+        }
+        DocumentAnalysis analysis = documentAnalysisRepository.findByDocumentId(documentId).orElseThrow();
+        DocumentContent content = documentContentRepository.findByDocumentId(documentId).orElse(null);
+        if (content == null) {
+            analysis.setStatus(DocumentAnalysis.AnalysisStatus.FAILED);
+            analysis.setErrorMessage("Document has no stored content");
+            return null;
+        }
+        Document document = content.getDocument();
+        return new AnalysisJob(documentId, analysis.getOrganization().getId(), document.getProject().getId(),
+                content.getStorageKey(), document.getFileName(), content.getSha256());
+    }
+
+    private void index(AnalysisJob job) {
+        index(new IndexableDocument(job.documentId(), job.organizationId(), job.projectId(), job.fileName(),
+                textKeyFor(job.sha256())));
+    }
+
+    // A failure only delays search; indexedAt stays null and the text is fed in again on the next start
+    private void index(IndexableDocument document) {
+        try {
+            documentTextIndex.add(document.organizationId(), document.documentId(), document.projectId(),
+                    document.fileName(), document.textStorageKey());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not index text of document {}", document.documentId(), e);
+        }
+    }
+
+    private enum CopyOutcome { COPIED, NOT_COPIED, DOCUMENT_GONE }
+
+    /**
+     * Reuse the finished analysis of another document with the same bytes
+     * @return Whether results were copied, or DOCUMENT_GONE if the document was deleted meanwhile
+     */
+    private CopyOutcome copyExistingAnalysis(AnalysisJob job) {
+        DocumentAnalysis analysis = documentAnalysisRepository.findByDocumentId(job.documentId()).orElse(null);
+        if (analysis == null) {
+            return CopyOutcome.DOCUMENT_GONE;
+        }
+        return documentAnalysisRepository.findFirstBySha256AndStatusAndDocumentIdNot(job.sha256(),
+                        DocumentAnalysis.AnalysisStatus.COMPLETED, job.documentId())
+                .filter(existing -> existing.getTextStorageKey() != null && storageBackend.exists(existing.getTextStorageKey()))
+                .map(existing -> {
+                    analysis.setFormat(existing.getFormat());
+                    analysis.setPageCount(existing.getPageCount());
+                    analysis.setLineCount(existing.getLineCount());
+                    analysis.setWordCount(existing.getWordCount());
+                    analysis.setCharacterCount(existing.getCharacterCount());
+                    analysis.setTextTruncated(existing.getTextTruncated());
+                    analysis.setTextStorageKey(existing.getTextStorageKey());
+                    complete(analysis, existing.getFormat() != null
+                            ? MagicBytes.mimeType(existing.getFormat(), job.fileName())
+                            : existing.getMimeType());
+                    return CopyOutcome.COPIED;
+                })
+                .orElse(CopyOutcome.NOT_COPIED);
+    }
+
+    private AnalysisResult runAnalysis(AnalysisJob job) throws IOException {
+        String textKey = textKeyFor(job.sha256());
+        String stagingKey = "text-" + UUID.randomUUID() + ".part";
+        AnalysisResult result;
+        try (FileChannel source = storageBackend.open(job.storageKey());
+             InputStream in = Channels.newInputStream(source);
+             FileChannel target = storageBackend.openStaging(stagingKey);
+             Writer text = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(target), StandardCharsets.UTF_8))) {
+            result = DocumentAnalyzer.analyze(in, job.fileName(), text, maxTextChars);
+        } catch (IOException | RuntimeException e) {
+            storageBackend.deleteStaging(stagingKey);
+            throw e;
+        }
+        if (!result.sha256().equals(job.sha256())) {
+            storageBackend.deleteStaging(stagingKey);
+            throw new IllegalStateException("Stored content does not match its recorded SHA-256");
+        }
+        storageBackend.promote(stagingKey, textKey);
+        return result;
+    }
+
+    /**
+     * Write the analysis onto the document's row
+     * @return false if the document was deleted meanwhile
+     */
+    private boolean storeResult(AnalysisJob job, AnalysisResult result) {
+        DocumentAnalysis analysis = documentAnalysisRepository.findByDocumentId(job.documentId()).orElse(null);
+        if (analysis == null) {
+            return false;
+        }
+        analysis.setFormat(result.format());
+        analysis.setPageCount(result.pageCount());
+        analysis.setLineCount(result.lineCount());
+        analysis.setWordCount(result.wordCount());
+        analysis.setCharacterCount(result.characterCount());
+        analysis.setTextTruncated(result.textTruncated());
+        analysis.setTextStorageKey(textKeyFor(job.sha256()));
+        complete(analysis, result.mimeType());
+        return true;
+    }
+
+    private void complete(DocumentAnalysis analysis, String mimeType) {
+        analysis.setMimeType(mimeType);
+        analysis.setStatus(DocumentAnalysis.AnalysisStatus.COMPLETED);
+        analysis.setErrorMessage(null);
+        analysis.setAnalyzedAt(LocalDateTime.now());
+        // The sniffed type replaces the one guessed at upload time
+        Document document = analysis.getDocument();
+        document.setMimeType(mimeType);
+        documentContentRepository.findByDocumentId(document.getId())
+                .ifPresent(content -> content.setMimeType(mimeType));
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return "Analysis failed";
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    private DocumentAnalysisDTO convertToDTO(DocumentAnalysis analysis) {
+        DocumentAnalysisDTO dto = new DocumentAnalysisDTO();
+        dto.setDocumentId(analysis.getDocument().getId());
+        dto.setStatus(analysis.getStatus());
+        dto.setFormat(analysis.getFormat());
+        dto.setMimeType(analysis.getMimeType());
+        dto.setSha256(analysis.getSha256());
+        dto.setPageCount(analysis.getPageCount());
+        dto.setLineCount(analysis.getLineCount());
+        dto.setWordCount(analysis.getWordCount());
+        dto.setCharacterCount(analysis.getCharacterCount());
+        dto.setTextTruncated(analysis.getTextTruncated());
+        dto.setErrorMessage(analysis.getErrorMessage());
+        dto.setAnalyzedAt(analysis.getAnalyzedAt());
+        return dto;
+    }
+}
@@ -1,18 +1,29 @@
 package com.pms.service;
 
+import com.pms.cache.ProjectOwnershipCache;
 import com.pms.dto.ApiResponse;
 import com.pms.dto.DocumentDTO;
+import com.pms.dto.DocumentSearchHitDTO;
 import com.pms.entity.Document;
+import com.pms.entity.DocumentContent;
 import com.pms.entity.Project;
 import com.pms.exception.ResourceNotFoundException;
 import com.pms.context.OrganizationContext;
+import com.pms.repository.DocumentAnalysisRepository;
+import com.pms.repository.DocumentContentRepository;
 import com.pms.repository.DocumentRepository;
-import com.pms.repository.ProjectRepository;
+import com.pms.search.DocumentTextIndex;
+import com.pms.storage.BlobStore;
+import com.pms.storage.StoredContent;
+import com.pms.util.KeysetPage;
+import com.pms.util.TransactionHooks;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,26 +32,35 @@ import java.util.stream.Collectors;
 public class DocumentService {
 
     private final DocumentRepository documentRepository;
-    private final ProjectRepository projectRepository;
+    private final ProjectOwnershipCache projectOwnershipCache;
+    private final DocumentContentRepository documentContentRepository;
+    private final DocumentAnalysisRepository documentAnalysisRepository;
+    private final BlobStore blobStore;
+    private final DocumentTextIndex documentTextIndex;
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<DocumentDTO>> getAllDocuments() {
+    public ApiResponse<List<DocumentDTO>> getAllDocuments(String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<Document> documents = documentRepository.findByOrganizationId(organizationId);
-        List<DocumentDTO> documentDTOs = documents.stream()
+        Pageable page = KeysetPage.fetch(limit);
+        List<Document> documents = documentRepository.findPageByOrganizationId(organizationId, KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<Document> slice = KeysetPage.slice(documents, page, Document::getId);
+        List<DocumentDTO> documentDTOs = slice.content().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
-        return ApiResponse.success(documentDTOs, "Documents retrieved successfully");
+        return ApiResponse.success(documentDTOs, "Documents retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<DocumentDTO>> getDocumentsByProject(Long projectId) {
+    public ApiResponse<List<DocumentDTO>> getDocumentsByProject(Long projectId, String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<Document> documents = documentRepository.findByProjectIdAndOrganizationId(projectId, organizationId);
-        List<DocumentDTO> documentDTOs = documents.stream()
+        Pageable page = KeysetPage.fetch(limit);
+        List<Document> documents = documentRepository.findPageByProjectIdAndOrganizationId(projectId, organizationId,
+                KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<Document> slice = KeysetPage.slice(documents, page, Document::getId);
+        List<DocumentDTO> documentDTOs = slice.content().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
-        return ApiResponse.success(documentDTOs, "Project documents retrieved successfully");
+        return ApiResponse.success(documentDTOs, "Project documents retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
@@ -51,12 +71,43 @@ public class DocumentService {
         return ApiResponse.success(convertToDTO(document), "Document retrieved successfully");
     }
 
+    /**
+     * Full-text search over the extracted text and file names of the current
+     * organization's documents. Matching and ranking run against the on-disk
+     * index only; hits come back best first with a snippet of the text.
+     */
+    public ApiResponse<List<DocumentSearchHitDTO>> searchDocuments(String query, Long projectId, Integer limit) {
+        Long organizationId = OrganizationContext.requireOrganizationId();
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        int size = KeysetPage.limit(limit).getPageSize();
+        List<DocumentSearchHitDTO> hits = documentTextIndex.search(organizationId, query, projectId, size);
+        return ApiResponse.success(hits, "Document search results retrieved successfully");
+    }
+
+    /**
+     * Resolve the stored bytes of a document for download
+     * @throws ResourceNotFoundException if the document does not exist in the
+     *         current organization or has no uploaded content
+     */
+    @Transactional(readOnly = true)
+    public StoredContent getDocumentContent(Long id) {
+        Long organizationId = OrganizationContext.getCurrentOrganizationId();
+        Document document = documentRepository.findByIdAndOrganizationId(id, organizationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + id));
+        DocumentContent content = documentContentRepository.findByDocumentId(id)
+                .orElseThrow(() -> new ResourceNotFoundException("No stored content for document with id: " + id));
+        LocalDateTime modified = document.getUpdatedAt() != null ? document.getUpdatedAt() : document.getCreatedAt();
+        return new StoredContent(content.getStorageKey(), content.getContentLength(), content.getSha256(),
+                content.getMimeType(), document.getFileName(), modified.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
     @Transactional
     public ApiResponse<DocumentDTO> createDocument(DocumentDTO documentDTO) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
         
-        Project project = projectRepository.findByIdAndOrganizationId(documentDTO.getProjectId(), organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + documentDTO.getProjectId()));
+        Project project = projectOwnershipCache.requireProject(documentDTO.getProjectId(), organizationId);
 
         Document document = new Document();
         document.setProject(project);
@@ -103,11 +154,17 @@ public class DocumentService {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
         Document document = documentRepository.findByIdAndOrganizationId(id, organizationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Document not found with id: " + id));
+        documentAnalysisRepository.deleteByDocumentId(id);
+        documentContentRepository.findByDocumentId(id).ifPresent(content -> {
+            documentContentRepository.delete(content);
+            blobStore.release(content.getSha256());
+        });
         documentRepository.delete(document);
+        TransactionHooks.afterCommit(() -> documentTextIndex.remove(organizationId, id));
         return ApiResponse.success(null, "Document deleted successfully");
     }
 
-    private DocumentDTO convertToDTO(Document document) {
+    DocumentDTO convertToDTO(Document document) {
         DocumentDTO dto = new DocumentDTO();
         dto.setId(document.getId());
         dto.setProjectId(document.getProject().getId());
@@ -0,0 +1,518 @@
+package com.pms.service;
+
+import com.pms.cache.ProjectOwnershipCache;
+import com.pms.context.OrganizationContext;
+import com.pms.dto.ApiResponse;
+import com.pms.dto.DocumentDTO;
+import com.pms.dto.DocumentUploadDTO;
+import com.pms.dto.DocumentUploadRequest;
+import com.pms.entity.Blob;
+import com.pms.entity.Document;
+import com.pms.entity.DocumentContent;
+import com.pms.entity.DocumentUpload;
+import com.pms.entity.Project;
+import com.pms.exception.ResourceNotFoundException;
+import com.pms.repository.DocumentContentRepository;
+import com.pms.repository.DocumentRepository;
+import com.pms.repository.DocumentUploadRepository;
+import com.pms.storage.BlobStore;
+import com.pms.storage.StagedBlob;
+import com.pms.storage.StorageBackend;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Chunked, resumable document uploads. Chunks must arrive in order: each one
+ * carries the offset it starts at, which must equal the bytes received so far
+ * (see {@link #getUpload}). Request bodies are copied to the staging file in
+ * fixed-size buffers through a {@link FileChannel}, and the SHA-256 digest is
+ * updated as the bytes pass through. Digest state is kept in memory; after a
+ * restart it is rebuilt once from the staged bytes. Completed content goes
+ * into the deduplicating {@link BlobStore} and is queued for analysis.
+ *
+ * <p>Digest state idle for {@code uploads.state-idle-minutes} is dropped from
+ * memory (it is rebuilt if the upload resumes). Uploads that have not
+ * received a chunk for {@code uploads.expire-after-hours} are marked expired
+ * and their staged bytes deleted.</p>
+ *
+ * <p>Progress and status changes are conditional updates on
+ * {@code status = IN_PROGRESS}, so a chunk still streaming in when its upload
+ * is aborted or expired cannot bring the upload back; its progress update is
+ * rejected and it deletes the staging file it reopened.</p>
+ */
+@Slf4j
+@Service
+public class DocumentUploadService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SNIFF_SIZE = 4096;
+    private static final String DEFAULT_MIME_TYPE = "application/octet-stream";
+    private static final int EXPIRY_BATCH_SIZE = 100;
+
+    private final DocumentUploadRepository documentUploadRepository;
+    private final DocumentRepository documentRepository;
+    private final DocumentContentRepository documentContentRepository;
+    private final ProjectOwnershipCache projectOwnershipCache;
+    private final DocumentService documentService;
+    private final DocumentAnalysisService documentAnalysisService;
+    private final StorageBackend storageBackend;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration stateIdleTimeout;
+    private final Duration uploadExpiry;
+    private final ScheduledExecutorService cleaner;
+    private final Map<String, UploadState> uploadStates = new ConcurrentHashMap<>();
+
+    private static final class UploadState {
+        private final ReentrantLock lock = new ReentrantLock();
+        private MessageDigest digest;
+        private long position = -1;
+        private volatile long lastUsed = System.currentTimeMillis();
+        // Set under the lock once the state has left uploadStates
+        private boolean evicted;
+    }
+
+    public DocumentUploadService(DocumentUploadRepository documentUploadRepository,
+                                 DocumentRepository documentRepository,
+                                 DocumentContentRepository documentContentRepository,
+                                 ProjectOwnershipCache projectOwnershipCache,
+                                 DocumentService documentService,
+                                 DocumentAnalysisService documentAnalysisService,
+                                 StorageBackend storageBackend,
+                                 BlobStore blobStore,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${uploads.state-idle-minutes:15}") long stateIdleMinutes,
+                                 @Value("${uploads.expire-after-hours:24}") long expireAfterHours,
+                                 @Value("${uploads.cleanup-interval-minutes:10}") long cleanupIntervalMinutes) {
+        this.documentUploadRepository = documentUploadRepository;
+        this.documentRepository = documentRepository;
+        this.documentContentRepository = documentContentRepository;
+        this.projectOwnershipCache = projectOwnershipCache;
+        this.documentService = documentService;
+        this.documentAnalysisService = documentAnalysisService;
+        this.storageBackend = storageBackend;
+        this.blobStore = blobStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stateIdleTimeout = Duration.ofMinutes(stateIdleMinutes);
+        this.uploadExpiry = Duration.ofHours(expireAfterHours);
+        this.cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "upload-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleaner.scheduleWithFixedDelay(this::cleanUp, cleanupIntervalMinutes, cleanupIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @Transactional
+    public ApiResponse<DocumentUploadDTO> createUpload(DocumentUploadRequest request) {
+        Long organizationId = OrganizationContext.requireOrganizationId();
+        if (request.getFileName() == null || request.getFileName().isBlank()) {
+            throw new IllegalArgumentException("fileName is required");
+        }
+        if (request.getTotalSize() == null || request.getTotalSize() <= 0) {
+            throw new IllegalArgumentException("totalSize must be positive");
+        }
+        Project project = projectOwnershipCache.requireProject(request.getProjectId(), organizationId);
+
+        String token = UUID.randomUUID().toString();
+        DocumentUpload upload = new DocumentUpload();
+        upload.setUploadToken(token);
+        upload.setOrganization(projectOwnershipCache.organizationReference(organizationId));
+        upload.setProject(project);
+        upload.setFileName(request.getFileName());
+        upload.setDocumentType(request.getDocumentType());
+        upload.setDescription(request.getDescription());
+        upload.setCategory(request.getCategory());
+        upload.setTags(request.getTags());
+        upload.setTotalSize(request.getTotalSize());
+        upload.setStagingKey(token + ".part");
+
+        // Content this organization already stores completes without transferring any bytes
+        if (request.getSha256() != null
+                && documentContentRepository.existsBySha256AndOrganizationId(request.getSha256(), organizationId)) {
+            Optional<Blob> blob = blobStore.acquire(request.getSha256(), request.getTotalSize());
+            if (blob.isPresent()) {
+                upload.setReceivedBytes(request.getTotalSize());
+                createDocument(upload, blob.get());
+                return ApiResponse.success(convertToDTO(upload), "Upload completed from existing content");
+            }
+        }
+
+        DocumentUpload savedUpload = documentUploadRepository.save(upload);
+        return ApiResponse.success(convertToDTO(savedUpload), "Upload created successfully");
+    }
+
+    @Transactional(readOnly = true)
+    public ApiResponse<DocumentUploadDTO> getUpload(String uploadId) {
+        return ApiResponse.success(convertToDTO(findUpload(uploadId)), "Upload retrieved successfully");
+    }
+
+    /**
+     * Append one chunk. Deliberately not transactional: no connection is held
+     * while the body streams in. Whatever was written before a client
+     * disconnect is recorded, so the client can resume from there.
+     */
+    public ApiResponse<DocumentUploadDTO> appendChunk(String uploadId, long offset, InputStream body) {
+        DocumentUpload upload = findUpload(uploadId);
+        requireInProgress(upload);
+        if (offset != upload.getReceivedBytes()) {
+            throw new IllegalArgumentException("Upload offset mismatch: expected " + upload.getReceivedBytes() + " but was " + offset);
+        }
+
+        UploadState state = lockState(uploadId, false);
+        long written = 0;
+        boolean rejected = false;
+        try (FileChannel channel = storageBackend.openStaging(upload.getStagingKey())) {
+            if (channel.size() > offset) {
+                // Drop bytes from an earlier chunk whose progress was never recorded
+                channel.truncate(offset);
+            }
+            syncState(state, upload, channel);
+            long remaining = upload.getTotalSize() - offset;
+            ReadableByteChannel source = Channels.newChannel(body);
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            try {
+                while (written < remaining) {
+                    buffer.clear();
+                    buffer.limit((int) Math.min(BUFFER_SIZE, remaining - written));
+                    int read = source.read(buffer);
+                    if (read < 0) {
+                        break;
+                    }
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer, offset + written + buffer.position());
+                    }
+                    // Only bytes that reached the staging file count towards the digest
+                    state.digest.update(buffer.array(), 0, buffer.limit());
+                    written += read;
+                }
+            } finally {
+                state.position = offset + written;
+                upload.setReceivedBytes(offset + written);
+                rejected = !recordProgress(upload);
+            }
+            if (written == remaining && body.read() != -1) {
+                throw new IllegalArgumentException("Chunk exceeds the declared totalSize of " + upload.getTotalSize() + " bytes");
+            }
+        } catch (IOException e) {
+            if (!rejected) {
+                // The bytes that did arrive are recorded above; the client resumes from there
+                log.warn("Upload {} interrupted after {} bytes of chunk at offset {}", uploadId, written, offset, e);
+                throw new UncheckedIOException("Upload interrupted, resume from offset " + (offset + written), e);
+            }
+        } finally {
+            if (rejected) {
+                state.evicted = true;
+                uploadStates.remove(uploadId, state);
+                deleteStaging(upload);
+            }
+            state.lock.unlock();
+        }
+        if (rejected) {
+            throw new IllegalStateException("Upload is no longer in progress");
+        }
+        return ApiResponse.success(convertToDTO(upload), "Chunk received successfully");
+    }
+
+    @Transactional
+    public ApiResponse<DocumentDTO> completeUpload(String uploadId) {
+        DocumentUpload upload = findUpload(uploadId);
+        requireInProgress(upload);
+        if (!upload.getReceivedBytes().equals(upload.getTotalSize())) {
+            throw new IllegalArgumentException("Upload incomplete: received " + upload.getReceivedBytes()
+                    + " of " + upload.getTotalSize() + " bytes");
+        }
+
+        UploadState state = lockState(uploadId, true);
+        try {
+            // Row-locks the upload until commit, so a concurrent abort or expiry waits and then finds it completed
+            if (documentUploadRepository.updateStatus(upload.getId(), DocumentUpload.UploadStatus.IN_PROGRESS,
+                    DocumentUpload.UploadStatus.COMPLETED, LocalDateTime.now()) == 0) {
+                throw new IllegalStateException("Upload is no longer in progress");
+            }
+            String sha256;
+            String mimeType;
+            try (FileChannel channel = storageBackend.readStaging(upload.getStagingKey())) {
+                syncState(state, upload, channel);
+                sha256 = HexFormat.of().formatHex(state.digest.digest());
+                mimeType = detectMimeType(channel, upload.getFileName());
+            }
+
+            Blob blob = blobStore.commit(new StagedBlob(upload.getStagingKey(), sha256, upload.getTotalSize()), mimeType);
+            Document savedDocument = createDocument(upload, blob);
+            state.evicted = true;
+            uploadStates.remove(uploadId, state);
+
+            return ApiResponse.success(documentService.convertToDTO(savedDocument), "Document uploaded successfully");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store uploaded document", e);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * Abort an upload without waiting for a chunk that is still streaming in:
+     * that chunk finds the upload aborted when it records its progress and
+     * deletes the staging file again.
+     */
+    public ApiResponse<Void> abortUpload(String uploadId) {
+        DocumentUpload upload = findUpload(uploadId);
+        requireInProgress(upload);
+        UploadState state = uploadStates.get(uploadId);
+        boolean locked = state != null && state.lock.tryLock();
+        try {
+            Integer aborted = transactionTemplate.execute(status -> documentUploadRepository.updateStatus(upload.getId(),
+                    DocumentUpload.UploadStatus.IN_PROGRESS, DocumentUpload.UploadStatus.ABORTED, LocalDateTime.now()));
+            if (aborted == null || aborted == 0) {
+                throw new IllegalStateException("Upload is no longer in progress");
+            }
+            if (locked) {
+                state.evicted = true;
+                uploadStates.remove(uploadId, state);
+            }
+            deleteStaging(upload);
+        } finally {
+            if (locked) {
+                state.lock.unlock();
+            }
+        }
+        return ApiResponse.success(null, "Upload aborted successfully");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleaner.shutdownNow();
+    }
+
+    /**
+     * Take the upload's digest state, waiting for it or failing fast if a
+     * chunk is being received. Retries if the state was evicted meanwhile.
+     * @throws IllegalStateException if another chunk holds the state
+     */
+    private UploadState lockState(String uploadId, boolean wait) {
+        while (true) {
+            UploadState state = uploadStates.computeIfAbsent(uploadId, id -> new UploadState());
+            if (wait) {
+                state.lock.lock();
+            } else if (!state.lock.tryLock()) {
+                throw new IllegalStateException("Upload " + uploadId + " is already receiving a chunk");
+            }
+            if (!state.evicted) {
+                state.lastUsed = System.currentTimeMillis();
+                return state;
+            }
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * @return false if the upload stopped being in progress while the chunk streamed in
+     */
+    private boolean recordProgress(DocumentUpload upload) {
+        Integer updated = transactionTemplate.execute(status -> documentUploadRepository.updateReceivedBytes(
+                upload.getId(), DocumentUpload.UploadStatus.IN_PROGRESS, upload.getReceivedBytes(), LocalDateTime.now()));
+        return updated != null && updated > 0;
+    }
+
+    private void deleteStaging(DocumentUpload upload) {
+        try {
+            storageBackend.deleteStaging(upload.getStagingKey());
+        } catch (IOException e) {
+            log.warn("Could not delete staged bytes of upload {}", upload.getUploadToken(), e);
+        }
+    }
+
+    private void cleanUp() {
+        try {
+            evictIdleStates();
+            expireStaleUploads();
+        } catch (RuntimeException e) {
+            log.warn("Upload cleanup failed", e);
+        }
+    }
+
+    private void evictIdleStates() {
+        long idleSince = System.currentTimeMillis() - stateIdleTimeout.toMillis();
+        uploadStates.forEach((uploadId, state) -> {
+            if (state.lastUsed < idleSince && state.lock.tryLock()) {
+                try {
+                    state.evicted = true;
+                    uploadStates.remove(uploadId, state);
+                } finally {
+                    state.lock.unlock();
+                }
+            }
+        });
+    }
+
+    private void expireStaleUploads() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(uploadExpiry);
+        List<DocumentUpload> stale = documentUploadRepository.findStale(DocumentUpload.UploadStatus.IN_PROGRESS, cutoff,
+                PageRequest.of(0, EXPIRY_BATCH_SIZE));
+        int expiredCount = 0;
+        for (DocumentUpload upload : stale) {
+            UploadState state = uploadStates.get(upload.getUploadToken());
+            if (state != null && !state.lock.tryLock()) {
+                continue;
+            }
+            try {
+                Integer expired = transactionTemplate.execute(status -> documentUploadRepository.updateStatusIfStale(
+                        upload.getId(), DocumentUpload.UploadStatus.IN_PROGRESS, DocumentUpload.UploadStatus.EXPIRED, cutoff));
+                if (expired == null || expired == 0) {
+                    continue;
+                }
+                expiredCount++;
+                if (state != null) {
+                    state.evicted = true;
+                    uploadStates.remove(upload.getUploadToken(), state);
+                }
+                storageBackend.deleteStaging(upload.getStagingKey());
+            } catch (IOException e) {
+                log.warn("Could not delete staged bytes of expired upload {}", upload.getUploadToken(), e);
+            } finally {
+                if (state != null) {
+                    state.lock.unlock();
+                }
+            }
+        }
+        if (expiredCount > 0) {
+            log.info("Expired {} uploads idle since before {}", expiredCount, cutoff);
+        }
+    }
+
+    private Document createDocument(DocumentUpload upload, Blob blob) {
+        Document document = new Document();
+        document.setProject(upload.getProject());
+        document.setFileName(upload.getFileName());
+        document.setFilePath(blob.getStorageKey());
+        document.setFileSize(blob.getContentLength());
+        document.setMimeType(blob.getMimeType());
+        document.setDocumentType(upload.getDocumentType());
+        document.setVersion("1.0");
+        document.setDescription(upload.getDescription());
+        document.setCategory(upload.getCategory());
+        document.setTags(upload.getTags());
+        Document savedDocument = documentRepository.save(document);
+        savedDocument.setFileUrl("/api/documents/" + savedDocument.getId() + "/content");
+
+        DocumentContent content = new DocumentContent();
+        content.setDocument(savedDocument);
+        content.setStorageKey(blob.getStorageKey());
+        content.setContentLength(blob.getContentLength());
+        content.setSha256(blob.getSha256());
+        content.setMimeType(blob.getMimeType());
+        documentContentRepository.save(content);
+        documentAnalysisService.scheduleAnalysis(savedDocument, content);
+
+        upload.setStatus(DocumentUpload.UploadStatus.COMPLETED);
+        upload.setDocumentId(savedDocument.getId());
+        documentUploadRepository.save(upload);
+        return savedDocument;
+    }
+
+    private DocumentUpload findUpload(String uploadId) {
+        Long organizationId = OrganizationContext.requireOrganizationId();
+        return documentUploadRepository.findByUploadTokenAndOrganizationId(uploadId, organizationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload not found with id: " + uploadId));
+    }
+
+    private void requireInProgress(DocumentUpload upload) {
+        if (upload.getStatus() != DocumentUpload.UploadStatus.IN_PROGRESS) {
+            throw new IllegalStateException("Upload is " + upload.getStatus().name().toLowerCase());
+        }
+    }
+
+    /**
+     * Bring the in-memory digest in line with the bytes recorded for the
+     * upload, rehashing the staged prefix if the state was lost or is stale.
+     */
+    private void syncState(UploadState state, DocumentUpload upload, FileChannel channel) throws IOException {
+        long received = upload.getReceivedBytes();
+        if (state.digest != null && state.position == received) {
+            return;
+        }
+        state.digest = newDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = 0;
+        while (position < received) {
+            buffer.clear();
+            buffer.limit((int) Math.min(BUFFER_SIZE, received - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Staged bytes of upload " + upload.getUploadToken() + " are missing");
+            }
+            state.digest.update(buffer.array(), 0, read);
+            position += read;
+        }
+        state.position = received;
+    }
+
+    private String detectMimeType(FileChannel channel, String fileName) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(SNIFF_SIZE);
+        int read = Math.max(channel.read(head, 0), 0);
+        byte[] bytes = new byte[read];
+        head.flip();
+        head.get(bytes);
+        if (read >= 4 && new String(bytes, 0, 4, StandardCharsets.US_ASCII).equals("%PDF")) {
+            return "application/pdf";
+        }
+        String mimeType = URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(bytes));
+        if (mimeType == null) {
+            mimeType = URLConnection.guessContentTypeFromName(fileName);
+        }
+        return mimeType != null ? mimeType : DEFAULT_MIME_TYPE;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private DocumentUploadDTO convertToDTO(DocumentUpload upload) {
+        DocumentUploadDTO dto = new DocumentUploadDTO();
+        dto.setUploadId(upload.getUploadToken());
+        dto.setProjectId(upload.getProject().getId());
+        dto.setFileName(upload.getFileName());
+        dto.setTotalSize(upload.getTotalSize());
+        dto.setReceivedBytes(upload.getReceivedBytes());
+        dto.setStatus(upload.getStatus());
+        dto.setDocumentId(upload.getDocumentId());
+        return dto;
+    }
+}
@@ -1,98 +1,139 @@
 package com.pms.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pms.cache.ProjectOwnershipCache;
 import com.pms.dto.ApiResponse;
 import com.pms.dto.DprEntryDTO;
+import com.pms.dto.ProgressPointDTO;
+import com.pms.dto.ProgressSeriesDTO;
 import com.pms.entity.DprEntry;
+import com.pms.entity.DprProgressRollup;
 import com.pms.entity.Project;
 import com.pms.exception.ResourceNotFoundException;
+import com.pms.export.DprEntryExportRow;
+import com.pms.export.ExportFormat;
+import com.pms.export.ExportWriter;
 import com.pms.context.OrganizationContext;
+import com.pms.progress.ProgressContribution;
+import com.pms.progress.ProgressRollups;
+import com.pms.progress.ProgressTotals;
 import com.pms.repository.DprEntryRepository;
-import com.pms.repository.ProjectRepository;
+import com.pms.repository.DprProgressRollupRepository;
+import com.pms.util.BatchWrites;
+import com.pms.util.KeysetPage;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class DprEntryService {
 
+    // Bounds for progress series requested without dates
+    private static final LocalDate SERIES_START = LocalDate.of(1900, 1, 1);
+    private static final LocalDate SERIES_END = LocalDate.of(9999, 12, 31);
+
     private final DprEntryRepository dprEntryRepository;
-    private final ProjectRepository projectRepository;
+    private final DprProgressRollupRepository progressRollupRepository;
+    private final ProgressRollups progressRollups;
+    private final ProjectOwnershipCache projectOwnershipCache;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<DprEntryDTO>> getAllDprEntries() {
+    public ApiResponse<List<DprEntryDTO>> getAllDprEntries(String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<DprEntry> entries = dprEntryRepository.findByOrganizationId(organizationId);
-        List<DprEntryDTO> entryDTOs = entries.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ApiResponse.success(entryDTOs, "DPR entries retrieved successfully");
+        Pageable page = KeysetPage.fetch(limit);
+        List<DprEntryDTO> entryDTOs = dprEntryRepository.findPageByOrganizationId(organizationId, KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<DprEntryDTO> slice = KeysetPage.slice(entryDTOs, page, DprEntryDTO::getId);
+        return ApiResponse.success(slice.content(), "DPR entries retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<DprEntryDTO>> getDprEntriesByProject(Long projectId) {
+    public ApiResponse<List<DprEntryDTO>> getDprEntriesByProject(Long projectId, String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<DprEntry> entries = dprEntryRepository.findByProjectIdAndOrganizationId(projectId, organizationId);
-        List<DprEntryDTO> entryDTOs = entries.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ApiResponse.success(entryDTOs, "Project DPR entries retrieved successfully");
+        Pageable page = KeysetPage.fetch(limit);
+        List<DprEntryDTO> entryDTOs = dprEntryRepository.findPageByProjectIdAndOrganizationId(projectId, organizationId,
+                KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<DprEntryDTO> slice = KeysetPage.slice(entryDTOs, page, DprEntryDTO::getId);
+        return ApiResponse.success(slice.content(), "Project DPR entries retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
     public ApiResponse<DprEntryDTO> getDprEntryById(Long id) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        DprEntry entry = dprEntryRepository.findByIdAndOrganizationId(id, organizationId)
+        DprEntryDTO entry = dprEntryRepository.findDtoByIdAndOrganizationId(id, organizationId)
                 .orElseThrow(() -> new ResourceNotFoundException("DPR entry not found with id: " + id));
-        return ApiResponse.success(convertToDTO(entry), "DPR entry retrieved successfully");
+        return ApiResponse.success(entry, "DPR entry retrieved successfully");
     }
 
     @Transactional
     public ApiResponse<DprEntryDTO> createDprEntry(DprEntryDTO entryDTO) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
         
-        Project project = projectRepository.findByIdAndOrganizationId(entryDTO.getProjectId(), organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + entryDTO.getProjectId()));
+        Project project = projectOwnershipCache.requireProject(entryDTO.getProjectId(), organizationId);
 
-        DprEntry entry = new DprEntry();
-        entry.setProject(project);
-        entry.setReportDate(entryDTO.getReportDate() != null ? entryDTO.getReportDate() : LocalDate.now());
-        entry.setWeatherCondition(entryDTO.getWeatherCondition());
-        entry.setWorkDescription(entryDTO.getWorkDescription());
-        entry.setManpowerCount(entryDTO.getManpowerCount());
-        entry.setMachineryUsed(entryDTO.getMachineryUsed());
-        entry.setMaterialsUsed(entryDTO.getMaterialsUsed());
-        entry.setSafetyIncidents(entryDTO.getSafetyIncidents());
-        entry.setProgressPercentage(entryDTO.getProgressPercentage());
-        entry.setIssuesAndChallenges(entryDTO.getIssuesAndChallenges());
-        entry.setPreparedBy(entryDTO.getPreparedBy());
-
-        DprEntry savedEntry = dprEntryRepository.save(entry);
+        DprEntry savedEntry = dprEntryRepository.save(buildDprEntry(project, organizationId, entryDTO));
+        progressRollups.add(ProgressContribution.of(savedEntry));
         return ApiResponse.success(convertToDTO(savedEntry), "DPR entry created successfully");
     }
 
+    @Transactional
+    public ApiResponse<List<DprEntryDTO>> createDprEntries(List<DprEntryDTO> entryDTOs) {
+        Long organizationId = OrganizationContext.getCurrentOrganizationId();
+        BatchWrites.checkSize(entryDTOs);
+
+        Map<Long, Project> projects = new HashMap<>();
+        List<DprEntryDTO> created = new ArrayList<>(entryDTOs.size());
+        for (DprEntryDTO entryDTO : entryDTOs) {
+            Project project = projects.computeIfAbsent(entryDTO.getProjectId(), projectId ->
+                    projectOwnershipCache.requireProject(projectId, organizationId));
+            DprEntry savedEntry = dprEntryRepository.save(buildDprEntry(project, organizationId, entryDTO));
+            progressRollups.add(ProgressContribution.of(savedEntry));
+            created.add(convertToDTO(savedEntry));
+            if (BatchWrites.flushIfFull(entityManager, created.size())) {
+                // The references were detached by the clear
+                projects.clear();
+            }
+        }
+        return ApiResponse.success(created, created.size() + " DPR entries created successfully");
+    }
+
     @Transactional
     public ApiResponse<DprEntryDTO> updateDprEntry(Long id, DprEntryDTO entryDTO) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
         DprEntry entry = dprEntryRepository.findByIdAndOrganizationId(id, organizationId)
                 .orElseThrow(() -> new ResourceNotFoundException("DPR entry not found with id: " + id));
 
-        entry.setReportDate(entryDTO.getReportDate());
-        entry.setWeatherCondition(entryDTO.getWeatherCondition());
-        entry.setWorkDescription(entryDTO.getWorkDescription());
-        entry.setManpowerCount(entryDTO.getManpowerCount());
-        entry.setMachineryUsed(entryDTO.getMachineryUsed());
-        entry.setMaterialsUsed(entryDTO.getMaterialsUsed());
-        entry.setSafetyIncidents(entryDTO.getSafetyIncidents());
-        entry.setProgressPercentage(entryDTO.getProgressPercentage());
-        entry.setIssuesAndChallenges(entryDTO.getIssuesAndChallenges());
-        entry.setPreparedBy(entryDTO.getPreparedBy());
+        ProgressContribution previous = ProgressContribution.of(entry);
+
+        entry.setReportDate(entryDTO.getReportDate() != null ? entryDTO.getReportDate() : entry.getReportDate());
+        copyFields(entryDTO, entry);
 
         DprEntry updatedEntry = dprEntryRepository.save(entry);
+        ProgressContribution current = ProgressContribution.of(updatedEntry);
+        if (!current.equals(previous)) {
+            progressRollups.subtract(previous);
+            progressRollups.add(current);
+        }
         return ApiResponse.success(convertToDTO(updatedEntry), "DPR entry updated successfully");
     }
 
@@ -101,25 +142,174 @@ public class DprEntryService {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
         DprEntry entry = dprEntryRepository.findByIdAndOrganizationId(id, organizationId)
                 .orElseThrow(() -> new ResourceNotFoundException("DPR entry not found with id: " + id));
+        progressRollups.subtract(ProgressContribution.of(entry));
         dprEntryRepository.delete(entry);
         return ApiResponse.success(null, "DPR entry deleted successfully");
     }
 
+    /**
+     * Stream a project's DPR entries for a date range straight to the response.
+     * The project is checked up front so a bad id still gets a normal 404; the
+     * rows are read inside their own read-only transaction on the async thread
+     * that writes the body, and detached as soon as they are written.
+     */
+    public StreamingResponseBody exportDprEntries(Long projectId, LocalDate startDate, LocalDate endDate, ExportFormat format) {
+        Long organizationId = OrganizationContext.getCurrentOrganizationId();
+        projectOwnershipCache.requireOwnership(projectId, organizationId);
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        return outputStream -> {
+            ExportWriter writer = new ExportWriter(format, objectMapper, outputStream);
+            writer.writeHeader(DprEntryExportRow.CSV_HEADER);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<DprEntry> entries = dprEntryRepository.streamByProjectIdAndReportDateBetween(
+                        projectId, organizationId, startDate, endDate)) {
+                    entries.forEach(entry -> {
+                        DprEntryExportRow row = DprEntryExportRow.from(entry);
+                        entityManager.detach(entry);
+                        try {
+                            writer.writeRow(row, row.csvValues());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            });
+            writer.flush();
+        };
+    }
+
+    /**
+     * Planned-vs-actual series for one project, read from the progress
+     * rollups rather than the entries, so its cost follows the number of
+     * periods shown and not the age of the project
+     * @param period "day" or "week"
+     * @param wbsCode Restrict to one WBS code, or null for the whole project
+     */
+    @Transactional(readOnly = true)
+    public ApiResponse<ProgressSeriesDTO> getProgressSeries(Long projectId, String period, String wbsCode,
+                                                            LocalDate startDate, LocalDate endDate) {
+        Long organizationId = OrganizationContext.getCurrentOrganizationId();
+        projectOwnershipCache.requireOwnership(projectId, organizationId);
+        DprProgressRollup.Period rollupPeriod = parsePeriod(period);
+        String rollupWbsCode = wbsCode == null || wbsCode.isBlank() ? DprProgressRollup.ALL_WBS_CODES : wbsCode;
+        LocalDate from = startDate != null ? rollupPeriod.start(startDate) : SERIES_START;
+        LocalDate to = endDate != null ? endDate : SERIES_END;
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+
+        ProgressTotals cumulative = startDate != null
+                ? progressRollupRepository.sumBefore(projectId, organizationId, rollupPeriod, rollupWbsCode, from)
+                : ProgressTotals.ZERO;
+        BigDecimal cumulativePlanned = cumulative.plannedTotal();
+        BigDecimal cumulativeActual = cumulative.actualTotal();
+        BigDecimal cumulativeVariance = cumulative.varianceTotal();
+        List<ProgressPointDTO> points = new ArrayList<>();
+        for (DprProgressRollup rollup : progressRollupRepository.findSeries(projectId, organizationId, rollupPeriod,
+                rollupWbsCode, from, to)) {
+            cumulativePlanned = cumulativePlanned.add(rollup.getPlannedTotal());
+            cumulativeActual = cumulativeActual.add(rollup.getActualTotal());
+            cumulativeVariance = cumulativeVariance.add(rollup.getVarianceTotal());
+            points.add(ProgressPointDTO.builder()
+                    .periodStart(rollup.getPeriodStart())
+                    .entryCount(rollup.getEntryCount())
+                    .plannedProgress(average(rollup.getPlannedTotal(), rollup.getPlannedCount()))
+                    .actualProgress(average(rollup.getActualTotal(), rollup.getActualCount()))
+                    .variance(average(rollup.getVarianceTotal(), rollup.getVarianceCount()))
+                    .productivity(average(rollup.getProductivityTotal(), rollup.getProductivityCount()))
+                    .cumulativePlanned(cumulativePlanned)
+                    .cumulativeActual(cumulativeActual)
+                    .cumulativeVariance(cumulativeVariance)
+                    .build());
+        }
+
+        ProgressSeriesDTO series = ProgressSeriesDTO.builder()
+                .projectId(projectId)
+                .period(rollupPeriod.name().toLowerCase(Locale.ROOT))
+                .wbsCode(rollupWbsCode.isEmpty() ? null : rollupWbsCode)
+                .startDate(startDate)
+                .endDate(endDate)
+                .points(points)
+                .build();
+        return ApiResponse.success(series, "Project progress retrieved successfully");
+    }
+
+    /**
+     * Recompute a project's progress rollups from its entries, for when they
+     * are suspected to have drifted
+     */
+    @Transactional
+    public ApiResponse<Void> rebuildProgress(Long projectId) {
+        Long organizationId = OrganizationContext.getCurrentOrganizationId();
+        projectOwnershipCache.requireOwnership(projectId, organizationId);
+        progressRollups.rebuild(projectId);
+        return ApiResponse.success(null, "Project progress rebuilt successfully");
+    }
+
+    private static DprProgressRollup.Period parsePeriod(String period) {
+        for (DprProgressRollup.Period candidate : DprProgressRollup.Period.values()) {
+            if (candidate.name().equalsIgnoreCase(period)) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported progress period: " + period);
+    }
+
+    private static BigDecimal average(BigDecimal total, Long count) {
+        return count == null || count == 0 ? null : total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+
+    private DprEntry buildDprEntry(Project project, Long organizationId, DprEntryDTO entryDTO) {
+        DprEntry entry = new DprEntry();
+        entry.setProject(project);
+        entry.setOrganization(projectOwnershipCache.organizationReference(organizationId));
+        entry.setReportDate(entryDTO.getReportDate() != null ? entryDTO.getReportDate() : LocalDate.now());
+        copyFields(entryDTO, entry);
+        return entry;
+    }
+
+    private void copyFields(DprEntryDTO entryDTO, DprEntry entry) {
+        entry.setWorkItem(entryDTO.getWorkItem());
+        entry.setWbsCode(entryDTO.getWbsCode());
+        entry.setPlannedProgress(entryDTO.getPlannedProgress());
+        entry.setActualProgress(entryDTO.getActualProgress());
+        // Derive the variance when only planned and actual progress are reported
+        BigDecimal variance = entryDTO.getVariance();
+        if (variance == null && entryDTO.getPlannedProgress() != null && entryDTO.getActualProgress() != null) {
+            variance = entryDTO.getActualProgress().subtract(entryDTO.getPlannedProgress());
+        }
+        entry.setVariance(variance);
+        entry.setResourcesUsed(entryDTO.getResourcesUsed());
+        entry.setProductivity(entryDTO.getProductivity());
+        entry.setRemarks(entryDTO.getRemarks());
+        entry.setWeatherConditions(entryDTO.getWeatherConditions());
+        entry.setLaborCount(entryDTO.getLaborCount());
+        entry.setEquipmentCount(entryDTO.getEquipmentCount());
+    }
+
     private DprEntryDTO convertToDTO(DprEntry entry) {
         DprEntryDTO dto = new DprEntryDTO();
         dto.setId(entry.getId());
         dto.setProjectId(entry.getProject().getId());
-        dto.setProjectName(entry.getProject().getName());
+        dto.setProjectName(projectOwnershipCache.projectName(entry.getProject()));
+        dto.setOrganizationId(entry.getOrganization().getId());
         dto.setReportDate(entry.getReportDate());
-        dto.setWeatherCondition(entry.getWeatherCondition());
-        dto.setWorkDescription(entry.getWorkDescription());
-        dto.setManpowerCount(entry.getManpowerCount());
-        dto.setMachineryUsed(entry.getMachineryUsed());
-        dto.setMaterialsUsed(entry.getMaterialsUsed());
-        dto.setSafetyIncidents(entry.getSafetyIncidents());
-        dto.setProgressPercentage(entry.getProgressPercentage());
-        dto.setIssuesAndChallenges(entry.getIssuesAndChallenges());
-        dto.setPreparedBy(entry.getPreparedBy());
+        dto.setWorkItem(entry.getWorkItem());
+        dto.setWbsCode(entry.getWbsCode());
+        dto.setPlannedProgress(entry.getPlannedProgress());
+        dto.setActualProgress(entry.getActualProgress());
+        dto.setVariance(entry.getVariance());
+        dto.setResourcesUsed(entry.getResourcesUsed());
+        dto.setProductivity(entry.getProductivity());
+        dto.setRemarks(entry.getRemarks());
+        dto.setWeatherConditions(entry.getWeatherConditions());
+        dto.setLaborCount(entry.getLaborCount());
+        dto.setEquipmentCount(entry.getEquipmentCount());
         dto.setCreatedAt(entry.getCreatedAt());
         dto.setUpdatedAt(entry.getUpdatedAt());
         return dto;
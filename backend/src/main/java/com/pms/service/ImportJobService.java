@@ -0,0 +1,242 @@
+package com.pms.service;
+
+import com.pms.context.OrganizationContext;
+import com.pms.dto.ApiResponse;
+import com.pms.dto.ImportJobDTO;
+import com.pms.dto.ImportRowErrorDTO;
+import com.pms.entity.Organization;
+import com.pms.entity.Project;
+import com.pms.exception.ResourceNotFoundException;
+import com.pms.exception.ServiceUnavailableException;
+import com.pms.imports.CsvImportDefinition;
+import com.pms.imports.CsvReader;
+import com.pms.imports.ImportJob;
+import com.pms.imports.ImportRow;
+import com.pms.repository.OrganizationRepository;
+import com.pms.repository.ProjectRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Runs CSV imports in the background. The upload is spooled to a temp file
+ * and parsed incrementally in chunks: records of a chunk are validated in
+ * parallel, uniqueness and project references are resolved with one query
+ * each per chunk, and each chunk is saved in its own transaction so JDBC
+ * batching applies and progress is visible while the job runs.
+ */
+@Slf4j
+@Service
+public class ImportJobService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final long FINISHED_JOB_RETENTION_MINUTES = 60;
+
+    private final ProjectRepository projectRepository;
+    private final OrganizationRepository organizationRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor importExecutor;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ImportJobService(ProjectRepository projectRepository,
+                            OrganizationRepository organizationRepository,
+                            EntityManager entityManager,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${imports.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                            @Value("${imports.max-queued-jobs:10}") int maxQueuedJobs) {
+        this.projectRepository = projectRepository;
+        this.organizationRepository = organizationRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.importExecutor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueuedJobs),
+                runnable -> new Thread(runnable, "csv-import-" + threadCount.incrementAndGet()));
+    }
+
+    public <T> ApiResponse<ImportJobDTO> startImport(CsvImportDefinition<T> definition, MultipartFile file) {
+        Long organizationId = OrganizationContext.requireOrganizationId();
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Import file must not be empty");
+        }
+        pruneFinishedJobs();
+
+        Path spool;
+        try {
+            spool = Files.createTempFile("pms-import-", ".csv");
+            file.transferTo(spool);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store import file", e);
+        }
+
+        ImportJob job = new ImportJob(definition.getEntityType(), organizationId);
+        jobs.put(job.getJobId(), job);
+        try {
+            importExecutor.execute(() -> run(job, definition, spool));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            deleteQuietly(spool);
+            throw new ServiceUnavailableException("Too many imports in progress, please retry later", 30);
+        }
+        log.info("Queued {} import job {} for organization {}", definition.getEntityType(), job.getJobId(), organizationId);
+        return ApiResponse.success(job.toDTO(), "Import job started successfully");
+    }
+
+    public ApiResponse<ImportJobDTO> getJob(String jobId) {
+        Long organizationId = OrganizationContext.requireOrganizationId();
+        ImportJob job = jobs.get(jobId);
+        if (job == null || !job.getOrganizationId().equals(organizationId)) {
+            throw new ResourceNotFoundException("Import job not found with id: " + jobId);
+        }
+        return ApiResponse.success(job.toDTO(), "Import job retrieved successfully");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importExecutor.shutdownNow();
+    }
+
+    private <T> void run(ImportJob job, CsvImportDefinition<T> definition, Path spool) {
+        job.start();
+        Set<String> seenKeys = new HashSet<>();
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(spool, StandardCharsets.UTF_8))) {
+            List<Map<String, String>> records = new ArrayList<>(CHUNK_SIZE);
+            long firstRowNumber = 1;
+            Map<String, String> record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+                if (records.size() == CHUNK_SIZE) {
+                    processChunk(job, definition, records, firstRowNumber, seenKeys);
+                    firstRowNumber += records.size();
+                    records = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!records.isEmpty()) {
+                processChunk(job, definition, records, firstRowNumber, seenKeys);
+            }
+            job.complete();
+            log.info("Import job {} completed", job.getJobId());
+        } catch (Exception e) {
+            log.error("Import job {} failed", job.getJobId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            deleteQuietly(spool);
+        }
+    }
+
+    private <T> void processChunk(ImportJob job, CsvImportDefinition<T> definition,
+                                  List<Map<String, String>> records, long firstRowNumber, Set<String> seenKeys) {
+        List<ImportRow<T>> parsed = IntStream.range(0, records.size())
+                .parallel()
+                .mapToObj(i -> parseRow(definition, firstRowNumber + i, records.get(i)))
+                .toList();
+
+        List<ImportRow<T>> candidates = new ArrayList<>(parsed.size());
+        for (ImportRow<T> row : parsed) {
+            if (!row.isValid()) {
+                job.recordError(row.rowNumber(), row.error());
+            } else if (!seenKeys.add(definition.uniqueKey(row.entity()))) {
+                job.recordError(row.rowNumber(), "Duplicate key earlier in file: " + definition.uniqueKey(row.entity()));
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<ImportRowErrorDTO> chunkErrors = new ArrayList<>();
+        try {
+            Integer saved = transactionTemplate.execute(status -> {
+                chunkErrors.clear();
+                return saveChunk(job.getOrganizationId(), definition, candidates, chunkErrors);
+            });
+            job.recordImported(saved);
+            chunkErrors.forEach(error -> job.recordError(error.getRowNumber(), error.getMessage()));
+        } catch (RuntimeException e) {
+            log.warn("Import job {} chunk starting at row {} rejected", job.getJobId(), firstRowNumber, e);
+            candidates.forEach(row -> job.recordError(row.rowNumber(), "Chunk rejected by database: " + e.getMessage()));
+        }
+    }
+
+    private <T> int saveChunk(Long organizationId, CsvImportDefinition<T> definition,
+                              List<ImportRow<T>> candidates, List<ImportRowErrorDTO> errors) {
+        Set<String> existingKeys = definition.findExistingKeys(candidates.stream()
+                .map(row -> definition.uniqueKey(row.entity()))
+                .collect(Collectors.toSet()));
+        Set<Long> projectIds = candidates.stream()
+                .map(ImportRow::projectId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Project> projects = projectIds.isEmpty() ? Map.of()
+                : projectRepository.findByIdInAndOrganizationId(projectIds, organizationId).stream()
+                        .collect(Collectors.toMap(Project::getId, Function.identity()));
+        Organization organization = organizationRepository.getReferenceById(organizationId);
+
+        List<T> toSave = new ArrayList<>(candidates.size());
+        for (ImportRow<T> row : candidates) {
+            String key = definition.uniqueKey(row.entity());
+            if (existingKeys.contains(key)) {
+                errors.add(new ImportRowErrorDTO(row.rowNumber(), "Already exists: " + key));
+            } else if (row.projectId() != null && !projects.containsKey(row.projectId())) {
+                errors.add(new ImportRowErrorDTO(row.rowNumber(), "Project not found with id: " + row.projectId()));
+            } else {
+                definition.bind(row.entity(), organization, projects.get(row.projectId()));
+                toSave.add(row.entity());
+            }
+        }
+        definition.saveAll(toSave);
+        entityManager.flush();
+        entityManager.clear();
+        return toSave.size();
+    }
+
+    private <T> ImportRow<T> parseRow(CsvImportDefinition<T> definition, long rowNumber, Map<String, String> record) {
+        try {
+            return ImportRow.valid(rowNumber, definition.parse(record), definition.parseProjectId(record));
+        } catch (IllegalArgumentException e) {
+            return ImportRow.invalid(rowNumber, e.getMessage());
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(FINISHED_JOB_RETENTION_MINUTES);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete import spool file {}", path, e);
+        }
+    }
+}
@@ -1,96 +1,83 @@
 package com.pms.service;
 
+import com.pms.cache.ProjectOwnershipCache;
 import com.pms.dto.ApiResponse;
 import com.pms.dto.InventoryItemDTO;
 import com.pms.entity.InventoryItem;
-import com.pms.entity.Project;
 import com.pms.exception.ResourceNotFoundException;
 import com.pms.context.OrganizationContext;
 import com.pms.repository.InventoryItemRepository;
-import com.pms.repository.ProjectRepository;
+import com.pms.util.BatchWrites;
+import com.pms.util.KeysetPage;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class InventoryItemService {
 
     private final InventoryItemRepository inventoryItemRepository;
-    private final ProjectRepository projectRepository;
+    private final ProjectOwnershipCache projectOwnershipCache;
+    private final EntityManager entityManager;
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<InventoryItemDTO>> getAllInventoryItems() {
+    public ApiResponse<List<InventoryItemDTO>> getAllInventoryItems(String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<InventoryItem> items = inventoryItemRepository.findByOrganizationId(organizationId);
-        List<InventoryItemDTO> itemDTOs = items.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ApiResponse.success(itemDTOs, "Inventory items retrieved successfully");
-    }
-
-    @Transactional(readOnly = true)
-    public ApiResponse<List<InventoryItemDTO>> getInventoryItemsByProject(Long projectId) {
-        Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<InventoryItem> items = inventoryItemRepository.findByProjectIdAndOrganizationId(projectId, organizationId);
-        List<InventoryItemDTO> itemDTOs = items.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ApiResponse.success(itemDTOs, "Project inventory items retrieved successfully");
+        Pageable page = KeysetPage.fetch(limit);
+        List<InventoryItemDTO> itemDTOs = inventoryItemRepository.findPageByOrganizationId(organizationId, KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<InventoryItemDTO> slice = KeysetPage.slice(itemDTOs, page, InventoryItemDTO::getId);
+        return ApiResponse.success(slice.content(), "Inventory items retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
     public ApiResponse<InventoryItemDTO> getInventoryItemById(Long id) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        InventoryItem item = inventoryItemRepository.findByIdAndOrganizationId(id, organizationId)
+        InventoryItemDTO item = inventoryItemRepository.findDtoByIdAndOrganizationId(id, organizationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory item not found with id: " + id));
-        return ApiResponse.success(convertToDTO(item), "Inventory item retrieved successfully");
+        return ApiResponse.success(item, "Inventory item retrieved successfully");
     }
 
     @Transactional
     public ApiResponse<InventoryItemDTO> createInventoryItem(InventoryItemDTO itemDTO) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        
-        Project project = projectRepository.findByIdAndOrganizationId(itemDTO.getProjectId(), organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + itemDTO.getProjectId()));
 
         InventoryItem item = new InventoryItem();
-        item.setProject(project);
-        item.setItemName(itemDTO.getItemName());
-        item.setItemCode(itemDTO.getItemCode());
-        item.setCategory(itemDTO.getCategory());
-        item.setQuantity(itemDTO.getQuantity());
-        item.setUnit(itemDTO.getUnit());
-        item.setReorderLevel(itemDTO.getReorderLevel());
-        item.setUnitCost(itemDTO.getUnitCost());
-        item.setLocation(itemDTO.getLocation());
-        item.setSupplier(itemDTO.getSupplier());
-        item.setLastRestockDate(itemDTO.getLastRestockDate());
-
+        item.setOrganization(projectOwnershipCache.organizationReference(organizationId));
+        copyFields(itemDTO, item);
         InventoryItem savedItem = inventoryItemRepository.save(item);
         return ApiResponse.success(convertToDTO(savedItem), "Inventory item created successfully");
     }
 
+    @Transactional
+    public ApiResponse<List<InventoryItemDTO>> createInventoryItems(List<InventoryItemDTO> itemDTOs) {
+        Long organizationId = OrganizationContext.getCurrentOrganizationId();
+        BatchWrites.checkSize(itemDTOs);
+
+        List<InventoryItemDTO> created = new ArrayList<>(itemDTOs.size());
+        for (InventoryItemDTO itemDTO : itemDTOs) {
+            InventoryItem item = new InventoryItem();
+            item.setOrganization(projectOwnershipCache.organizationReference(organizationId));
+            copyFields(itemDTO, item);
+            InventoryItem savedItem = inventoryItemRepository.save(item);
+            created.add(convertToDTO(savedItem));
+            BatchWrites.flushIfFull(entityManager, created.size());
+        }
+        return ApiResponse.success(created, created.size() + " inventory items created successfully");
+    }
+
     @Transactional
     public ApiResponse<InventoryItemDTO> updateInventoryItem(Long id, InventoryItemDTO itemDTO) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
         InventoryItem item = inventoryItemRepository.findByIdAndOrganizationId(id, organizationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory item not found with id: " + id));
 
-        item.setItemName(itemDTO.getItemName());
-        item.setItemCode(itemDTO.getItemCode());
-        item.setCategory(itemDTO.getCategory());
-        item.setQuantity(itemDTO.getQuantity());
-        item.setUnit(itemDTO.getUnit());
-        item.setReorderLevel(itemDTO.getReorderLevel());
-        item.setUnitCost(itemDTO.getUnitCost());
-        item.setLocation(itemDTO.getLocation());
-        item.setSupplier(itemDTO.getSupplier());
-        item.setLastRestockDate(itemDTO.getLastRestockDate());
-
+        copyFields(itemDTO, item);
         InventoryItem updatedItem = inventoryItemRepository.save(item);
         return ApiResponse.success(convertToDTO(updatedItem), "Inventory item updated successfully");
     }
@@ -104,23 +91,47 @@ public class InventoryItemService {
         return ApiResponse.success(null, "Inventory item deleted successfully");
     }
 
+    private void copyFields(InventoryItemDTO itemDTO, InventoryItem item) {
+        item.setItemCode(itemDTO.getItemCode());
+        item.setItemName(itemDTO.getItemName());
+        item.setDescription(itemDTO.getDescription());
+        item.setCategory(itemDTO.getCategory());
+        item.setCurrentStock(itemDTO.getCurrentStock());
+        item.setUnit(itemDTO.getUnit());
+        item.setReorderLevel(itemDTO.getReorderLevel());
+        item.setMaxStockLevel(itemDTO.getMaxStockLevel());
+        item.setUnitCost(itemDTO.getUnitCost());
+        item.setLocation(itemDTO.getLocation());
+        item.setSupplier(itemDTO.getSupplier());
+        if (itemDTO.getStatus() != null) {
+            item.setStatus(itemDTO.getStatus());
+        } else if (item.getStatus() == null) {
+            item.setStatus(InventoryItem.StockStatus.ADEQUATE);
+        }
+        item.setLastRestocked(itemDTO.getLastRestocked());
+        item.setNotes(itemDTO.getNotes());
+    }
+
     private InventoryItemDTO convertToDTO(InventoryItem item) {
         InventoryItemDTO dto = new InventoryItemDTO();
         dto.setId(item.getId());
-        dto.setProjectId(item.getProject().getId());
-        dto.setProjectName(item.getProject().getName());
-        dto.setItemName(item.getItemName());
         dto.setItemCode(item.getItemCode());
+        dto.setItemName(item.getItemName());
+        dto.setDescription(item.getDescription());
         dto.setCategory(item.getCategory());
-        dto.setQuantity(item.getQuantity());
+        dto.setCurrentStock(item.getCurrentStock());
         dto.setUnit(item.getUnit());
         dto.setReorderLevel(item.getReorderLevel());
+        dto.setMaxStockLevel(item.getMaxStockLevel());
         dto.setUnitCost(item.getUnitCost());
+        dto.setOrganizationId(item.getOrganization().getId());
         dto.setLocation(item.getLocation());
         dto.setSupplier(item.getSupplier());
-        dto.setLastRestockDate(item.getLastRestockDate());
+        dto.setStatus(item.getStatus());
+        dto.setLastRestocked(item.getLastRestocked());
+        dto.setNotes(item.getNotes());
         dto.setCreatedAt(item.getCreatedAt());
         dto.setUpdatedAt(item.getUpdatedAt());
         return dto;
     }
-}
\ No newline at end of file
+}
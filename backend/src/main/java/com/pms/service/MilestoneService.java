@@ -1,5 +1,7 @@
 package com.pms.service;
 
+import com.pms.cache.ProjectOwnership;
+import com.pms.cache.ProjectOwnershipCache;
 import com.pms.dto.ApiResponse;
 import com.pms.dto.MilestoneDTO;
 import com.pms.entity.Milestone;
@@ -7,58 +9,57 @@ import com.pms.entity.Project;
 import com.pms.exception.ResourceNotFoundException;
 import com.pms.context.OrganizationContext;
 import com.pms.repository.MilestoneRepository;
-import com.pms.repository.ProjectRepository;
+import com.pms.util.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class MilestoneService {
 
     private final MilestoneRepository milestoneRepository;
-    private final ProjectRepository projectRepository;
+    private final ProjectOwnershipCache projectOwnershipCache;
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<MilestoneDTO>> getAllMilestones() {
+    public ApiResponse<List<MilestoneDTO>> getAllMilestones(String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<Milestone> milestones = milestoneRepository.findByOrganizationId(organizationId);
-        List<MilestoneDTO> milestoneDTOs = milestones.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ApiResponse.success(milestoneDTOs, "Milestones retrieved successfully");
+        Pageable page = KeysetPage.fetch(limit);
+        List<MilestoneDTO> milestoneDTOs = milestoneRepository.findPageByOrganizationId(organizationId, KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<MilestoneDTO> slice = KeysetPage.slice(milestoneDTOs, page, MilestoneDTO::getId);
+        return ApiResponse.success(slice.content(), "Milestones retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<MilestoneDTO>> getMilestonesByProject(Long projectId) {
+    public ApiResponse<List<MilestoneDTO>> getMilestonesByProject(Long projectId, String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<Milestone> milestones = milestoneRepository.findByProjectIdAndOrganizationId(projectId, organizationId);
-        List<MilestoneDTO> milestoneDTOs = milestones.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ApiResponse.success(milestoneDTOs, "Project milestones retrieved successfully");
+        Pageable page = KeysetPage.fetch(limit);
+        List<MilestoneDTO> milestoneDTOs = milestoneRepository.findPageByProjectIdAndOrganizationId(projectId, organizationId,
+                KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<MilestoneDTO> slice = KeysetPage.slice(milestoneDTOs, page, MilestoneDTO::getId);
+        return ApiResponse.success(slice.content(), "Project milestones retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
     public ApiResponse<MilestoneDTO> getMilestoneById(Long id) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        Milestone milestone = milestoneRepository.findByIdAndOrganizationId(id, organizationId)
+        MilestoneDTO milestone = milestoneRepository.findDtoByIdAndOrganizationId(id, organizationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Milestone not found with id: " + id));
-        return ApiResponse.success(convertToDTO(milestone), "Milestone retrieved successfully");
+        return ApiResponse.success(milestone, "Milestone retrieved successfully");
     }
 
     @Transactional
     public ApiResponse<MilestoneDTO> createMilestone(MilestoneDTO milestoneDTO) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
         
-        Project project = projectRepository.findByIdAndOrganizationId(milestoneDTO.getProjectId(), organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + milestoneDTO.getProjectId()));
+        Project project = projectOwnershipCache.requireProject(milestoneDTO.getProjectId(), organizationId);
 
         Milestone milestone = new Milestone();
         milestone.setProject(project);
+        milestone.setOrganization(projectOwnershipCache.organizationReference(organizationId));
         milestone.setName(milestoneDTO.getName());
         milestone.setDescription(milestoneDTO.getDescription());
         milestone.setDueDate(milestoneDTO.getDueDate());
@@ -102,9 +103,11 @@ public class MilestoneService {
         MilestoneDTO dto = new MilestoneDTO();
         dto.setId(milestone.getId());
         dto.setProjectId(milestone.getProject().getId());
-        dto.setProjectName(milestone.getProject().getName());
+        // Names come from the ownership cache so the organization reference is never loaded
+        ProjectOwnership ownership = projectOwnershipCache.ownership(milestone.getProject().getId());
+        dto.setProjectName(ownership != null ? ownership.projectName() : null);
         dto.setOrganizationId(milestone.getOrganization() != null ? milestone.getOrganization().getId() : null);
-        dto.setOrganizationName(milestone.getOrganization() != null ? milestone.getOrganization().getName() : null);
+        dto.setOrganizationName(ownership != null ? ownership.organizationName() : null);
         dto.setName(milestone.getName());
         dto.setDescription(milestone.getDescription());
         dto.setDueDate(milestone.getDueDate());
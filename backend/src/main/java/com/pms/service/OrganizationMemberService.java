@@ -1,5 +1,6 @@
 package com.pms.service;
 
+import com.pms.cache.MembershipCache;
 import com.pms.entity.Organization;
 import com.pms.entity.OrganizationMember;
 import com.pms.entity.User;
@@ -19,6 +20,7 @@ public class OrganizationMemberService {
     private final OrganizationMemberRepository organizationMemberRepository;
     private final OrganizationRepository organizationRepository;
     private final UserRepository userRepository;
+    private final MembershipCache membershipCache;
     
     @Transactional
     public OrganizationMember addMember(Long organizationId, String userId, OrganizationMember.MemberRole role) {
@@ -41,7 +43,9 @@ public class OrganizationMemberService {
                 .role(role)
                 .build();
         
-        return organizationMemberRepository.save(member);
+        OrganizationMember savedMember = organizationMemberRepository.save(member);
+        membershipCache.invalidateAfterCommit(userId);
+        return savedMember;
     }
     
     public List<OrganizationMember> getOrganizationMembers(Long organizationId) {
@@ -61,7 +65,9 @@ public class OrganizationMemberService {
     public OrganizationMember updateMemberRole(Long organizationId, String userId, OrganizationMember.MemberRole newRole) {
         OrganizationMember member = getMembership(organizationId, userId);
         member.setRole(newRole);
-        return organizationMemberRepository.save(member);
+        OrganizationMember savedMember = organizationMemberRepository.save(member);
+        membershipCache.invalidateAfterCommit(userId);
+        return savedMember;
     }
     
     @Transactional
@@ -70,15 +76,15 @@ public class OrganizationMemberService {
             throw new RuntimeException("Membership not found");
         }
         organizationMemberRepository.deleteByOrganizationIdAndUserId(organizationId, userId);
+        membershipCache.invalidateAfterCommit(userId);
     }
     
+    // Served from the membership cache; called on every authorized request
     public boolean isMember(Long organizationId, String userId) {
-        return organizationMemberRepository.existsByOrganizationIdAndUserId(organizationId, userId);
+        return membershipCache.getRole(organizationId, userId) != null;
     }
     
     public boolean hasRole(Long organizationId, String userId, OrganizationMember.MemberRole role) {
-        return organizationMemberRepository.findByOrganizationIdAndUserId(organizationId, userId)
-                .map(member -> member.getRole() == role)
-                .orElse(false);
+        return role != null && membershipCache.getRole(organizationId, userId) == role;
     }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.pms.service;
+
+import com.pms.cache.OrganizationSummaryCache;
+import com.pms.concurrent.FanOut;
+import com.pms.context.OrganizationContext;
+import com.pms.dto.OrganizationSummaryDTO;
+import com.pms.dto.ProjectStatusSummaryDTO;
+import com.pms.exception.ResourceNotFoundException;
+import com.pms.repository.ContractRepository;
+import com.pms.repository.DocumentRepository;
+import com.pms.repository.MilestoneRepository;
+import com.pms.repository.ProcurementOrderRepository;
+import com.pms.repository.ProjectRepository;
+import com.pms.repository.QualityInspectionRepository;
+import com.pms.summary.ProjectHeader;
+import com.pms.summary.StatusCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Builds an organization's dashboard summary: the status histogram of every
+ * module for every project, from one {@code GROUP BY project, status} query
+ * per module. The queries are forked together through {@link FanOut}, each in
+ * its own read-only transaction, and the result is kept in
+ * {@link OrganizationSummaryCache} until a write evicts it.
+ */
+@Slf4j
+@Service
+public class OrganizationSummaryService {
+
+    private final ProjectRepository projectRepository;
+    private final ContractRepository contractRepository;
+    private final DocumentRepository documentRepository;
+    private final QualityInspectionRepository qualityInspectionRepository;
+    private final MilestoneRepository milestoneRepository;
+    private final ProcurementOrderRepository procurementOrderRepository;
+    private final OrganizationSummaryCache summaryCache;
+    private final FanOut fanOut;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public OrganizationSummaryService(ProjectRepository projectRepository,
+                                      ContractRepository contractRepository,
+                                      DocumentRepository documentRepository,
+                                      QualityInspectionRepository qualityInspectionRepository,
+                                      MilestoneRepository milestoneRepository,
+                                      ProcurementOrderRepository procurementOrderRepository,
+                                      OrganizationSummaryCache summaryCache,
+                                      FanOut fanOut,
+                                      PlatformTransactionManager transactionManager) {
+        this.projectRepository = projectRepository;
+        this.contractRepository = contractRepository;
+        this.documentRepository = documentRepository;
+        this.qualityInspectionRepository = qualityInspectionRepository;
+        this.milestoneRepository = milestoneRepository;
+        this.procurementOrderRepository = procurementOrderRepository;
+        this.summaryCache = summaryCache;
+        this.fanOut = fanOut;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @throws ResourceNotFoundException if the organization is not the one
+     *         the request is scoped to
+     */
+    public OrganizationSummaryDTO getSummary(Long organizationId) {
+        if (!organizationId.equals(OrganizationContext.requireOrganizationId())) {
+            throw new ResourceNotFoundException("Organization not found with id: " + organizationId);
+        }
+        return summaryCache.get(organizationId, this::load);
+    }
+
+    private OrganizationSummaryDTO load(Long organizationId) {
+        long start = System.currentTimeMillis();
+        FanOut.Subtask<List<ProjectHeader>> projectHeaders;
+        Map<String, FanOut.Subtask<List<StatusCount>>> modules = new LinkedHashMap<>();
+        try (FanOut.Scope scope = fanOut.open()) {
+            projectHeaders = scope.fork(() -> query(() -> projectRepository.findHeadersByOrganizationId(organizationId)));
+            modules.put("contracts", scope.fork(() -> query(() -> contractRepository.countByProjectAndStatus(organizationId))));
+            modules.put("documents", scope.fork(() -> query(() -> documentRepository.countByProjectAndStatus(organizationId))));
+            modules.put("qualityInspections", scope.fork(() ->
+                    query(() -> qualityInspectionRepository.countByProjectAndStatus(organizationId))));
+            modules.put("milestones", scope.fork(() -> query(() -> milestoneRepository.countByProjectAndStatus(organizationId))));
+            modules.put("procurementOrders", scope.fork(() ->
+                    query(() -> procurementOrderRepository.countByProjectAndStatus(organizationId))));
+            scope.join();
+        }
+
+        Map<String, Long> projectStatusCounts = new TreeMap<>();
+        Map<Long, ProjectStatusSummaryDTO> projects = new LinkedHashMap<>();
+        for (ProjectHeader header : projectHeaders.get()) {
+            String status = header.status() != null ? header.status().name() : null;
+            if (status != null) {
+                projectStatusCounts.merge(status, 1L, Long::sum);
+            }
+            projects.put(header.projectId(), ProjectStatusSummaryDTO.builder()
+                    .projectId(header.projectId())
+                    .projectName(header.name())
+                    .status(status)
+                    .statusCounts(new TreeMap<>())
+                    .build());
+        }
+
+        Map<String, Map<String, Long>> statusCounts = new LinkedHashMap<>();
+        modules.forEach((module, counts) -> {
+            Map<String, Long> totals = new TreeMap<>();
+            for (StatusCount count : counts.get()) {
+                String status = count.status() != null ? count.status().name() : "NONE";
+                totals.merge(status, count.count(), Long::sum);
+                ProjectStatusSummaryDTO project = count.projectId() != null ? projects.get(count.projectId()) : null;
+                if (project != null) {
+                    project.getStatusCounts().computeIfAbsent(module, key -> new TreeMap<>())
+                            .merge(status, count.count(), Long::sum);
+                }
+            }
+            statusCounts.put(module, totals);
+        });
+
+        log.debug("Built summary of organization {} in {} ms", organizationId, System.currentTimeMillis() - start);
+        return OrganizationSummaryDTO.builder()
+                .organizationId(organizationId)
+                .generatedAt(LocalDateTime.now())
+                .projectStatusCounts(projectStatusCounts)
+                .statusCounts(statusCounts)
+                .projects(new ArrayList<>(projects.values()))
+                .build();
+    }
+
+    private <T> T query(Supplier<T> query) {
+        return readOnlyTransaction.execute(status -> query.get());
+    }
+}
@@ -1,5 +1,6 @@
 package com.pms.service;
 
+import com.pms.cache.ProjectOwnershipCache;
 import com.pms.dto.ApiResponse;
 import com.pms.dto.ProcurementOrderDTO;
 import com.pms.entity.ProcurementOrder;
@@ -7,8 +8,9 @@ import com.pms.entity.Project;
 import com.pms.exception.ResourceNotFoundException;
 import com.pms.context.OrganizationContext;
 import com.pms.repository.ProcurementOrderRepository;
-import com.pms.repository.ProjectRepository;
+import com.pms.util.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,26 +23,31 @@ import java.util.stream.Collectors;
 public class ProcurementOrderService {
 
     private final ProcurementOrderRepository procurementOrderRepository;
-    private final ProjectRepository projectRepository;
+    private final ProjectOwnershipCache projectOwnershipCache;
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<ProcurementOrderDTO>> getAllProcurementOrders() {
+    public ApiResponse<List<ProcurementOrderDTO>> getAllProcurementOrders(String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<ProcurementOrder> orders = procurementOrderRepository.findByOrganizationId(organizationId);
-        List<ProcurementOrderDTO> orderDTOs = orders.stream()
+        Pageable page = KeysetPage.fetch(limit);
+        List<ProcurementOrder> orders = procurementOrderRepository.findPageByOrganizationId(organizationId, KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<ProcurementOrder> slice = KeysetPage.slice(orders, page, ProcurementOrder::getId);
+        List<ProcurementOrderDTO> orderDTOs = slice.content().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
-        return ApiResponse.success(orderDTOs, "Procurement orders retrieved successfully");
+        return ApiResponse.success(orderDTOs, "Procurement orders retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<ProcurementOrderDTO>> getProcurementOrdersByProject(Long projectId) {
+    public ApiResponse<List<ProcurementOrderDTO>> getProcurementOrdersByProject(Long projectId, String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<ProcurementOrder> orders = procurementOrderRepository.findByProjectIdAndOrganizationId(projectId, organizationId);
-        List<ProcurementOrderDTO> orderDTOs = orders.stream()
+        Pageable page = KeysetPage.fetch(limit);
+        List<ProcurementOrder> orders = procurementOrderRepository.findPageByProjectIdAndOrganizationId(projectId, organizationId,
+                KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<ProcurementOrder> slice = KeysetPage.slice(orders, page, ProcurementOrder::getId);
+        List<ProcurementOrderDTO> orderDTOs = slice.content().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
-        return ApiResponse.success(orderDTOs, "Project procurement orders retrieved successfully");
+        return ApiResponse.success(orderDTOs, "Project procurement orders retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
@@ -55,11 +62,11 @@ public class ProcurementOrderService {
     public ApiResponse<ProcurementOrderDTO> createProcurementOrder(ProcurementOrderDTO orderDTO) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
         
-        Project project = projectRepository.findByIdAndOrganizationId(orderDTO.getProjectId(), organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + orderDTO.getProjectId()));
+        Project project = projectOwnershipCache.requireProject(orderDTO.getProjectId(), organizationId);
 
         ProcurementOrder order = new ProcurementOrder();
         order.setProject(project);
+        order.setOrganization(projectOwnershipCache.organizationReference(organizationId));
         order.setPoNumber(orderDTO.getPoNumber());
         order.setSupplierName(orderDTO.getSupplierName());
         order.setItemDescription(orderDTO.getItemDescription());
@@ -111,7 +118,7 @@ public class ProcurementOrderService {
         ProcurementOrderDTO dto = new ProcurementOrderDTO();
         dto.setId(order.getId());
         dto.setProjectId(order.getProject().getId());
-        dto.setProjectName(order.getProject().getName());
+        dto.setProjectName(projectOwnershipCache.projectName(order.getProject()));
         dto.setPoNumber(order.getPoNumber());
         dto.setSupplierName(order.getSupplierName());
         dto.setItemDescription(order.getItemDescription());
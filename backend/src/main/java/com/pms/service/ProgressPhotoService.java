@@ -1,75 +1,138 @@
 package com.pms.service;
 
+import com.pms.cache.ProjectOwnership;
+import com.pms.cache.ProjectOwnershipCache;
 import com.pms.dto.ApiResponse;
 import com.pms.dto.ProgressPhotoDTO;
+import com.pms.entity.Blob;
 import com.pms.entity.ProgressPhoto;
 import com.pms.entity.Project;
+import com.pms.entity.User;
 import com.pms.exception.ResourceNotFoundException;
 import com.pms.context.OrganizationContext;
+import com.pms.repository.BlobRepository;
 import com.pms.repository.ProgressPhotoRepository;
-import com.pms.repository.ProjectRepository;
+import com.pms.media.ExifMetadata;
+import com.pms.media.ExifReader;
+import com.pms.media.PhotoGeoIndex;
+import com.pms.media.ThumbnailPipeline;
+import com.pms.storage.BlobStore;
+import com.pms.storage.StagedBlob;
+import com.pms.storage.StorageBackend;
+import com.pms.storage.StoredContent;
+import com.pms.util.KeysetPage;
+import com.pms.util.TransactionHooks;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProgressPhotoService {
 
+    private static final long MAX_PHOTO_BYTES = 50L * 1024 * 1024;
+    private static final double MAX_NEARBY_RADIUS_METERS = 50_000;
+
     private final ProgressPhotoRepository progressPhotoRepository;
-    private final ProjectRepository projectRepository;
+    private final ProjectOwnershipCache projectOwnershipCache;
+    private final BlobRepository blobRepository;
+    private final BlobStore blobStore;
+    private final StorageBackend storageBackend;
+    private final ThumbnailPipeline thumbnailPipeline;
+    private final PhotoGeoIndex photoGeoIndex;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<ProgressPhotoDTO>> getAllProgressPhotos() {
+    public ApiResponse<List<ProgressPhotoDTO>> getAllProgressPhotos(String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<ProgressPhoto> photos = progressPhotoRepository.findByOrganizationId(organizationId);
-        List<ProgressPhotoDTO> photoDTOs = photos.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ApiResponse.success(photoDTOs, "Progress photos retrieved successfully");
+        Pageable page = KeysetPage.fetch(limit);
+        List<ProgressPhotoDTO> photoDTOs = progressPhotoRepository.findPageByOrganizationId(organizationId, KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<ProgressPhotoDTO> slice = KeysetPage.slice(photoDTOs, page, ProgressPhotoDTO::getId);
+        return ApiResponse.success(slice.content(), "Progress photos retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<ProgressPhotoDTO>> getProgressPhotosByProject(Long projectId) {
+    public ApiResponse<List<ProgressPhotoDTO>> getProgressPhotosByProject(Long projectId, String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<ProgressPhoto> photos = progressPhotoRepository.findByProjectIdAndOrganizationId(projectId, organizationId);
-        List<ProgressPhotoDTO> photoDTOs = photos.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        return ApiResponse.success(photoDTOs, "Project progress photos retrieved successfully");
+        Pageable page = KeysetPage.fetch(limit);
+        List<ProgressPhotoDTO> photoDTOs = progressPhotoRepository.findPageByProjectIdAndOrganizationId(projectId, organizationId,
+                KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<ProgressPhotoDTO> slice = KeysetPage.slice(photoDTOs, page, ProgressPhotoDTO::getId);
+        return ApiResponse.success(slice.content(), "Project progress photos retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
     public ApiResponse<ProgressPhotoDTO> getProgressPhotoById(Long id) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        ProgressPhoto photo = progressPhotoRepository.findByIdAndOrganizationId(id, organizationId)
+        ProgressPhotoDTO photo = progressPhotoRepository.findDtoByIdAndOrganizationId(id, organizationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Progress photo not found with id: " + id));
-        return ApiResponse.success(convertToDTO(photo), "Progress photo retrieved successfully");
+        return ApiResponse.success(photo, "Progress photo retrieved successfully");
+    }
+
+    /**
+     * Photos of a project taken within a radius of a point, nearest first,
+     * answered from the in-memory geohash grid
+     */
+    @Transactional(readOnly = true)
+    public ApiResponse<List<ProgressPhotoDTO>> getProgressPhotosNear(Long projectId, double latitude, double longitude,
+                                                                    double radiusMeters, Integer limit) {
+        Long organizationId = OrganizationContext.getCurrentOrganizationId();
+        if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            throw new IllegalArgumentException("Latitude must be within [-90, 90] and longitude within [-180, 180]");
+        }
+        if (radiusMeters <= 0 || radiusMeters > MAX_NEARBY_RADIUS_METERS) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + (long) MAX_NEARBY_RADIUS_METERS + " metres");
+        }
+        projectOwnershipCache.requireOwnership(projectId, organizationId);
+
+        List<Long> ids = photoGeoIndex.near(projectId, latitude, longitude, radiusMeters, KeysetPage.limit(limit).getPageSize())
+                .stream().map(PhotoGeoIndex.Match::photoId).toList();
+        if (ids.isEmpty()) {
+            return ApiResponse.success(List.of(), "Nearby progress photos retrieved successfully");
+        }
+        Map<Long, ProgressPhotoDTO> byId = progressPhotoRepository.findDtosByIdInAndOrganizationId(ids, organizationId)
+                .stream().collect(Collectors.toMap(ProgressPhotoDTO::getId, Function.identity()));
+        List<ProgressPhotoDTO> photoDTOs = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return ApiResponse.success(photoDTOs, "Nearby progress photos retrieved successfully");
     }
 
     @Transactional
     public ApiResponse<ProgressPhotoDTO> createProgressPhoto(ProgressPhotoDTO photoDTO) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
         
-        Project project = projectRepository.findByIdAndOrganizationId(photoDTO.getProjectId(), organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + photoDTO.getProjectId()));
+        Project project = projectOwnershipCache.requireProject(photoDTO.getProjectId(), organizationId);
 
         ProgressPhoto photo = new ProgressPhoto();
         photo.setProject(project);
-        photo.setPhotoTitle(photoDTO.getPhotoTitle());
-        photo.setPhotoUrl(photoDTO.getPhotoUrl());
-        photo.setThumbnailUrl(photoDTO.getThumbnailUrl());
-        photo.setCaption(photoDTO.getCaption());
-        photo.setLocation(photoDTO.getLocation());
-        photo.setCapturedAt(photoDTO.getCapturedAt() != null ? photoDTO.getCapturedAt() : LocalDateTime.now());
-        photo.setUploadedBy(photoDTO.getUploadedBy());
-        photo.setTags(photoDTO.getTags());
+        photo.setOrganization(projectOwnershipCache.organizationReference(organizationId));
+        copyFields(photoDTO, photo);
+        if (photoDTO.getUploadedById() != null) {
+            photo.setUploadedBy(requireUser(photoDTO.getUploadedById()));
+        }
 
         ProgressPhoto savedPhoto = progressPhotoRepository.save(photo);
+        indexLocationAfterCommit(savedPhoto);
         return ApiResponse.success(convertToDTO(savedPhoto), "Progress photo created successfully");
     }
 
@@ -79,15 +142,10 @@ public class ProgressPhotoService {
         ProgressPhoto photo = progressPhotoRepository.findByIdAndOrganizationId(id, organizationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Progress photo not found with id: " + id));
 
-        photo.setPhotoTitle(photoDTO.getPhotoTitle());
-        photo.setPhotoUrl(photoDTO.getPhotoUrl());
-        photo.setThumbnailUrl(photoDTO.getThumbnailUrl());
-        photo.setCaption(photoDTO.getCaption());
-        photo.setLocation(photoDTO.getLocation());
-        photo.setCapturedAt(photoDTO.getCapturedAt());
-        photo.setTags(photoDTO.getTags());
+        copyFields(photoDTO, photo);
 
         ProgressPhoto updatedPhoto = progressPhotoRepository.save(photo);
+        indexLocationAfterCommit(updatedPhoto);
         return ApiResponse.success(convertToDTO(updatedPhoto), "Progress photo updated successfully");
     }
 
@@ -96,23 +154,187 @@ public class ProgressPhotoService {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
         ProgressPhoto photo = progressPhotoRepository.findByIdAndOrganizationId(id, organizationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Progress photo not found with id: " + id));
+        blobStore.release(photo.getContentHash());
+        Long projectId = photo.getProject().getId();
         progressPhotoRepository.delete(photo);
+        TransactionHooks.afterCommit(() -> photoGeoIndex.remove(projectId, id));
         return ApiResponse.success(null, "Progress photo deleted successfully");
     }
 
+    /**
+     * Store the image bytes of a photo in the blob store. The body is staged
+     * before any transaction starts; a client that sends the SHA-256 of an
+     * image its organization already stores skips the transfer entirely.
+     */
+    public ApiResponse<ProgressPhotoDTO> uploadProgressPhotoContent(Long id, String contentType, String sha256,
+                                                                    InputStream body) {
+        Long organizationId = OrganizationContext.getCurrentOrganizationId();
+        if (!progressPhotoRepository.existsByIdAndOrganizationId(id, organizationId)) {
+            throw new ResourceNotFoundException("Progress photo not found with id: " + id);
+        }
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new IllegalArgumentException("Progress photo content must be an image");
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        if (sha256 != null && progressPhotoRepository.existsByContentHashAndOrganizationId(sha256, organizationId)) {
+            ProgressPhotoDTO reused = transaction.execute(status -> blobStore.acquire(sha256, null)
+                    .map(blob -> attachContent(id, organizationId, blob))
+                    .orElse(null));
+            if (reused != null) {
+                return ApiResponse.success(reused, "Progress photo content linked to existing upload");
+            }
+        }
+
+        StagedBlob staged;
+        try {
+            staged = blobStore.stage(body, MAX_PHOTO_BYTES);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not receive photo content", e);
+        }
+        ProgressPhotoDTO photo;
+        try {
+            photo = transaction.execute(status -> attachContent(id, organizationId, blobStore.commit(staged, contentType)));
+        } catch (RuntimeException e) {
+            blobStore.discard(staged);
+            throw e;
+        }
+        return ApiResponse.success(photo, "Progress photo content uploaded successfully");
+    }
+
+    @Transactional(readOnly = true)
+    public StoredContent getProgressPhotoContent(Long id) {
+        Long organizationId = OrganizationContext.getCurrentOrganizationId();
+        ProgressPhoto photo = progressPhotoRepository.findByIdAndOrganizationId(id, organizationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Progress photo not found with id: " + id));
+        Blob blob = Optional.ofNullable(photo.getContentHash())
+                .flatMap(blobRepository::findBySha256)
+                .orElseThrow(() -> new ResourceNotFoundException("No stored content for progress photo with id: " + id));
+        LocalDateTime modified = photo.getUpdatedAt() != null ? photo.getUpdatedAt() : photo.getCreatedAt();
+        return new StoredContent(blob.getStorageKey(), blob.getContentLength(), blob.getSha256(), blob.getMimeType(),
+                photo.getTitle(), modified.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Look up a generated thumbnail. Thumbnails appear shortly after the
+     * content upload commits, once the background pipeline has run.
+     */
+    @Transactional(readOnly = true)
+    public StoredContent getProgressPhotoThumbnail(Long id, int size) {
+        if (!ThumbnailPipeline.SIZES.contains(size)) {
+            throw new IllegalArgumentException("Thumbnail size must be one of " + ThumbnailPipeline.SIZES);
+        }
+        Long organizationId = OrganizationContext.getCurrentOrganizationId();
+        ProgressPhoto photo = progressPhotoRepository.findByIdAndOrganizationId(id, organizationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Progress photo not found with id: " + id));
+        String key = Optional.ofNullable(photo.getContentHash())
+                .map(hash -> ThumbnailPipeline.keyFor(hash, size))
+                .filter(storageBackend::exists)
+                .orElseThrow(() -> new ResourceNotFoundException("Thumbnail not available yet for progress photo with id: " + id));
+        long length;
+        try {
+            length = storageBackend.size(key);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read thumbnail", e);
+        }
+        LocalDateTime modified = photo.getUpdatedAt() != null ? photo.getUpdatedAt() : photo.getCreatedAt();
+        return new StoredContent(key, length, photo.getContentHash() + "-" + size, "image/jpeg",
+                photo.getTitle() + "-" + size + ".jpg", modified.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private ProgressPhotoDTO attachContent(Long id, Long organizationId, Blob blob) {
+        ProgressPhoto photo = progressPhotoRepository.findByIdAndOrganizationId(id, organizationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Progress photo not found with id: " + id));
+        // Release the previous image; if it is the same content the count nets out
+        blobStore.release(photo.getContentHash());
+        if (!blob.getSha256().equals(photo.getContentHash())) {
+            // Set again by the thumbnail pipeline once the new image's thumbnails exist
+            photo.setThumbnailUrl(null);
+        }
+        photo.setContentHash(blob.getSha256());
+        photo.setFileSize(blob.getContentLength());
+        photo.setMimeType(blob.getMimeType());
+        photo.setPhotoUrl("/api/progress-photos/" + id + "/content");
+        // The image's own GPS position and capture time win over client-supplied values
+        ExifMetadata exif = readExif(blob.getStorageKey());
+        if (exif.hasLocation()) {
+            photo.setLatitude(exif.latitude());
+            photo.setLongitude(exif.longitude());
+        }
+        if (exif.takenAt() != null) {
+            photo.setTakenDate(exif.takenAt().toLocalDate());
+        }
+        ProgressPhoto savedPhoto = progressPhotoRepository.save(photo);
+        indexLocationAfterCommit(savedPhoto);
+        TransactionHooks.afterCommit(() -> thumbnailPipeline.submit(id, blob.getSha256(), blob.getStorageKey()));
+        return convertToDTO(savedPhoto);
+    }
+
+    private ExifMetadata readExif(String storageKey) {
+        try (FileChannel channel = storageBackend.open(storageKey)) {
+            return ExifReader.read(channel);
+        } catch (IOException e) {
+            log.warn("Could not read EXIF header of {}", storageKey, e);
+            return ExifMetadata.EMPTY;
+        }
+    }
+
+    private void indexLocationAfterCommit(ProgressPhoto photo) {
+        Long projectId = photo.getProject().getId();
+        Long photoId = photo.getId();
+        Double latitude = photo.getLatitude();
+        Double longitude = photo.getLongitude();
+        TransactionHooks.afterCommit(() -> photoGeoIndex.put(projectId, photoId, latitude, longitude));
+    }
+
+    private void copyFields(ProgressPhotoDTO photoDTO, ProgressPhoto photo) {
+        photo.setTitle(photoDTO.getTitle());
+        photo.setDescription(photoDTO.getDescription());
+        photo.setPhotoUrl(photoDTO.getPhotoUrl());
+        photo.setThumbnailUrl(photoDTO.getThumbnailUrl());
+        photo.setLocation(photoDTO.getLocation());
+        photo.setLatitude(photoDTO.getLatitude());
+        photo.setLongitude(photoDTO.getLongitude());
+        if (photoDTO.getTakenDate() != null) {
+            photo.setTakenDate(photoDTO.getTakenDate());
+        } else if (photo.getTakenDate() == null) {
+            photo.setTakenDate(LocalDate.now());
+        }
+        photo.setCategory(photoDTO.getCategory());
+        photo.setTags(photoDTO.getTags());
+    }
+
+    private User requireUser(String userId) {
+        User user = entityManager.find(User.class, userId);
+        if (user == null) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        return user;
+    }
+
     private ProgressPhotoDTO convertToDTO(ProgressPhoto photo) {
         ProgressPhotoDTO dto = new ProgressPhotoDTO();
         dto.setId(photo.getId());
         dto.setProjectId(photo.getProject().getId());
-        dto.setProjectName(photo.getProject().getName());
-        dto.setPhotoTitle(photo.getPhotoTitle());
+        // Names come from the ownership cache so the organization reference is never loaded
+        ProjectOwnership ownership = projectOwnershipCache.ownership(photo.getProject().getId());
+        dto.setProjectName(ownership != null ? ownership.projectName() : null);
+        dto.setOrganizationId(photo.getOrganization() != null ? photo.getOrganization().getId() : null);
+        dto.setOrganizationName(ownership != null ? ownership.organizationName() : null);
+        dto.setTitle(photo.getTitle());
+        dto.setDescription(photo.getDescription());
         dto.setPhotoUrl(photo.getPhotoUrl());
         dto.setThumbnailUrl(photo.getThumbnailUrl());
-        dto.setCaption(photo.getCaption());
         dto.setLocation(photo.getLocation());
-        dto.setCapturedAt(photo.getCapturedAt());
-        dto.setUploadedBy(photo.getUploadedBy());
+        dto.setLatitude(photo.getLatitude());
+        dto.setLongitude(photo.getLongitude());
+        dto.setTakenDate(photo.getTakenDate());
+        dto.setCategory(photo.getCategory());
+        dto.setUploadedById(photo.getUploadedBy() != null ? photo.getUploadedBy().getId() : null);
+        dto.setUploadedByName(photo.getUploadedBy() != null ? photo.getUploadedBy().getName() : null);
         dto.setTags(photo.getTags());
+        dto.setFileSize(photo.getFileSize());
+        dto.setMimeType(photo.getMimeType());
         dto.setCreatedAt(photo.getCreatedAt());
         dto.setUpdatedAt(photo.getUpdatedAt());
         return dto;
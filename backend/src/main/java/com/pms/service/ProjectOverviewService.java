@@ -0,0 +1,76 @@
+package com.pms.service;
+
+import com.pms.cache.ProjectOwnership;
+import com.pms.cache.ProjectOwnershipCache;
+import com.pms.concurrent.FanOut;
+import com.pms.context.OrganizationContext;
+import com.pms.dto.ApiResponse;
+import com.pms.dto.ProjectOverviewDTO;
+import com.pms.repository.ContractRepository;
+import com.pms.repository.MilestoneRepository;
+import com.pms.repository.ProcurementOrderRepository;
+import com.pms.repository.QualityInspectionRepository;
+import com.pms.repository.RiskRegisterRepository;
+import com.pms.summary.StatusCount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Status counts of a project's contracts, milestones, risks, inspections and
+ * procurement orders. The five queries are forked together through
+ * {@link FanOut}, so the response takes as long as the slowest one rather
+ * than their sum.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProjectOverviewService {
+
+    private final ProjectOwnershipCache projectOwnershipCache;
+    private final ContractRepository contractRepository;
+    private final MilestoneRepository milestoneRepository;
+    private final RiskRegisterRepository riskRegisterRepository;
+    private final QualityInspectionRepository qualityInspectionRepository;
+    private final ProcurementOrderRepository procurementOrderRepository;
+    private final FanOut fanOut;
+
+    public ApiResponse<ProjectOverviewDTO> getOverview(Long projectId) {
+        Long organizationId = OrganizationContext.requireOrganizationId();
+        ProjectOwnership project = projectOwnershipCache.requireOwnership(projectId, organizationId);
+
+        Map<String, FanOut.Subtask<List<StatusCount>>> modules = new LinkedHashMap<>();
+        try (FanOut.Scope scope = fanOut.open()) {
+            modules.put("contracts", scope.fork(() -> contractRepository.countByStatusForProject(projectId)));
+            modules.put("milestones", scope.fork(() -> milestoneRepository.countByStatusForProject(projectId)));
+            modules.put("risks", scope.fork(() -> riskRegisterRepository.countByStatusForProject(projectId)));
+            modules.put("qualityInspections", scope.fork(() -> qualityInspectionRepository.countByStatusForProject(projectId)));
+            modules.put("procurementOrders", scope.fork(() -> procurementOrderRepository.countByStatusForProject(projectId)));
+            scope.join();
+        }
+
+        Map<String, Long> totals = new LinkedHashMap<>();
+        Map<String, Map<String, Long>> statusCounts = new LinkedHashMap<>();
+        modules.forEach((module, counts) -> {
+            Map<String, Long> byStatus = new TreeMap<>();
+            long total = 0;
+            for (StatusCount count : counts.get()) {
+                byStatus.merge(count.status() != null ? count.status().name() : "NONE", count.count(), Long::sum);
+                total += count.count();
+            }
+            totals.put(module, total);
+            statusCounts.put(module, byStatus);
+        });
+
+        ProjectOverviewDTO overview = ProjectOverviewDTO.builder()
+                .projectId(projectId)
+                .projectName(project.projectName())
+                .totals(totals)
+                .statusCounts(statusCounts)
+                .build();
+        return ApiResponse.success(overview, "Project overview retrieved successfully");
+    }
+}
@@ -1,5 +1,6 @@
 package com.pms.service;
 
+import com.pms.cache.ProjectOwnershipCache;
 import com.pms.dto.ApiResponse;
 import com.pms.dto.QualityInspectionDTO;
 import com.pms.entity.Project;
@@ -7,8 +8,9 @@ import com.pms.entity.QualityInspection;
 import com.pms.exception.ResourceNotFoundException;
 import com.pms.context.OrganizationContext;
 import com.pms.repository.QualityInspectionRepository;
-import com.pms.repository.ProjectRepository;
+import com.pms.util.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,26 +23,31 @@ import java.util.stream.Collectors;
 public class QualityInspectionService {
 
     private final QualityInspectionRepository qualityInspectionRepository;
-    private final ProjectRepository projectRepository;
+    private final ProjectOwnershipCache projectOwnershipCache;
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<QualityInspectionDTO>> getAllInspections() {
+    public ApiResponse<List<QualityInspectionDTO>> getAllInspections(String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<QualityInspection> inspections = qualityInspectionRepository.findByOrganizationId(organizationId);
-        List<QualityInspectionDTO> inspectionDTOs = inspections.stream()
+        Pageable page = KeysetPage.fetch(limit);
+        List<QualityInspection> inspections = qualityInspectionRepository.findPageByOrganizationId(organizationId, KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<QualityInspection> slice = KeysetPage.slice(inspections, page, QualityInspection::getId);
+        List<QualityInspectionDTO> inspectionDTOs = slice.content().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
-        return ApiResponse.success(inspectionDTOs, "Quality inspections retrieved successfully");
+        return ApiResponse.success(inspectionDTOs, "Quality inspections retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<QualityInspectionDTO>> getInspectionsByProject(Long projectId) {
+    public ApiResponse<List<QualityInspectionDTO>> getInspectionsByProject(Long projectId, String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<QualityInspection> inspections = qualityInspectionRepository.findByProjectIdAndOrganizationId(projectId, organizationId);
-        List<QualityInspectionDTO> inspectionDTOs = inspections.stream()
+        Pageable page = KeysetPage.fetch(limit);
+        List<QualityInspection> inspections = qualityInspectionRepository.findPageByProjectIdAndOrganizationId(projectId, organizationId,
+                KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<QualityInspection> slice = KeysetPage.slice(inspections, page, QualityInspection::getId);
+        List<QualityInspectionDTO> inspectionDTOs = slice.content().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
-        return ApiResponse.success(inspectionDTOs, "Project inspections retrieved successfully");
+        return ApiResponse.success(inspectionDTOs, "Project inspections retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
@@ -55,8 +62,7 @@ public class QualityInspectionService {
     public ApiResponse<QualityInspectionDTO> createInspection(QualityInspectionDTO inspectionDTO) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
         
-        Project project = projectRepository.findByIdAndOrganizationId(inspectionDTO.getProjectId(), organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + inspectionDTO.getProjectId()));
+        Project project = projectOwnershipCache.requireProject(inspectionDTO.getProjectId(), organizationId);
 
         QualityInspection inspection = new QualityInspection();
         inspection.setProject(project);
@@ -115,7 +121,7 @@ public class QualityInspectionService {
         QualityInspectionDTO dto = new QualityInspectionDTO();
         dto.setId(inspection.getId());
         dto.setProjectId(inspection.getProject().getId());
-        dto.setProjectName(inspection.getProject().getName());
+        dto.setProjectName(projectOwnershipCache.projectName(inspection.getProject()));
         dto.setInspectionNumber(inspection.getInspectionNumber());
         dto.setTitle(inspection.getTitle());
         dto.setDescription(inspection.getDescription());
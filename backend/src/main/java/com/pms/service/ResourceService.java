@@ -1,5 +1,6 @@
 package com.pms.service;
 
+import com.pms.cache.ProjectOwnershipCache;
 import com.pms.dto.ApiResponse;
 import com.pms.dto.ResourceDTO;
 import com.pms.entity.Resource;
@@ -7,8 +8,9 @@ import com.pms.entity.Project;
 import com.pms.exception.ResourceNotFoundException;
 import com.pms.context.OrganizationContext;
 import com.pms.repository.ResourceRepository;
-import com.pms.repository.ProjectRepository;
+import com.pms.util.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,26 +22,31 @@ import java.util.stream.Collectors;
 public class ResourceService {
 
     private final ResourceRepository resourceRepository;
-    private final ProjectRepository projectRepository;
+    private final ProjectOwnershipCache projectOwnershipCache;
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<ResourceDTO>> getAllResources() {
+    public ApiResponse<List<ResourceDTO>> getAllResources(String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<Resource> resources = resourceRepository.findByOrganizationId(organizationId);
-        List<ResourceDTO> resourceDTOs = resources.stream()
+        Pageable page = KeysetPage.fetch(limit);
+        List<Resource> resources = resourceRepository.findPageByOrganizationId(organizationId, KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<Resource> slice = KeysetPage.slice(resources, page, Resource::getId);
+        List<ResourceDTO> resourceDTOs = slice.content().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
-        return ApiResponse.success(resourceDTOs, "Resources retrieved successfully");
+        return ApiResponse.success(resourceDTOs, "Resources retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<ResourceDTO>> getResourcesByProject(Long projectId) {
+    public ApiResponse<List<ResourceDTO>> getResourcesByProject(Long projectId, String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<Resource> resources = resourceRepository.findByProjectIdAndOrganizationId(projectId, organizationId);
-        List<ResourceDTO> resourceDTOs = resources.stream()
+        Pageable page = KeysetPage.fetch(limit);
+        List<Resource> resources = resourceRepository.findPageByProjectIdAndOrganizationId(projectId, organizationId,
+                KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<Resource> slice = KeysetPage.slice(resources, page, Resource::getId);
+        List<ResourceDTO> resourceDTOs = slice.content().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
-        return ApiResponse.success(resourceDTOs, "Project resources retrieved successfully");
+        return ApiResponse.success(resourceDTOs, "Project resources retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
@@ -54,8 +61,7 @@ public class ResourceService {
     public ApiResponse<ResourceDTO> createResource(ResourceDTO resourceDTO) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
         
-        Project project = projectRepository.findByIdAndOrganizationId(resourceDTO.getProjectId(), organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + resourceDTO.getProjectId()));
+        Project project = projectOwnershipCache.requireProject(resourceDTO.getProjectId(), organizationId);
 
         Resource resource = new Resource();
         resource.setProject(project);
@@ -106,7 +112,7 @@ public class ResourceService {
         ResourceDTO dto = new ResourceDTO();
         dto.setId(resource.getId());
         dto.setProjectId(resource.getProject().getId());
-        dto.setProjectName(resource.getProject().getName());
+        dto.setProjectName(projectOwnershipCache.projectName(resource.getProject()));
         dto.setResourceName(resource.getResourceName());
         dto.setResourceType(resource.getResourceType());
         dto.setResourceRole(resource.getResourceRole());
@@ -1,5 +1,6 @@
 package com.pms.service;
 
+import com.pms.cache.ProjectOwnershipCache;
 import com.pms.dto.ApiResponse;
 import com.pms.dto.RiskRegisterDTO;
 import com.pms.entity.Project;
@@ -7,8 +8,9 @@ import com.pms.entity.RiskRegister;
 import com.pms.exception.ResourceNotFoundException;
 import com.pms.context.OrganizationContext;
 import com.pms.repository.RiskRegisterRepository;
-import com.pms.repository.ProjectRepository;
+import com.pms.util.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,26 +23,31 @@ import java.util.stream.Collectors;
 public class RiskRegisterService {
 
     private final RiskRegisterRepository riskRegisterRepository;
-    private final ProjectRepository projectRepository;
+    private final ProjectOwnershipCache projectOwnershipCache;
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<RiskRegisterDTO>> getAllRisks() {
+    public ApiResponse<List<RiskRegisterDTO>> getAllRisks(String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<RiskRegister> risks = riskRegisterRepository.findByOrganizationId(organizationId);
-        List<RiskRegisterDTO> riskDTOs = risks.stream()
+        Pageable page = KeysetPage.fetch(limit);
+        List<RiskRegister> risks = riskRegisterRepository.findPageByOrganizationId(organizationId, KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<RiskRegister> slice = KeysetPage.slice(risks, page, RiskRegister::getId);
+        List<RiskRegisterDTO> riskDTOs = slice.content().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
-        return ApiResponse.success(riskDTOs, "Risks retrieved successfully");
+        return ApiResponse.success(riskDTOs, "Risks retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
-    public ApiResponse<List<RiskRegisterDTO>> getRisksByProject(Long projectId) {
+    public ApiResponse<List<RiskRegisterDTO>> getRisksByProject(Long projectId, String cursor, Integer limit) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
-        List<RiskRegister> risks = riskRegisterRepository.findByProjectIdAndOrganizationId(projectId, organizationId);
-        List<RiskRegisterDTO> riskDTOs = risks.stream()
+        Pageable page = KeysetPage.fetch(limit);
+        List<RiskRegister> risks = riskRegisterRepository.findPageByProjectIdAndOrganizationId(projectId, organizationId,
+                KeysetPage.decodeCursor(cursor), page);
+        KeysetPage.Slice<RiskRegister> slice = KeysetPage.slice(risks, page, RiskRegister::getId);
+        List<RiskRegisterDTO> riskDTOs = slice.content().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
-        return ApiResponse.success(riskDTOs, "Project risks retrieved successfully");
+        return ApiResponse.success(riskDTOs, "Project risks retrieved successfully", slice.nextCursor());
     }
 
     @Transactional(readOnly = true)
@@ -55,8 +62,7 @@ public class RiskRegisterService {
     public ApiResponse<RiskRegisterDTO> createRisk(RiskRegisterDTO riskDTO) {
         Long organizationId = OrganizationContext.getCurrentOrganizationId();
         
-        Project project = projectRepository.findByIdAndOrganizationId(riskDTO.getProjectId(), organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + riskDTO.getProjectId()));
+        Project project = projectOwnershipCache.requireProject(riskDTO.getProjectId(), organizationId);
 
         RiskRegister risk = new RiskRegister();
         risk.setProject(project);
@@ -113,7 +119,7 @@ public class RiskRegisterService {
         RiskRegisterDTO dto = new RiskRegisterDTO();
         dto.setId(risk.getId());
         dto.setProjectId(risk.getProject().getId());
-        dto.setProjectName(risk.getProject().getName());
+        dto.setProjectName(projectOwnershipCache.projectName(risk.getProject()));
         dto.setRiskDescription(risk.getRiskDescription());
         dto.setRiskCategory(risk.getRiskCategory());
         dto.setProbability(risk.getProbability());
@@ -0,0 +1,45 @@
+package com.pms.service;
+
+import com.pms.context.OrganizationContext;
+import com.pms.dto.ApiResponse;
+import com.pms.dto.SearchHitDTO;
+import com.pms.search.SearchIndexBackend;
+import com.pms.search.TypeaheadIndex;
+import com.pms.util.KeysetPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private final SearchIndexBackend searchIndexBackend;
+    private final TypeaheadIndex typeaheadIndex;
+
+    public ApiResponse<List<SearchHitDTO>> search(String query, Integer limit) {
+        Long organizationId = OrganizationContext.requireOrganizationId();
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        int size = KeysetPage.limit(limit).getPageSize();
+        List<SearchHitDTO> hits = searchIndexBackend.search(organizationId, query, size);
+        return ApiResponse.success(hits, "Search results retrieved successfully");
+    }
+
+    /**
+     * Prefix (type-ahead) search served from the in-memory index. Falls back to
+     * the full-text backend when the organization's index exceeded its bound.
+     */
+    public ApiResponse<List<SearchHitDTO>> suggest(String query, Integer limit) {
+        Long organizationId = OrganizationContext.requireOrganizationId();
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        int size = KeysetPage.limit(limit).getPageSize();
+        List<SearchHitDTO> hits = typeaheadIndex.search(organizationId, query, size)
+                .orElseGet(() -> searchIndexBackend.search(organizationId, query, size));
+        return ApiResponse.success(hits, "Suggestions retrieved successfully");
+    }
+}
@@ -0,0 +1,8 @@
+package com.pms.storage;
+
+/**
+ * Published once the bytes of an unreferenced blob have been removed, so
+ * anything derived from them (thumbnails, extracted text) can be dropped too.
+ */
+public record BlobDeletedEvent(String sha256) {
+}
@@ -0,0 +1,209 @@
+package com.pms.storage;
+
+import com.pms.entity.Blob;
+import com.pms.repository.BlobRepository;
+import com.pms.util.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Content-addressed, deduplicating store on top of a {@link StorageBackend}.
+ * Objects are keyed by SHA-256 under a two-level sharded layout
+ * ({@code blobs/ab/cd/abcd...}) and reference counted in the {@code blobs}
+ * table. The commit, acquire and release methods must run inside the caller's
+ * transaction; files are only removed after that transaction commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlobStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int LOCK_STRIPES = 64;
+
+    private final BlobRepository blobRepository;
+    private final StorageBackend storageBackend;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReentrantLock[] locks = createLocks();
+
+    public static String keyFor(String sha256) {
+        return "blobs/" + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+    }
+
+    /**
+     * Stream a request body into staging while hashing it
+     * @param maxBytes Upper bound on accepted bytes
+     * @throws IllegalArgumentException if the body is larger than {@code maxBytes}
+     */
+    public StagedBlob stage(InputStream body, long maxBytes) throws IOException {
+        String stagingKey = "blob-" + UUID.randomUUID() + ".part";
+        MessageDigest digest = newDigest();
+        long written = 0;
+        boolean staged = false;
+        try (FileChannel channel = storageBackend.openStaging(stagingKey)) {
+            ReadableByteChannel source = Channels.newChannel(body);
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            int read;
+            while ((read = source.read(buffer)) >= 0) {
+                if (read == 0) {
+                    continue;
+                }
+                written += read;
+                if (written > maxBytes) {
+                    throw new IllegalArgumentException("Content exceeds the maximum size of " + maxBytes + " bytes");
+                }
+                buffer.flip();
+                digest.update(buffer.array(), 0, buffer.limit());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                buffer.clear();
+            }
+            staged = true;
+        } finally {
+            if (!staged) {
+                storageBackend.deleteStaging(stagingKey);
+            }
+        }
+        return new StagedBlob(stagingKey, HexFormat.of().formatHex(digest.digest()), written);
+    }
+
+    /**
+     * Drop staged bytes that will not be committed. A no-op once they were.
+     */
+    public void discard(StagedBlob staged) {
+        try {
+            storageBackend.deleteStaging(staged.stagingKey());
+        } catch (IOException e) {
+            log.warn("Could not delete staged content {}", staged.stagingKey(), e);
+        }
+    }
+
+    /**
+     * Add staged bytes to the store and take a reference. If the content is
+     * already stored the staged copy is dropped.
+     */
+    public Blob commit(StagedBlob staged, String mimeType) {
+        lockUntilCompletion(staged.sha256());
+        try {
+            if (blobRepository.incrementRefCount(staged.sha256()) > 0) {
+                storageBackend.deleteStaging(staged.stagingKey());
+                log.debug("Deduplicated content {}", staged.sha256());
+                return blobRepository.findBySha256(staged.sha256()).orElseThrow();
+            }
+            String key = keyFor(staged.sha256());
+            storageBackend.promote(staged.stagingKey(), key);
+            Blob blob = new Blob();
+            blob.setSha256(staged.sha256());
+            blob.setStorageKey(key);
+            blob.setContentLength(staged.contentLength());
+            blob.setMimeType(mimeType);
+            blob.setRefCount(1);
+            return blobRepository.save(blob);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store content " + staged.sha256(), e);
+        }
+    }
+
+    /**
+     * Take a reference on already stored content without transferring it
+     * @param contentLength Expected length, or null to accept any
+     * @return The blob, or empty if no matching content is stored
+     */
+    public Optional<Blob> acquire(String sha256, Long contentLength) {
+        lockUntilCompletion(sha256);
+        Optional<Blob> blob = blobRepository.findBySha256(sha256)
+                .filter(existing -> contentLength == null || existing.getContentLength().equals(contentLength));
+        if (blob.isEmpty() || blobRepository.incrementRefCount(sha256) == 0) {
+            return Optional.empty();
+        }
+        return blob;
+    }
+
+    /**
+     * Drop a reference. The last reference removes the row, and the bytes are
+     * deleted once the transaction commits.
+     */
+    public void release(String sha256) {
+        if (sha256 == null) {
+            return;
+        }
+        blobRepository.decrementRefCount(sha256);
+        if (blobRepository.deleteIfUnreferenced(sha256) > 0) {
+            TransactionHooks.afterCommit(() -> deleteIfStillUnreferenced(sha256));
+        }
+    }
+
+    private void deleteIfStillUnreferenced(String sha256) {
+        ReentrantLock lock = lockFor(sha256);
+        lock.lock();
+        try {
+            // A concurrent upload may have re-created the blob in the meantime
+            if (blobRepository.findBySha256(sha256).isEmpty()) {
+                storageBackend.delete(keyFor(sha256));
+                eventPublisher.publishEvent(new BlobDeletedEvent(sha256));
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete unreferenced content {}", sha256, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hold the hash's lock until the surrounding transaction completes, so a
+     * concurrent upload of the same content sees the committed row instead of
+     * racing to insert it.
+     */
+    private void lockUntilCompletion(String sha256) {
+        ReentrantLock lock = lockFor(sha256);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Blob store writes require an active transaction");
+        }
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private ReentrantLock lockFor(String sha256) {
+        return locks[Math.floorMod(sha256.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static ReentrantLock[] createLocks() {
+        ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        return stripes;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
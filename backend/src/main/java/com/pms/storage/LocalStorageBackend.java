@@ -0,0 +1,95 @@
+package com.pms.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Stores objects as plain files below {@code storage.local.root}. Staging
+ * objects live in a sibling directory on the same file system so promotion
+ * is a rename.
+ */
+@Slf4j
+@Component
+public class LocalStorageBackend implements StorageBackend {
+
+    private final Path objectRoot;
+    private final Path stagingRoot;
+
+    public LocalStorageBackend(@Value("${storage.local.root:./data/storage}") String root) throws IOException {
+        Path base = Path.of(root).toAbsolutePath().normalize();
+        this.objectRoot = Files.createDirectories(base.resolve("objects"));
+        this.stagingRoot = Files.createDirectories(base.resolve("staging"));
+        log.info("Local storage rooted at {}", base);
+    }
+
+    @Override
+    public FileChannel openStaging(String stagingKey) throws IOException {
+        return FileChannel.open(resolve(stagingRoot, stagingKey), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    @Override
+    public FileChannel readStaging(String stagingKey) throws IOException {
+        return FileChannel.open(resolve(stagingRoot, stagingKey), StandardOpenOption.READ);
+    }
+
+    @Override
+    public long stagingSize(String stagingKey) throws IOException {
+        Path path = resolve(stagingRoot, stagingKey);
+        return Files.exists(path) ? Files.size(path) : 0L;
+    }
+
+    @Override
+    public void promote(String stagingKey, String key) throws IOException {
+        Path target = resolve(objectRoot, key);
+        Files.createDirectories(target.getParent());
+        Files.move(resolve(stagingRoot, stagingKey), target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void deleteStaging(String stagingKey) throws IOException {
+        Files.deleteIfExists(resolve(stagingRoot, stagingKey));
+    }
+
+    @Override
+    public FileChannel open(String key) throws IOException {
+        return FileChannel.open(resolve(objectRoot, key), StandardOpenOption.READ);
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.of(resolve(objectRoot, key));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(objectRoot, key));
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        return Files.size(resolve(objectRoot, key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(objectRoot, key));
+    }
+
+    private Path resolve(Path root, String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid storage key: " + key);
+        }
+        return path;
+    }
+}
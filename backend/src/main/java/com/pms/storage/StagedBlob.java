@@ -0,0 +1,8 @@
+package com.pms.storage;
+
+/**
+ * Bytes written to staging whose digest is known but which are not yet part
+ * of the blob store.
+ */
+public record StagedBlob(String stagingKey, String sha256, long contentLength) {
+}
@@ -0,0 +1,50 @@
+package com.pms.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Byte storage for uploaded files. Uploads are written to a staging object
+ * first and promoted to their final key once complete.
+ */
+public interface StorageBackend {
+
+    /**
+     * Open a staging object for reading and writing at arbitrary offsets,
+     * creating it if needed
+     */
+    FileChannel openStaging(String stagingKey) throws IOException;
+
+    /**
+     * Open a staging object for reading
+     */
+    FileChannel readStaging(String stagingKey) throws IOException;
+
+    long stagingSize(String stagingKey) throws IOException;
+
+    /**
+     * Atomically move a completed staging object to its final key
+     */
+    void promote(String stagingKey, String key) throws IOException;
+
+    void deleteStaging(String stagingKey) throws IOException;
+
+    /**
+     * Open a stored object for reading
+     */
+    FileChannel open(String key) throws IOException;
+
+    /**
+     * Local file behind a stored object, for backends that have one. Lets the
+     * servlet container hand the file to the kernel (sendfile).
+     */
+    Optional<Path> localPath(String key);
+
+    boolean exists(String key);
+
+    long size(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+}
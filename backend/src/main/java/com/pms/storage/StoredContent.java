@@ -0,0 +1,20 @@
+package com.pms.storage;
+
+import java.time.Instant;
+
+/**
+ * Everything needed to serve stored bytes over HTTP.
+ * @param sha256 Hex SHA-256 of the content, used as the strong entity tag
+ */
+public record StoredContent(
+        String storageKey,
+        long contentLength,
+        String sha256,
+        String mimeType,
+        String fileName,
+        Instant lastModified) {
+
+    public String eTag() {
+        return "\"" + sha256 + "\"";
+    }
+}
@@ -0,0 +1,7 @@
+package com.pms.summary;
+
+/**
+ * Id, name and status of a project, without loading the entity
+ */
+public record ProjectHeader(Long projectId, String name, Enum<?> status) {
+}
@@ -0,0 +1,8 @@
+package com.pms.summary;
+
+/**
+ * Number of one project's records in one status, from a
+ * {@code GROUP BY project.id, status} query
+ */
+public record StatusCount(Long projectId, Enum<?> status, Long count) {
+}
@@ -0,0 +1,48 @@
+package com.pms.util;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+
+/**
+ * Helpers for bulk create endpoints. Entities are persisted in chunks matching
+ * the JDBC batch size, flushing and clearing the persistence context between
+ * chunks so memory stays flat regardless of request size.
+ */
+public final class BatchWrites {
+
+    public static final int JDBC_BATCH_SIZE = 50;
+    public static final int MAX_BATCH_ITEMS = 1000;
+
+    private BatchWrites() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Validate the size of a bulk request
+     * @throws IllegalArgumentException if the batch is empty or too large
+     */
+    public static void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one item");
+        }
+        if (items.size() > MAX_BATCH_ITEMS) {
+            throw new IllegalArgumentException("Batch must not contain more than " + MAX_BATCH_ITEMS + " items");
+        }
+    }
+
+    /**
+     * Flush and clear once a full JDBC batch has been queued
+     * @param persisted Number of entities persisted so far
+     * @return true if the persistence context was cleared, detaching every
+     *         entity and reference obtained before
+     */
+    public static boolean flushIfFull(EntityManager entityManager, int persisted) {
+        if (persisted % JDBC_BATCH_SIZE == 0) {
+            entityManager.flush();
+            entityManager.clear();
+            return true;
+        }
+        return false;
+    }
+}
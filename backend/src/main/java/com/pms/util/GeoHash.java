@@ -0,0 +1,116 @@
+package com.pms.util;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Geohash encoding and the distance helpers needed for radius queries.
+ * Nearby points share geohash prefixes, so a radius search becomes a few
+ * prefix range scans plus an exact distance check on the candidates.
+ */
+public final class GeoHash {
+
+    public static final int PRECISION = 12;
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE_LATITUDE = 111_320.0;
+
+    private GeoHash() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static String encode(double latitude, double longitude) {
+        return encode(latitude, longitude, PRECISION);
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90;
+        double maxLat = 90;
+        double minLon = -180;
+        double maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean lonBit = true;
+        int bits = 0;
+        int ch = 0;
+        while (hash.length() < precision) {
+            if (lonBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+            lonBit = !lonBit;
+            if (++bits == 5) {
+                hash.append(BASE32[ch]);
+                bits = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Geohash prefixes whose cells together cover every point within
+     * {@code radiusMeters} of the centre. Uses the finest precision whose
+     * cells are at least as large as the radius, which yields at most nine.
+     */
+    public static Set<String> coveringPrefixes(double latitude, double longitude, double radiusMeters) {
+        double latDelta = radiusMeters / METERS_PER_DEGREE_LATITUDE;
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        double lonDelta = cosLat < 1e-6 ? 360 : Math.min(360, latDelta / cosLat);
+
+        int precision = PRECISION;
+        while (precision > 1 && (cellHeight(precision) < latDelta || cellWidth(precision) < lonDelta)) {
+            precision--;
+        }
+        Set<String> prefixes = new LinkedHashSet<>();
+        for (double lat : new double[] {latitude - latDelta, latitude, latitude + latDelta}) {
+            for (double lon : new double[] {longitude - lonDelta, longitude, longitude + lonDelta}) {
+                prefixes.add(encode(Math.max(-90, Math.min(90, lat)), wrapLongitude(lon), precision));
+            }
+        }
+        return prefixes;
+    }
+
+    /**
+     * Great-circle distance in metres (haversine)
+     */
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static double cellWidth(int precision) {
+        return 360.0 / (1L << ((5 * precision + 1) / 2));
+    }
+
+    private static double cellHeight(int precision) {
+        return 180.0 / (1L << (5 * precision / 2));
+    }
+
+    private static double wrapLongitude(double longitude) {
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        if (longitude >= 180) {
+            return longitude - 360;
+        }
+        return longitude;
+    }
+}
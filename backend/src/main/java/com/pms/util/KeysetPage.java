@@ -0,0 +1,96 @@
+package com.pms.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset (cursor) pagination helpers for organization-scoped list endpoints.
+ * Pages are ordered by ascending id; the cursor is an opaque token wrapping
+ * the id of the last row returned, so each page costs the same regardless of
+ * how deep into the table the client has scrolled. Id order is stable but is
+ * not creation order, since ids are handed out in pooled blocks.
+ *
+ * <p>Each page is read with one look-ahead row ({@link #fetch(Integer)}), so
+ * a cursor is only returned when another row actually follows.</p>
+ */
+public final class KeysetPage {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private KeysetPage() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Build the page request for a client-supplied limit
+     * @param limit Requested page size, may be null
+     * @return Pageable for the first slice, clamped to [1, MAX_LIMIT]
+     */
+    public static Pageable limit(Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        return PageRequest.of(0, size);
+    }
+
+    /**
+     * Build the page request for reading a slice: the requested page size
+     * plus one look-ahead row, consumed by {@link #slice(List, Pageable, Function)}
+     * @param limit Requested page size, may be null
+     */
+    public static Pageable fetch(Integer limit) {
+        return PageRequest.of(0, limit(limit).getPageSize() + 1);
+    }
+
+    /**
+     * Decode a cursor into the id the next page should start after
+     * @param cursor Opaque cursor from a previous response, may be null
+     * @return Last seen id, or 0 for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return Long.parseLong(decoded);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Encode an id as an opaque cursor
+     * @param id Id of the last row on the current page
+     * @return URL-safe cursor string
+     */
+    public static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Split rows read with {@link #fetch(Integer)} into the page to return and
+     * the cursor of the page after it
+     * @return The page without its look-ahead row, and a cursor only if that row exists
+     */
+    public static <T> Slice<T> slice(List<T> rows, Pageable page, Function<T, Long> idExtractor) {
+        int pageSize = page.getPageSize() - 1;
+        if (rows.size() <= pageSize) {
+            return new Slice<>(rows, null);
+        }
+        List<T> content = rows.subList(0, pageSize);
+        return new Slice<>(content, encodeCursor(idExtractor.apply(content.get(pageSize - 1))));
+    }
+
+    /**
+     * One page of rows and the cursor of the next page, null on the last page
+     */
+    public record Slice<T>(List<T> content, String nextCursor) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.pms.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects that cannot be rolled back (in-memory indexes, file
+ * deletes, background work) until the surrounding transaction has committed.
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Run the action after the current transaction commits, or immediately if
+     * no transaction is active. Nothing runs if the transaction rolls back.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}